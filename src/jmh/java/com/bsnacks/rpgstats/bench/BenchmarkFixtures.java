@@ -0,0 +1,101 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Shared setup for the benchmarks: a throwaway plugin data directory with generated
+ * mining_xp.toml and xp_blacklist.toml tables of a chosen size.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static HytaleLogger logger() {
+        return HytaleLogger.forEnclosingClass();
+    }
+
+    /** Exact block ID present in the generated mining table. */
+    static String exactBlockId(int index) {
+        return "Rock_Bench_" + index;
+    }
+
+    /** Block ID matched only by the generated wildcard entry with the given index. */
+    static String wildcardBlockId(int index) {
+        return "Ore_Bench_" + index + "_Stone";
+    }
+
+    static String blacklistedNpcType(int index) {
+        return "bench_critter_" + index;
+    }
+
+    /**
+     * Creates a data directory whose mining table has {@code entries} exact IDs plus
+     * {@code entries} wildcards, and whose blacklist has {@code entries} NPC types and roles.
+     * config.toml is written with defaults on the first load.
+     */
+    static Path createDataDirectory(int entries) {
+        try {
+            Path dataDirectory = Files.createTempDirectory("rpgstats-bench");
+            StringBuilder mining = new StringBuilder("block_xp = [\n");
+            for (int i = 0; i < entries; i++) {
+                mining.append("    \"").append(exactBlockId(i)).append("=").append(1 + i % 20).append("\",\n");
+                mining.append("    \"Ore_Bench_").append(i).append("_*=").append(1 + i % 20).append("\",\n");
+            }
+            mining.append("]\n");
+            Files.writeString(RpgStatsConfig.resolveMiningXpPath(dataDirectory), mining, StandardCharsets.UTF_8);
+
+            StringBuilder npcTypes = new StringBuilder("npc_types = [\n");
+            StringBuilder roles = new StringBuilder("roles = [\n");
+            for (int i = 0; i < entries; i++) {
+                npcTypes.append("    \"").append(blacklistedNpcType(i)).append("\",\n");
+                roles.append("    \"bench_role_").append(i).append("\",\n");
+            }
+            npcTypes.append("]\n");
+            roles.append("]\n");
+            Files.writeString(RpgStatsConfig.resolveXpBlacklistPath(dataDirectory),
+                    npcTypes.toString() + roles, StandardCharsets.UTF_8);
+            return dataDirectory;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes config.toml with only the given keys; every other key keeps its default.
+     */
+    static void writeConfig(Path dataDirectory, String toml) {
+        try {
+            Files.writeString(RpgStatsConfig.resolveConfigPath(dataDirectory), toml, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static void deleteRecursively(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Best effort; the OS cleans up temp directories eventually.
+                }
+            });
+        } catch (IOException ignored) {
+            // Same as above.
+        }
+    }
+}
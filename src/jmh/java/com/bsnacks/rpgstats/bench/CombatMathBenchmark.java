@@ -0,0 +1,124 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.components.AbilityId;
+import com.bsnacks.rpgstats.components.DerivedStats;
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.systems.ArmorProficiencySystem;
+import com.bsnacks.rpgstats.systems.CriticalStrikeSystem;
+import com.bsnacks.rpgstats.systems.GlancingBlowSystem;
+import com.bsnacks.rpgstats.systems.LifestealSystem;
+import com.bsnacks.rpgstats.systems.StrengthDamageSystem;
+import com.bsnacks.rpgstats.systems.ThornsSystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Per-damage-event stat math of the combat pipeline, driven with a plain {@link RpgStats} and a
+ * loaded config instead of live Damage/Player objects. Calls the stages' static helpers in the
+ * order CombatPipelineSystem runs them: strength, critical strike, armor, glancing blow (NPC hits
+ * only), lifesteal, thorns.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CombatMathBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private Path dataDirectory;
+    private RpgStatsConfig config;
+    private RpgStats attacker;
+    private RpgStats defender;
+    private double[] rolls;
+    private float[] amounts;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = BenchmarkFixtures.createDataDirectory(10);
+        config = RpgStatsConfig.load(dataDirectory, BenchmarkFixtures.logger());
+        attacker = createStats(AbilityId.CRITICAL_STRIKE, AbilityId.LIFESTEAL);
+        defender = createStats(AbilityId.ARMOR_PROFICIENCY, AbilityId.GLANCING_BLOW, AbilityId.THORNS);
+
+        SplittableRandom random = new SplittableRandom(42L);
+        rolls = new double[SAMPLES];
+        amounts = new float[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            rolls[i] = random.nextDouble() * 100.0;
+            amounts[i] = 5f + (float) random.nextDouble() * 45f;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.deleteRecursively(dataDirectory);
+    }
+
+    private RpgStats createStats(AbilityId... abilities) {
+        RpgStats stats = new RpgStats();
+        stats.setLevel(RpgStats.getMaxLevel());
+        stats.setStr(30);
+        for (AbilityId ability : abilities) {
+            while (stats.upgrade(ability)) {
+                // Max out the ability.
+            }
+        }
+        return stats;
+    }
+
+    /** One player-vs-player hit with warm snapshots, as on most damage events. */
+    @Benchmark
+    public float damageEvent() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        ConfigSnapshot settings = config.snapshot();
+        return resolveHit(DerivedStats.of(attacker, settings), DerivedStats.of(defender, settings),
+                amounts[cursor], rolls[cursor]);
+    }
+
+    /** The same hit right after the attacker's stats changed, forcing a snapshot rebuild. */
+    @Benchmark
+    public float damageEventAfterStatChange() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        attacker.setStr(attacker.getStr());
+        ConfigSnapshot settings = config.snapshot();
+        return resolveHit(DerivedStats.of(attacker, settings), DerivedStats.of(defender, settings),
+                amounts[cursor], rolls[cursor]);
+    }
+
+    /** A hostile NPC hitting the defender, which adds the glancing blow roll. */
+    @Benchmark
+    public float npcDamageEvent() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        DerivedStats defense = DerivedStats.of(defender, config.snapshot());
+        float amount = ArmorProficiencySystem.armorReducedDamage(amounts[cursor], defense);
+        if (GlancingBlowSystem.isGlancingBlow(defense, rolls[cursor])) {
+            amount = 0f;
+        }
+        return amount - ThornsSystem.thornsDamage(amount, defense);
+    }
+
+    private static float resolveHit(DerivedStats offense, DerivedStats defense, float amount, double roll) {
+        amount = StrengthDamageSystem.strengthDamage(amount, offense);
+        if (CriticalStrikeSystem.isCritical(offense, roll)) {
+            amount = CriticalStrikeSystem.criticalDamage(amount, offense);
+        }
+        amount = ArmorProficiencySystem.armorReducedDamage(amount, defense);
+        float healed = LifestealSystem.lifestealHeal(amount, offense);
+        float reflected = ThornsSystem.thornsDamage(amount, defense);
+        return amount + healed - reflected;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.config.ConfigBenchHooks;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full config load (/stats reload and plugin start) of config.toml, mining_xp.toml,
+ * crafting_xp.toml and xp_blacklist.toml: with nothing cached (first start), from the binary cache
+ * images (later starts), and with unchanged files already parsed in memory (reload).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConfigLoadBenchmark {
+
+    @Param({"10", "500", "5000"})
+    public int entries;
+
+    private Path dataDirectory;
+    private HytaleLogger logger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = BenchmarkFixtures.createDataDirectory(entries);
+        logger = BenchmarkFixtures.logger();
+        // The first load writes the default config.toml and crafting_xp.toml.
+        RpgStatsConfig.load(dataDirectory, logger);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.deleteRecursively(dataDirectory);
+    }
+
+    @State(Scope.Thread)
+    public static class Cold {
+        @Setup(Level.Invocation)
+        public void clear(ConfigLoadBenchmark benchmark) {
+            ConfigBenchHooks.clearParseCache();
+            BenchmarkFixtures.deleteRecursively(benchmark.dataDirectory.resolve("cache"));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FromImage {
+        @Setup(Level.Invocation)
+        public void clear() {
+            ConfigBenchHooks.clearParseCache();
+        }
+    }
+
+    @Benchmark
+    public RpgStatsConfig loadCold(Cold cold) {
+        return RpgStatsConfig.load(dataDirectory, logger);
+    }
+
+    @Benchmark
+    public RpgStatsConfig loadFromCacheImage(FromImage fromImage) {
+        return RpgStatsConfig.load(dataDirectory, logger);
+    }
+
+    @Benchmark
+    public RpgStatsConfig loadUnchanged() {
+        return RpgStatsConfig.load(dataDirectory, logger);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+
+/**
+ * Per-event config lookups: mining XP on every block break and the XP blacklist on every kill.
+ * Block IDs are passed in their in-game mixed case, as the systems receive them.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConfigLookupBenchmark {
+
+    private static final int SAMPLES = 256;
+
+    @Param({"10", "500", "5000"})
+    public int entries;
+
+    private Path dataDirectory;
+    private RpgStatsConfig config;
+    private String[] exactIds;
+    private String[] wildcardIds;
+    private String[] missIds;
+    private String[] blacklistedNpcs;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = BenchmarkFixtures.createDataDirectory(entries);
+        config = RpgStatsConfig.load(dataDirectory, BenchmarkFixtures.logger());
+        exactIds = new String[SAMPLES];
+        wildcardIds = new String[SAMPLES];
+        missIds = new String[SAMPLES];
+        blacklistedNpcs = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = (int) ((i * 2654435761L) % entries);
+            exactIds[i] = BenchmarkFixtures.exactBlockId(index);
+            wildcardIds[i] = BenchmarkFixtures.wildcardBlockId(index);
+            missIds[i] = "Soil_Grass_" + i;
+            blacklistedNpcs[i] = BenchmarkFixtures.blacklistedNpcType(index).toUpperCase();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.deleteRecursively(dataDirectory);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public int miningXpExact() {
+        return config.getMiningXpForBlock(exactIds[next()]);
+    }
+
+    @Benchmark
+    public int miningXpWildcard() {
+        return config.getMiningXpForBlock(wildcardIds[next()]);
+    }
+
+    @Benchmark
+    public int miningXpMiss() {
+        return config.getMiningXpForBlock(missIds[next()]);
+    }
+
+    /** Wildcard hit through the block-type index, as the mining systems call it. */
+    @Benchmark
+    public int miningXpByBlockIndex() {
+        int i = next();
+        return config.getMiningXpForBlock(i, wildcardIds[i]);
+    }
+
+    @Benchmark
+    public boolean blacklistHit() {
+        return config.isXpBlacklisted(blacklistedNpcs[next()], null);
+    }
+
+    @Benchmark
+    public boolean blacklistMiss() {
+        return config.isXpBlacklisted("Trork_Warrior", "Trork");
+    }
+}
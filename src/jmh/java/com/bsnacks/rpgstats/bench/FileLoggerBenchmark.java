@@ -0,0 +1,63 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.logging.LogCategory;
+import com.bsnacks.rpgstats.logging.LogLevel;
+import com.bsnacks.rpgstats.logging.RpgStatsFileLogger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Cost of a log call on the calling (world) thread. The background writer drains to a real
+ * file in a temp directory; lines dropped because the buffer is full still count as calls.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FileLoggerBenchmark {
+
+    private Path dataDirectory;
+    private RpgStatsFileLogger fileLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataDirectory = Files.createTempDirectory("rpgstats-bench-log");
+        fileLogger = new RpgStatsFileLogger(dataDirectory, BenchmarkFixtures.logger(), "bench");
+        fileLogger.setLevel(LogCategory.XP, LogLevel.INFO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fileLogger.close();
+        BenchmarkFixtures.deleteRecursively(dataDirectory);
+    }
+
+    @Benchmark
+    public void log() {
+        fileLogger.log("Player gained 25 XP from kill: Trork_Warrior");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void logFromFourThreads() {
+        fileLogger.log("Player gained 25 XP from kill: Trork_Warrior");
+    }
+
+    /** A debug line for a category at INFO; should cost no more than the level check. */
+    @Benchmark
+    public void debugDisabled() {
+        fileLogger.debug(LogCategory.XP, "Awarded {} XP to {}", 25, "Player");
+    }
+}
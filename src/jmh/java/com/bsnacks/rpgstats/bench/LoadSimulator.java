@@ -0,0 +1,285 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.components.AbilityId;
+import com.bsnacks.rpgstats.components.DerivedStats;
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.services.RpgRandom;
+import com.bsnacks.rpgstats.systems.AbilityRegenSystem;
+import com.bsnacks.rpgstats.systems.ArmorProficiencySystem;
+import com.bsnacks.rpgstats.systems.CriticalStrikeSystem;
+import com.bsnacks.rpgstats.systems.GlancingBlowSystem;
+import com.bsnacks.rpgstats.systems.LifestealSystem;
+import com.bsnacks.rpgstats.systems.StrengthDamageSystem;
+import com.bsnacks.rpgstats.systems.ThornsSystem;
+import com.bsnacks.rpgstats.ui.RpgStatsHud;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Headless load simulator. Runs N simulated players through M gameplay events per second on a
+ * single "world thread" and reports per-tick time percentiles and the allocation rate.
+ *
+ * The ECS types (Store, CommandBuffer, Damage, Player, EntityStatMap) only exist inside a running
+ * server, so the simulator calls the same static helpers those systems use, in the same order:
+ * - kill: XP blacklist check, XP award, HUD text (ExperienceOnKillSystem, RpgStatsHud)
+ * - player hit: offensive and defensive combat stages for two players (CombatPipelineSystem)
+ * - NPC hit: defensive combat stages for a player hit by a hostile NPC, including glancing blow
+ * - block break: mining XP lookup, DEX mining speed, XP award (DexterityMiningSpeedSystem)
+ * - regen: once per player per second, health and stamina regen (AbilityRegenSystem)
+ *
+ * Simulated players always wear armor and take Physical damage.
+ *
+ * Rolls use a fixed seed (--seed, default 42), so two runs with the same arguments do the same work.
+ *
+ * Usage: ./gradlew simulate -Psim_players=200 -Psim_events=4000 -Psim_seconds=60
+ */
+public final class LoadSimulator {
+
+    // The server ticks worlds at 20 TPS.
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int WARMUP_SECONDS = 10;
+    private static final float MAX_HEALTH = 100f;
+    private static final float MAX_STAMINA = 10f;
+    private static final float BASE_DAMAGE = 20f;
+
+    private final int players;
+    private final int eventsPerSecond;
+    private final int seconds;
+    private final RpgStatsConfig config;
+    private final RpgStats[] stats;
+    private final float[] health;
+    private final float[] stamina;
+    private final String[] blockIds;
+    private final String[] npcTypes;
+    private final SplittableRandom random;
+    // Reused for every hit; each hit is one numbered roll event in deterministic mode.
+    private final RpgRandom.RollEvent rolls = new RpgRandom.RollEvent();
+    // Written with results that would otherwise be unused, so the JIT cannot drop the work.
+    private long sink;
+
+    private LoadSimulator(int players, int eventsPerSecond, int seconds, RpgStatsConfig config, int tableEntries,
+                          long seed) {
+        this.random = new SplittableRandom(seed);
+        this.players = players;
+        this.eventsPerSecond = eventsPerSecond;
+        this.seconds = seconds;
+        this.config = config;
+        this.stats = new RpgStats[players];
+        this.health = new float[players];
+        this.stamina = new float[players];
+        AbilityId[] abilities = AbilityId.values();
+        for (int i = 0; i < players; i++) {
+            RpgStats playerStats = new RpgStats();
+            playerStats.setLevel(1 + random.nextInt(RpgStats.getMaxLevel()));
+            while (playerStats.getAvailableStatPoints() > 0) {
+                playerStats.spendStatPoint(random.nextBoolean() ? "str" : "dex");
+            }
+            for (int attempt = 0; attempt < 20 && playerStats.getAvailableAbilityPoints() > 0; attempt++) {
+                playerStats.upgrade(abilities[random.nextInt(abilities.length)]);
+            }
+            stats[i] = playerStats;
+            health[i] = MAX_HEALTH / 2f;
+            stamina[i] = MAX_STAMINA / 2f;
+        }
+        blockIds = new String[64];
+        npcTypes = new String[64];
+        for (int i = 0; i < blockIds.length; i++) {
+            int index = random.nextInt(tableEntries);
+            blockIds[i] = i % 4 == 0 ? "Soil_Grass" : i % 2 == 0
+                    ? BenchmarkFixtures.exactBlockId(index)
+                    : BenchmarkFixtures.wildcardBlockId(index);
+            npcTypes[i] = i % 8 == 0 ? BenchmarkFixtures.blacklistedNpcType(index) : "Trork_Warrior_" + i;
+        }
+    }
+
+    public static void main(String[] args) {
+        int players = intArg(args, "--players", 200);
+        int eventsPerSecond = intArg(args, "--events", 4000);
+        int seconds = intArg(args, "--seconds", 60);
+        int tableEntries = intArg(args, "--table-entries", 500);
+        long seed = longArg(args, "--seed", 42L);
+
+        Path dataDirectory = BenchmarkFixtures.createDataDirectory(tableEntries);
+        try {
+            RpgStatsConfig config = RpgStatsConfig.load(dataDirectory, BenchmarkFixtures.logger());
+            RpgStats.bindConfig(config);
+            // Proc rolls come from the same seed on every run, so results are comparable.
+            RpgRandom.enableDeterministic(seed, null);
+
+            LoadSimulator simulator = new LoadSimulator(players, eventsPerSecond, seconds, config, tableEntries, seed);
+            simulator.run(WARMUP_SECONDS);
+            simulator.report(simulator.run(seconds));
+        } finally {
+            BenchmarkFixtures.deleteRecursively(dataDirectory);
+        }
+    }
+
+    private Result run(int runSeconds) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int ticks = runSeconds * TICKS_PER_SECOND;
+        long[] tickNanos = new long[ticks];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long carry = 0L;
+        for (int tick = 0; tick < ticks; tick++) {
+            // Spread events evenly over the ticks of each second.
+            carry += eventsPerSecond;
+            int events = (int) (carry / TICKS_PER_SECOND);
+            carry -= (long) events * TICKS_PER_SECOND;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                dispatch(random.nextInt(100));
+            }
+            if (tick % TICKS_PER_SECOND == 0) {
+                for (int player = 0; player < players; player++) {
+                    regen(player, 1.0f);
+                }
+            }
+            tickNanos[tick] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(tickNanos, allocated, runSeconds);
+    }
+
+    private void dispatch(int roll) {
+        int player = random.nextInt(players);
+        if (roll < 40) {
+            playerHit(player, random.nextInt(players));
+        } else if (roll < 60) {
+            npcHit(player);
+        } else if (roll < 90) {
+            blockBreak(player);
+        } else {
+            kill(player);
+        }
+    }
+
+    private void playerHit(int attacker, int defender) {
+        ConfigSnapshot settings = config.snapshot();
+        DerivedStats offense = DerivedStats.of(stats[attacker], settings);
+        DerivedStats defense = DerivedStats.of(stats[defender], settings);
+        RpgRandom.beginEvent(rolls, "simulator", null, null, "player_hit");
+        // Pre-apply: offensive stages, then defensive ones. Glancing blow only triggers on NPC hits.
+        float amount = StrengthDamageSystem.strengthDamage(BASE_DAMAGE, offense);
+        if (CriticalStrikeSystem.rollCritical(offense, rolls)) {
+            amount = CriticalStrikeSystem.criticalDamage(amount, offense);
+        }
+        amount = ArmorProficiencySystem.armorReducedDamage(amount, defense);
+        // Post-apply: lifesteal, then thorns.
+        health[defender] = Math.max(1f, health[defender] - amount);
+        health[attacker] = Math.min(MAX_HEALTH, health[attacker] + LifestealSystem.lifestealHeal(amount, offense));
+        health[attacker] = Math.max(1f, health[attacker] - ThornsSystem.thornsDamage(amount, defense));
+    }
+
+    private void npcHit(int defender) {
+        DerivedStats defense = DerivedStats.of(stats[defender], config.snapshot());
+        RpgRandom.beginEvent(rolls, "simulator", null, null, "npc_hit");
+        float amount = ArmorProficiencySystem.armorReducedDamage(BASE_DAMAGE, defense);
+        if (GlancingBlowSystem.rollGlancingBlow(defense, rolls)) {
+            amount = 0f;
+        }
+        health[defender] = Math.max(1f, health[defender] - amount);
+        sink += Float.floatToRawIntBits(ThornsSystem.thornsDamage(amount, defense));
+    }
+
+    private void blockBreak(int player) {
+        RpgStats playerStats = stats[player];
+        ConfigSnapshot settings = config.snapshot();
+        sink += Float.floatToRawIntBits(DerivedStats.of(playerStats, settings).getMiningSpeedMultiplier());
+        int xp = settings.getMiningXpForBlock(blockIds[random.nextInt(blockIds.length)]);
+        if (xp > 0) {
+            awardXp(playerStats, xp);
+        }
+    }
+
+    private void kill(int player) {
+        String npcType = npcTypes[random.nextInt(npcTypes.length)];
+        ConfigSnapshot settings = config.snapshot();
+        if (settings.isXpBlacklisted(npcType, "Trork")) {
+            return;
+        }
+        awardXp(stats[player], (int) Math.round(100 * settings.getXpMultiplier()));
+    }
+
+    private void awardXp(RpgStats playerStats, int xp) {
+        playerStats.setXp(playerStats.getXp() + xp);
+        // The HUD text built on every XP change.
+        String levelText = RpgStatsHud.levelText(playerStats.getLevel());
+        String xpText = RpgStatsHud.xpText(playerStats.getXpIntoLevel(), playerStats.getXpToNextLevel());
+        sink += levelText.length() + xpText.length();
+    }
+
+    private void regen(int player, float deltaSeconds) {
+        RpgStats playerStats = stats[player];
+        ConfigSnapshot settings = config.snapshot();
+        health[player] = Math.min(MAX_HEALTH, health[player] + AbilityRegenSystem.regenAmount(health[player], MAX_HEALTH,
+                playerStats.getHealthRegenLevel(), settings.getHealthRegenPerLevelPerSec(), deltaSeconds, true));
+        stamina[player] = Math.min(MAX_STAMINA, stamina[player] + AbilityRegenSystem.regenAmount(stamina[player], MAX_STAMINA,
+                playerStats.getStaminaRegenLevel(), settings.getStaminaRegenPerLevelPerSec(), deltaSeconds, false));
+    }
+
+    private void report(Result result) {
+        long[] sorted = result.tickNanos.clone();
+        Arrays.sort(sorted);
+        double mbPerSecond = result.allocatedBytes / (1024.0 * 1024.0) / result.seconds;
+        System.out.println(String.format(Locale.ROOT,
+                "players=%d events/s=%d ticks=%d (%d s at %d TPS)",
+                players, eventsPerSecond, sorted.length, seconds, TICKS_PER_SECOND));
+        System.out.println(String.format(Locale.ROOT,
+                "tick time us: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+                percentile(sorted, 50.0), percentile(sorted, 90.0), percentile(sorted, 99.0),
+                percentile(sorted, 99.9), sorted[sorted.length - 1] / 1000.0));
+        System.out.println(String.format(Locale.ROOT,
+                "allocation: %.2f MB/s simulated, %.1f bytes/event",
+                mbPerSecond, (double) result.allocatedBytes / Math.max(1L, (long) eventsPerSecond * result.seconds)));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000.0;
+    }
+
+    private static int intArg(String[] args, String name, int fallback) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (name.equals(args[i])) {
+                try {
+                    return Math.max(1, Integer.parseInt(args[i + 1]));
+                } catch (NumberFormatException ex) {
+                    System.err.println("Invalid value for " + name + ": " + args[i + 1]);
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static long longArg(String[] args, String name, long fallback) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (name.equals(args[i])) {
+                try {
+                    return Long.parseLong(args[i + 1]);
+                } catch (NumberFormatException ex) {
+                    System.err.println("Invalid value for " + name + ": " + args[i + 1]);
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static final class Result {
+        private final long[] tickNanos;
+        private final long allocatedBytes;
+        private final int seconds;
+
+        private Result(long[] tickNanos, long allocatedBytes, int seconds) {
+            this.tickNanos = tickNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.seconds = seconds;
+        }
+    }
+}
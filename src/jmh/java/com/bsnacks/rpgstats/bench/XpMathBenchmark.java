@@ -0,0 +1,82 @@
+package com.bsnacks.rpgstats.bench;
+
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * XP award and display math: every kill, block and craft goes through setXp, and the HUD reads
+ * getXpIntoLevel on each refresh.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class XpMathBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"25", "300", "10000"})
+    public int maxLevel;
+
+    private Path dataDirectory;
+    private RpgStats stats;
+    private long[] xpSamples;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The max level comes from config.toml, as on a server.
+        dataDirectory = BenchmarkFixtures.createDataDirectory(0);
+        BenchmarkFixtures.writeConfig(dataDirectory, "max_level = " + maxLevel + "\n");
+        RpgStats.bindConfig(RpgStatsConfig.load(dataDirectory, BenchmarkFixtures.logger()));
+        long maxXp = RpgStats.totalXpForLevel(maxLevel);
+        SplittableRandom random = new SplittableRandom(42L);
+        xpSamples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            xpSamples[i] = random.nextLong(Math.max(1L, maxXp));
+        }
+        stats = new RpgStats();
+        stats.setXp(xpSamples[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RpgStats.bindConfig(null);
+        BenchmarkFixtures.deleteRecursively(dataDirectory);
+    }
+
+    private long nextXp() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return xpSamples[cursor];
+    }
+
+    @Benchmark
+    public int setXp() {
+        stats.setXp(nextXp());
+        return stats.getLevel();
+    }
+
+    @Benchmark
+    public int levelForTotalXp() {
+        return RpgStats.levelForTotalXp(nextXp());
+    }
+
+    @Benchmark
+    public long getXpIntoLevel() {
+        return stats.getXpIntoLevel();
+    }
+}
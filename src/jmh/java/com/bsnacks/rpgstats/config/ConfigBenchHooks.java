@@ -0,0 +1,18 @@
+package com.bsnacks.rpgstats.config;
+
+/**
+ * Reaches package-private config state from the benchmarks, so the plugin API does not have to
+ * expose it. Only compiled into the JMH source set.
+ */
+public final class ConfigBenchHooks {
+
+    private ConfigBenchHooks() {
+    }
+
+    /**
+     * Forgets the in-memory parse results, so the next load reads cache images or parses again.
+     */
+    public static void clearParseCache() {
+        RpgStatsConfig.clearParseCache();
+    }
+}
@@ -4,9 +4,14 @@ import com.bsnacks.rpgstats.commands.StatsCommand;
 import com.bsnacks.rpgstats.components.NpcLevelData;
 import com.bsnacks.rpgstats.components.PartyMemberComponent;
 import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigFileWatcher;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
 import com.bsnacks.rpgstats.config.NpcLevelingConfig;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.services.CombatFeedbackService;
 import com.bsnacks.rpgstats.services.NpcLevelCalculator;
+import com.bsnacks.rpgstats.services.RpgRandom;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.logging.RpgStatsFileLogger;
 import com.bsnacks.rpgstats.listeners.PlayerListeners;
 import com.bsnacks.rpgstats.listeners.PartyDisconnectListener;
@@ -15,10 +20,13 @@ import com.bsnacks.rpgstats.systems.DexterityMiningSpeedSystem;
 import com.bsnacks.rpgstats.systems.ExperienceOnKillSystem;
 import com.bsnacks.rpgstats.systems.StrengthDamageSystem;
 import com.bsnacks.rpgstats.systems.AbilityRegenSystem;
+import com.bsnacks.rpgstats.systems.CombatFeedbackSystem;
+import com.bsnacks.rpgstats.systems.CombatPipelineSystem;
 import com.bsnacks.rpgstats.systems.ConstitutionHealthEffect;
 import com.bsnacks.rpgstats.systems.EnduranceStaminaEffect;
 import com.bsnacks.rpgstats.systems.IntellectManaEffect;
 import com.bsnacks.rpgstats.systems.StrongLungsOxygenEffect;
+import com.bsnacks.rpgstats.permissions.PermissionChecks;
 import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
 import com.bsnacks.rpgstats.systems.LightFootSpeedEffect;
 import com.bsnacks.rpgstats.systems.ArmorProficiencySystem;
@@ -35,6 +43,7 @@ import com.bsnacks.rpgstats.systems.LuckyMinerSystem;
 import com.bsnacks.rpgstats.systems.MiningExperienceSystem;
 import com.bsnacks.rpgstats.systems.HudRefreshSystem;
 import com.bsnacks.rpgstats.systems.PartyHudRefreshSystem;
+import com.bsnacks.rpgstats.utils.HudHelper;
 
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Ref;
@@ -53,6 +62,8 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 public final class RpgStatsPlugin extends JavaPlugin {
 
@@ -65,9 +76,11 @@ public final class RpgStatsPlugin extends JavaPlugin {
     private NpcLevelingConfig npcLevelingConfig;
     private NpcLevelCalculator npcLevelCalculator;
     private Path configPath;
+    private ConfigFileWatcher configWatcher;
     private HudRefreshSystem hudRefreshSystem;
     private PartyHudRefreshSystem partyHudRefreshSystem;
     private PartyService partyService;
+    private final CombatFeedbackService combatFeedback = new CombatFeedbackService();
 
     public RpgStatsPlugin(@Nonnull JavaPluginInit init) {
         super(init);
@@ -120,21 +133,30 @@ public final class RpgStatsPlugin extends JavaPlugin {
         PartyDisconnectListener partyDisconnectListener = new PartyDisconnectListener(partyService);
         getEventRegistry().registerGlobal(PlayerReadyEvent.class, listeners::onPlayerReady);
         getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, partyDisconnectListener::onPlayerDisconnect);
+        getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, event -> {
+            if (event.getPlayerRef() != null) {
+                PermissionChecks.invalidate(event.getPlayerRef().getUuid());
+            }
+        });
         getCommandRegistry().registerCommand(new StatsCommand(this, rpgStatsType, config, partyService));
         getCommandRegistry().registerCommand(new com.bsnacks.rpgstats.commands.StatsPartyCommand(this, partyService));
         // Core systems
-        getEntityStoreRegistry().registerSystem(new StrengthDamageSystem(rpgStatsType, config));
+        // Combat abilities share one attacker/defender lookup per damage event.
+        getEntityStoreRegistry().registerSystem(new CombatPipelineSystem.PreApply(rpgStatsType, config,
+                List.of(new StrengthDamageSystem(), new CriticalStrikeSystem(combatFeedback)),
+                List.of(new ArmorProficiencySystem(), new GlancingBlowSystem(combatFeedback))));
+        getEntityStoreRegistry().registerSystem(new CombatPipelineSystem.PostApply(rpgStatsType, config,
+                List.of(new LifestealSystem()),
+                List.of(new ThornsSystem()),
+                this::markPartyHudChanged));
+        getEntityStoreRegistry().registerSystem(new CombatFeedbackSystem(combatFeedback));
+        getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, combatFeedback::onPlayerDisconnect);
         getEntityStoreRegistry().registerSystem(new DexterityMiningSpeedSystem(rpgStatsType, config));
         getEntityStoreRegistry().registerSystem(new ExperienceOnKillSystem(rpgStatsType, flameTouchAttributionType, fileLogger, config, this));
-        getEntityStoreRegistry().registerSystem(new ArmorProficiencySystem(rpgStatsType, config));
-        getEntityStoreRegistry().registerSystem(new GlancingBlowSystem(rpgStatsType, config));
         getEntityStoreRegistry().registerSystem(new AbilityRegenSystem(rpgStatsType, config));
-        getEntityStoreRegistry().registerSystem(new CriticalStrikeSystem(rpgStatsType, config));
-        getEntityStoreRegistry().registerSystem(new LifestealSystem(rpgStatsType, config));
         getEntityStoreRegistry().registerSystem(new GourmandSystem(rpgStatsType, config, this));
         // FlameTouchSystem - uses Filter group damage modification + Burn effect
         getEntityStoreRegistry().registerSystem(new FlameTouchSystem(rpgStatsType, flameTouchAttributionType, config, this));
-        getEntityStoreRegistry().registerSystem(new ThornsSystem(rpgStatsType, config));
         getEntityStoreRegistry().registerSystem(new ToolProficiencySystem(rpgStatsType, config, this));
         getEntityStoreRegistry().registerSystem(new LuckyMinerSystem(rpgStatsType, config, this));
         getEntityStoreRegistry().registerSystem(new MiningExperienceSystem(rpgStatsType, config, this));
@@ -142,59 +164,106 @@ public final class RpgStatsPlugin extends JavaPlugin {
         // The current API only fires events for instant crafts, not bench crafting with time
         hudRefreshSystem = new HudRefreshSystem(rpgStatsType, this);
         getEntityStoreRegistry().registerSystem(hudRefreshSystem);
-        partyHudRefreshSystem = new PartyHudRefreshSystem(rpgStatsType, config);
+        getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, hudRefreshSystem::onPlayerDisconnect);
+        partyHudRefreshSystem = new PartyHudRefreshSystem(rpgStatsType, partyMemberType, config, partyService,
+                hudRefreshSystem);
         getEntityStoreRegistry().registerSystem(partyHudRefreshSystem);
+        getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, partyHudRefreshSystem::onPlayerDisconnect);
 
         // Lucky Shot utility - ability tracking works, effect trigger needs proper Hytale API hook
         // The tryLuckyShot() method is ready to be called when the correct event is identified
         new LuckyShotSystem(rpgStatsType, config, this);
     }
 
-    public void reloadConfig(String reason) {
+    @Override
+    protected void start() {
+        // Every plugin has finished setup by now, so pick up a MultipleHUD that loaded after us.
+        HudHelper.redetectMultipleHud();
+        // Edits to any RPGStats TOML file are picked up without /stats reload.
+        configWatcher = new ConfigFileWatcher(getDataDirectory(), getLogger(),
+                changed -> reloadConfig("file change: " + String.join(", ", changed)));
+        configWatcher.start();
+    }
+
+    @Override
+    protected void shutdown() {
+        if (configWatcher != null) {
+            configWatcher.close();
+        }
+        combatFeedback.clear();
+        if (fileLogger != null) {
+            fileLogger.log("Log closed.");
+            // Drains queued diagnostics lines to disk before the server exits.
+            fileLogger.close();
+        }
+    }
+
+    /**
+     * Re-reads the config files and publishes the result. Runs on the calling thread (the command
+     * thread or the config watcher); per-player updates are queued to each player's world.
+     */
+    public synchronized void reloadConfig(String reason) {
         RpgStatsConfig loaded = RpgStatsConfig.load(getDataDirectory(), getLogger());
         if (config == null) {
             config = loaded;
+            RpgStats.bindConfig(config);
         } else {
             config.applyFrom(loaded);
         }
-        RpgStats.setMaxLevel(config.getMaxLevel());
-        RpgStats.setAbilityPointsPerLevel(config.getAbilityPointsPerLevel());
-        RpgStats.setAbilityRankCosts(config.getAbilityRank1Cost(), config.getAbilityRank2Cost(), config.getAbilityRank3Cost());
-        RpgStats.setMaxAbilityLevel(config.getMaxAbilityLevel());
-        logInfo("Config reloaded (" + reason + "): xp_multiplier=" + config.getXpMultiplier()
-                + " max_level=" + config.getMaxLevel()
-                + " ability_points_per_level=" + config.getAbilityPointsPerLevel()
-                + " max_ability_level=" + config.getMaxAbilityLevel()
-                + " light_foot_speed_per_level_pct=" + config.getLightFootSpeedPerLevelPct()
-                + " armor_proficiency_resistance_per_level_pct=" + config.getArmorProficiencyResistancePerLevelPct()
-                + " health_regen_per_level_per_sec=" + config.getHealthRegenPerLevelPerSec()
-                + " stamina_regen_per_level_per_sec=" + config.getStaminaRegenPerLevelPerSec()
-                + " glancing_blow_chance_per_level_pct=" + config.getGlancingBlowChancePerLevelPct()
-                + " lucky_shot_chance_per_level_pct=" + config.getLuckyShotChancePerLevelPct()
-                + " gourmand_food_bonus_per_level_pct=" + config.getGourmandFoodBonusPerLevelPct()
-                + " ability_rank_costs=" + config.getAbilityRank1Cost() + "/" + config.getAbilityRank2Cost() + "/" + config.getAbilityRank3Cost()
-                + " hud_enabled=" + config.isHudEnabled()
-                + " xp_chat_messages_enabled=" + config.isXpChatMessagesEnabled()
-                + " party_enabled=" + config.isPartyEnabled()
-                + " party_max_size=" + config.getPartyMaxSize()
-                + " party_invite_timeout_sec=" + config.getPartyInviteTimeoutSec()
-                + " party_xp_share_mode=" + config.getPartyXpShareMode()
-                + " party_xp_share_radius_blocks=" + config.getPartyXpShareRadiusBlocks()
-                + " party_hud_enabled=" + config.isPartyHudEnabled()
-                + " party_hud_offset=" + config.getPartyHudOffsetX() + "," + config.getPartyHudOffsetY()
-                + " party_hud_refresh_ticks=" + config.getPartyHudRefreshTicks()
-                + " xp_blacklist_npc_types=" + config.getXpBlacklistNpcTypes().size()
-                + " xp_blacklist_roles=" + config.getXpBlacklistRoles().size()
-                + " mining_xp_entries=" + config.getMiningXpEntryCount()
-                + " crafting_xp_entries=" + config.getCraftingXpEntryCount());
-        logDebug("XP blacklist loaded: npc_types=" + config.getXpBlacklistNpcTypes().size()
-                + " roles=" + config.getXpBlacklistRoles().size());
+        ConfigSnapshot settings = config.snapshot();
+        PermissionChecks.invalidateAll();
+        applyDeterministicRolls(settings);
+        logInfo("Config reloaded (" + reason + "): xp_multiplier=" + settings.getXpMultiplier()
+                + " max_level=" + settings.getMaxLevel()
+                + " xp_curve=" + settings.getXpCurve()
+                + " ability_points_per_level=" + settings.getAbilityPointsPerLevel()
+                + " max_ability_level=" + settings.getMaxAbilityLevel()
+                + " light_foot_speed_per_level_pct=" + settings.getLightFootSpeedPerLevelPct()
+                + " armor_proficiency_resistance_per_level_pct=" + settings.getArmorProficiencyResistancePerLevelPct()
+                + " health_regen_per_level_per_sec=" + settings.getHealthRegenPerLevelPerSec()
+                + " stamina_regen_per_level_per_sec=" + settings.getStaminaRegenPerLevelPerSec()
+                + " glancing_blow_chance_per_level_pct=" + settings.getGlancingBlowChancePerLevelPct()
+                + " lucky_shot_chance_per_level_pct=" + settings.getLuckyShotChancePerLevelPct()
+                + " gourmand_food_bonus_per_level_pct=" + settings.getGourmandFoodBonusPerLevelPct()
+                + " ability_rank_costs=" + settings.getAbilityRank1Cost() + "/" + settings.getAbilityRank2Cost() + "/" + settings.getAbilityRank3Cost()
+                + " hud_enabled=" + settings.isHudEnabled()
+                + " xp_chat_messages_enabled=" + settings.isXpChatMessagesEnabled()
+                + " party_enabled=" + settings.isPartyEnabled()
+                + " party_max_size=" + settings.getPartyMaxSize()
+                + " party_invite_timeout_sec=" + settings.getPartyInviteTimeoutSec()
+                + " party_xp_share_mode=" + settings.getPartyXpShareMode()
+                + " party_xp_share_radius_blocks=" + settings.getPartyXpShareRadiusBlocks()
+                + " party_hud_enabled=" + settings.isPartyHudEnabled()
+                + " party_hud_offset=" + settings.getPartyHudOffsetX() + "," + settings.getPartyHudOffsetY()
+                + " party_hud_refresh_ticks=" + settings.getPartyHudRefreshTicks()
+                + " deterministic_rolls_enabled=" + settings.isDeterministicRollsEnabled()
+                + " xp_blacklist_npc_types=" + settings.getXpBlacklistNpcTypes().size()
+                + " xp_blacklist_roles=" + settings.getXpBlacklistRoles().size()
+                + " mining_xp_entries=" + settings.getMiningXpEntryCount()
+                + " crafting_xp_entries=" + settings.getCraftingXpEntryCount());
+        logDebug(LogCategory.CONFIG, () -> "XP blacklist loaded: npc_types=" + settings.getXpBlacklistNpcTypes().size()
+                + " roles=" + settings.getXpBlacklistRoles().size());
         applyPartyConfigToService();
         if (rpgStatsType != null) {
             applyConfigToOnlinePlayers();
         }
     }
 
+    private void applyDeterministicRolls(ConfigSnapshot settings) {
+        if (!settings.isDeterministicRollsEnabled()) {
+            RpgRandom.disableDeterministic();
+            return;
+        }
+        RpgRandom.enableDeterministic(settings.getDeterministicRollsSeed(), (event, index, percent) ->
+                fileLogger.trace(LogCategory.COMBAT, () -> "Roll world=" + event.getWorld()
+                        + " event=" + event.getSequence()
+                        + " index=" + index
+                        + " attacker=" + event.getAttacker()
+                        + " defender=" + event.getDefender()
+                        + " damage=" + event.getDamageId()
+                        + " percent=" + percent));
+    }
+
     private void applyConfigToOnlinePlayers() {
         Universe universe = Universe.get();
         if (universe == null) {
@@ -247,6 +316,8 @@ public final class RpgStatsPlugin extends JavaPlugin {
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player != null) {
             LightFootSpeedEffect.apply(ref, store, player, stats, config, this);
+            // Picks up new HUD offsets and party HUD settings.
+            scheduleHudRefresh(player, HudRefreshSystem.Reason.CONFIG_RELOAD);
         }
     }
 
@@ -254,18 +325,62 @@ public final class RpgStatsPlugin extends JavaPlugin {
         getLogger().atInfo().log("[RPGStats] " + msg);
     }
 
-    public void logDebug(String msg) {
+    /**
+     * Writes a debug line for the given category. Callers on hot paths check
+     * {@link #isDebugEnabled} first so the message is never built when it would be dropped.
+     */
+    public void logDebug(LogCategory category, String msg) {
+        if (fileLogger != null) {
+            fileLogger.debug(category, msg);
+        }
+    }
+
+    /**
+     * Writes a debug line for the given category. The message is only built when that
+     * category is at debug level or above.
+     */
+    public void logDebug(LogCategory category, Supplier<String> msg) {
         if (fileLogger != null) {
-            fileLogger.log(msg);
+            fileLogger.debug(category, msg);
         }
     }
 
-    public void scheduleHudRefresh(Player player, String reason) {
+    public boolean isDebugEnabled(LogCategory category) {
+        return fileLogger != null && fileLogger.isEnabled(category);
+    }
+
+    public RpgStatsFileLogger getFileLogger() {
+        return fileLogger;
+    }
+
+    /**
+     * Queues an XP HUD refresh for the next tick. Repeated requests for the same player in one tick merge.
+     */
+    public void scheduleHudRefresh(Player player, HudRefreshSystem.Reason reason) {
         if (hudRefreshSystem != null && player != null) {
             hudRefreshSystem.schedule(player, reason);
         }
     }
 
+    /**
+     * Queues an XP and party HUD refresh for the player with the given UUID, from any thread.
+     */
+    public void scheduleHudRefresh(UUID playerUuid, HudRefreshSystem.Reason reason) {
+        if (hudRefreshSystem != null && playerUuid != null) {
+            hudRefreshSystem.schedule(playerUuid, reason);
+        }
+    }
+
+    /**
+     * Tells the party HUD that the player's health, level or party changed, so the lists update
+     * on the next check instead of the next poll. Safe from any thread.
+     */
+    public void markPartyHudChanged(UUID playerUuid) {
+        if (partyHudRefreshSystem != null) {
+            partyHudRefreshSystem.markChanged(playerUuid);
+        }
+    }
+
     private void applyPartyConfigToService() {
         if (partyService == null || config == null) {
             return;
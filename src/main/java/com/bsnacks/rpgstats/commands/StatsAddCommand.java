@@ -3,6 +3,7 @@ package com.bsnacks.rpgstats.commands;
 import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.permissions.PermissionChecks;
 import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
 import com.bsnacks.rpgstats.systems.ConstitutionHealthEffect;
@@ -100,7 +101,7 @@ public final class StatsAddCommand extends CommandBase {
 
             if (abilityPoints) {
                 if (!PermissionChecks.requirePrivileged(ctx, RpgStatsPermissions.STATS_ADD_ABILITY)) {
-                    plugin.logDebug("Denied /stats add ability: sender=" + ctx.sender().getDisplayName()
+                    plugin.logDebug(LogCategory.COMMAND, () -> "Denied /stats add ability: sender=" + ctx.sender().getDisplayName()
                             + " uuid=" + ctx.sender().getUuid());
                     return;
                 }
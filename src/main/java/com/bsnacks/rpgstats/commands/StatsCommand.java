@@ -4,6 +4,7 @@ import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
 import com.bsnacks.rpgstats.commands.StatsAddCommand;
+import com.bsnacks.rpgstats.commands.StatsDebugCommand;
 import com.bsnacks.rpgstats.commands.StatsHudCommand;
 import com.bsnacks.rpgstats.commands.StatsReloadCommand;
 import com.bsnacks.rpgstats.commands.StatsResetCommand;
@@ -42,7 +43,9 @@ public final class StatsCommand extends CommandBase {
         addSubCommand(new StatsSetCommand(plugin, rpgStatsType, config));
         addSubCommand(new StatsResetCommand(plugin, rpgStatsType, config));
         addSubCommand(new StatsHudCommand(plugin, rpgStatsType, config));
+        addSubCommand(new StatsFeedbackCommand(plugin, rpgStatsType));
         addSubCommand(new StatsReloadCommand(plugin));
+        addSubCommand(new StatsDebugCommand(plugin));
     }
 
     @Override
@@ -0,0 +1,81 @@
+package com.bsnacks.rpgstats.commands;
+
+import com.bsnacks.rpgstats.RpgStatsPlugin;
+import com.bsnacks.rpgstats.logging.LogCategory;
+import com.bsnacks.rpgstats.logging.LogLevel;
+import com.bsnacks.rpgstats.logging.RpgStatsFileLogger;
+import com.bsnacks.rpgstats.permissions.PermissionChecks;
+import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
+
+import com.hypixel.hytale.protocol.GameMode;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import java.util.Locale;
+
+public final class StatsDebugCommand extends CommandBase {
+
+    private static final String ALL = "all";
+
+    private final RpgStatsPlugin plugin;
+    private final RequiredArg<String> categoryArg;
+    private final RequiredArg<String> levelArg;
+
+    public StatsDebugCommand(RpgStatsPlugin plugin) {
+        super("debug", "Set the diagnostics log level for a category.");
+        setPermissionGroup(GameMode.Adventure);
+        requirePermission(RpgStatsPermissions.STATS_DEBUG);
+        this.plugin = plugin;
+        categoryArg = withRequiredArg("category", "combat, xp, hud, party, config, command, effect or all", ArgTypes.STRING);
+        levelArg = withRequiredArg("level", "off, info, debug or trace", ArgTypes.STRING);
+    }
+
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    @Override
+    protected void executeSync(CommandContext ctx) {
+        if (!PermissionChecks.requirePrivileged(ctx, RpgStatsPermissions.STATS_DEBUG)) {
+            plugin.logDebug(LogCategory.COMMAND, () -> "Denied /stats debug: sender=" + ctx.sender().getDisplayName()
+                    + " uuid=" + ctx.sender().getUuid());
+            return;
+        }
+        RpgStatsFileLogger fileLogger = plugin.getFileLogger();
+        if (fileLogger == null) {
+            ctx.sendMessage(Message.raw("Diagnostics log is not available."));
+            return;
+        }
+
+        String categoryRaw = categoryArg.get(ctx);
+        String levelRaw = levelArg.get(ctx);
+        LogLevel level = LogLevel.fromId(levelRaw);
+        if (level == null) {
+            ctx.sendMessage(Message.raw("Unknown level '" + levelRaw + "'. Use off, info, debug or trace."));
+            return;
+        }
+
+        if (categoryRaw != null && ALL.equals(categoryRaw.trim().toLowerCase(Locale.ROOT))) {
+            for (LogCategory category : LogCategory.values()) {
+                fileLogger.setLevel(category, level);
+            }
+            plugin.logInfo("Diagnostics log level set: all=" + level.getId());
+            ctx.sendMessage(Message.raw("All log categories set to " + level.getId() + "."));
+            return;
+        }
+
+        LogCategory category = LogCategory.fromId(categoryRaw);
+        if (category == null) {
+            ctx.sendMessage(Message.raw("Unknown category '" + categoryRaw
+                    + "'. Use combat, xp, hud, party, config, command, effect or all."));
+            return;
+        }
+        fileLogger.setLevel(category, level);
+        plugin.logInfo("Diagnostics log level set: " + category.getId() + "=" + level.getId());
+        ctx.sendMessage(Message.raw("Log category " + category.getId() + " set to " + level.getId() + "."));
+    }
+}
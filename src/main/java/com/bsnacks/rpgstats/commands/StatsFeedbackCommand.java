@@ -0,0 +1,91 @@
+package com.bsnacks.rpgstats.commands;
+
+import com.bsnacks.rpgstats.RpgStatsPlugin;
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.logging.LogCategory;
+import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
+
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.GameMode;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * /stats feedback on|off - toggles critical strike and glancing blow chat messages for the sender.
+ */
+public final class StatsFeedbackCommand extends CommandBase {
+
+    private final RpgStatsPlugin plugin;
+    private final ComponentType<EntityStore, RpgStats> rpgStatsType;
+    private final RequiredArg<String> stateArg;
+
+    public StatsFeedbackCommand(RpgStatsPlugin plugin, ComponentType<EntityStore, RpgStats> rpgStatsType) {
+        super("feedback", "Turn combat proc messages on or off.");
+        setPermissionGroup(GameMode.Adventure);
+        requirePermission(RpgStatsPermissions.STATS_VIEW);
+        this.plugin = plugin;
+        this.rpgStatsType = rpgStatsType;
+        stateArg = withRequiredArg("state", "on or off", ArgTypes.STRING);
+    }
+
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    @Override
+    protected void executeSync(CommandContext ctx) {
+        CommandUtil.requirePermission(ctx.sender(), RpgStatsPermissions.STATS_VIEW);
+        if (!ctx.isPlayer()) {
+            ctx.sendMessage(Message.raw("This command can only be used by a player."));
+            return;
+        }
+
+        String stateRaw = stateArg.get(ctx);
+        boolean enabled;
+        if ("on".equalsIgnoreCase(stateRaw)) {
+            enabled = true;
+        } else if ("off".equalsIgnoreCase(stateRaw)) {
+            enabled = false;
+        } else {
+            ctx.sendMessage(Message.raw("Usage: /stats feedback <on|off>"));
+            return;
+        }
+
+        Ref<EntityStore> ref = ctx.senderAsPlayerRef();
+        if (ref == null || !ref.isValid()) {
+            ctx.sendMessage(Message.raw("You are not in the world right now."));
+            return;
+        }
+        Store<EntityStore> store = ref.getStore();
+        EntityStore entityStore = store == null ? null : store.getExternalData();
+        World world = entityStore == null ? null : entityStore.getWorld();
+        if (world == null) {
+            ctx.sendMessage(Message.raw("You are not in a world right now."));
+            return;
+        }
+
+        world.execute(() -> {
+            if (!ref.isValid()) {
+                return;
+            }
+            Store<EntityStore> worldStore = ref.getStore();
+            if (worldStore == null) {
+                return;
+            }
+            RpgStats stats = worldStore.ensureAndGetComponent(ref, rpgStatsType);
+            stats.setCombatMessagesEnabled(enabled);
+            ctx.sendMessage(Message.raw("Combat messages " + (enabled ? "enabled." : "disabled.")));
+            plugin.logDebug(LogCategory.COMMAND, () -> "Combat messages " + (enabled ? "enabled" : "disabled")
+                    + " for " + ctx.sender().getDisplayName());
+        });
+    }
+}
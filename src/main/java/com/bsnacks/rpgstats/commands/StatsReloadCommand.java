@@ -1,6 +1,7 @@
 package com.bsnacks.rpgstats.commands;
 
 import com.bsnacks.rpgstats.RpgStatsPlugin;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.permissions.PermissionChecks;
 import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
 
@@ -29,7 +30,7 @@ public final class StatsReloadCommand extends CommandBase {
     @Override
     protected void executeSync(CommandContext ctx) {
         if (!PermissionChecks.requirePrivileged(ctx, RpgStatsPermissions.STATS_SET)) {
-            plugin.logDebug("Denied /stats reload: sender=" + ctx.sender().getDisplayName()
+            plugin.logDebug(LogCategory.COMMAND, () -> "Denied /stats reload: sender=" + ctx.sender().getDisplayName()
                     + " uuid=" + ctx.sender().getUuid());
             return;
         }
@@ -3,13 +3,14 @@ package com.bsnacks.rpgstats.commands;
 import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.permissions.PermissionChecks;
 import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
 import com.bsnacks.rpgstats.systems.ConstitutionHealthEffect;
 import com.bsnacks.rpgstats.systems.EnduranceStaminaEffect;
+import com.bsnacks.rpgstats.systems.HudRefreshSystem;
 import com.bsnacks.rpgstats.systems.IntellectManaEffect;
 import com.bsnacks.rpgstats.systems.LightFootSpeedEffect;
-import com.bsnacks.rpgstats.ui.RpgStatsHud;
 import com.bsnacks.rpgstats.ui.StatsPage;
 
 import com.hypixel.hytale.component.ComponentType;
@@ -59,7 +60,7 @@ public final class StatsResetCommand extends CommandBase {
         String targetRaw = targetArg.get(ctx);
         if (!"self".equalsIgnoreCase(targetRaw)) {
             if (!PermissionChecks.requirePrivileged(ctx, RpgStatsPermissions.STATS_RESET_OTHERS)) {
-                plugin.logDebug("Denied /stats reset others: sender=" + ctx.sender().getDisplayName()
+                plugin.logDebug(LogCategory.COMMAND, () -> "Denied /stats reset others: sender=" + ctx.sender().getDisplayName()
                         + " uuid=" + ctx.sender().getUuid()
                         + " target=" + targetRaw);
                 return;
@@ -112,7 +113,12 @@ public final class StatsResetCommand extends CommandBase {
             }
             StatsPage.refreshIfOpen(target.ref, worldStore);
             if (config == null || config.isHudEnabled()) {
-                RpgStatsHud.refreshIfActive(target.ref, worldStore);
+                plugin.scheduleHudRefresh(targetPlayer, HudRefreshSystem.Reason.STAT_CHANGE);
+            }
+            // Level and max health both show in the party HUD.
+            PlayerRef targetPlayerRef = worldStore.getComponent(target.ref, PlayerRef.getComponentType());
+            if (targetPlayerRef != null) {
+                plugin.markPartyHudChanged(targetPlayerRef.getUuid());
             }
 
             ctx.sendMessage(Message.raw("Reset stats for " + target.name + "."));
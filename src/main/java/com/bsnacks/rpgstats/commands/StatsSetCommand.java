@@ -3,13 +3,14 @@ package com.bsnacks.rpgstats.commands;
 import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.permissions.PermissionChecks;
 import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
 import com.bsnacks.rpgstats.systems.ConstitutionHealthEffect;
 import com.bsnacks.rpgstats.systems.EnduranceStaminaEffect;
+import com.bsnacks.rpgstats.systems.HudRefreshSystem;
 import com.bsnacks.rpgstats.systems.IntellectManaEffect;
 import com.bsnacks.rpgstats.systems.LightFootSpeedEffect;
-import com.bsnacks.rpgstats.ui.RpgStatsHud;
 import com.bsnacks.rpgstats.ui.StatsPage;
 
 import com.hypixel.hytale.component.ComponentType;
@@ -71,7 +72,7 @@ public final class StatsSetCommand extends CommandBase {
         logPermissionDebug(ctx, targetRaw, attributeRaw);
 
         if (!PermissionChecks.requirePrivileged(ctx, RpgStatsPermissions.STATS_SET)) {
-            plugin.logDebug("Denied /stats set: sender=" + ctx.sender().getDisplayName()
+            plugin.logDebug(LogCategory.COMMAND, () -> "Denied /stats set: sender=" + ctx.sender().getDisplayName()
                     + " uuid=" + ctx.sender().getUuid());
             return;
         }
@@ -99,7 +100,7 @@ public final class StatsSetCommand extends CommandBase {
 
         if (!"self".equalsIgnoreCase(targetRaw)) {
             if (!PermissionChecks.requirePrivileged(ctx, RpgStatsPermissions.STATS_SET_OTHERS)) {
-                plugin.logDebug("Denied /stats set others: sender=" + ctx.sender().getDisplayName()
+                plugin.logDebug(LogCategory.COMMAND, () -> "Denied /stats set others: sender=" + ctx.sender().getDisplayName()
                         + " uuid=" + ctx.sender().getUuid()
                         + " target=" + targetRaw);
                 return;
@@ -236,7 +237,12 @@ public final class StatsSetCommand extends CommandBase {
             }
             StatsPage.refreshIfOpen(target.ref, worldStore);
             if (config == null || config.isHudEnabled()) {
-                RpgStatsHud.refreshIfActive(target.ref, worldStore);
+                plugin.scheduleHudRefresh(targetPlayer, HudRefreshSystem.Reason.STAT_CHANGE);
+            }
+            // Level and max health both show in the party HUD.
+            PlayerRef targetPlayerRef = worldStore.getComponent(target.ref, PlayerRef.getComponentType());
+            if (targetPlayerRef != null) {
+                plugin.markPartyHudChanged(targetPlayerRef.getUuid());
             }
 
             ctx.sendMessage(Message.raw("Set " + attribute.toUpperCase() + " for " + target.name + " to " + value + "."));
@@ -285,10 +291,10 @@ public final class StatsSetCommand extends CommandBase {
     }
 
     private void logPermissionDebug(CommandContext ctx, String targetRaw, String attributeRaw) {
-        boolean hasSetPermission = ctx.sender().hasPermission(RpgStatsPermissions.STATS_SET);
-        boolean hasSetOthersPermission = ctx.sender().hasPermission(RpgStatsPermissions.STATS_SET_OTHERS);
-        boolean hasWildcard = ctx.sender().hasPermission("*");
-        boolean hasFake = ctx.sender().hasPermission("rpgstats.debug.fake");
+        boolean hasSetPermission = PermissionChecks.hasPermission(ctx.sender(), RpgStatsPermissions.STATS_SET);
+        boolean hasSetOthersPermission = PermissionChecks.hasPermission(ctx.sender(), RpgStatsPermissions.STATS_SET_OTHERS);
+        boolean hasWildcard = PermissionChecks.hasPermission(ctx.sender(), "*");
+        boolean hasFake = PermissionChecks.hasPermission(ctx.sender(), "rpgstats.debug.fake");
 
         plugin.logInfo("Permission debug /stats set: sender=" + ctx.sender().getDisplayName()
                 + " uuid=" + ctx.sender().getUuid()
@@ -0,0 +1,70 @@
+package com.bsnacks.rpgstats.components;
+
+import java.util.Locale;
+
+/**
+ * Registry of player abilities. The ordinal is the slot in {@link RpgStats}' level array, so new
+ * abilities must be appended at the end. When points have to be taken back, abilities are trimmed
+ * from the last entry to the first.
+ */
+public enum AbilityId {
+    LIGHT_FOOT("light_foot", "LightFoot", "Light Foot"),
+    ARMOR_PROFICIENCY("armor_proficiency", "ArmorProficiency", "Armor Proficiency"),
+    HEALTH_REGEN("health_regen", "HealthRegen", "Health Regeneration"),
+    STAMINA_REGEN("stamina_regen", "StaminaRegen", "Stamina Regeneration"),
+    GLANCING_BLOW("glancing_blow", "GlancingBlow", "Glancing Blow"),
+    STRONG_LUNGS("strong_lungs", "StrongLungs", "Strong Lungs"),
+    LUCKY_SHOT("lucky_shot", "LuckyShot", "Lucky Shot"),
+    CRITICAL_STRIKE("critical_strike", "CriticalStrike", "Critical Strike"),
+    LIFESTEAL("lifesteal", "Lifesteal", "Lifesteal"),
+    THORNS("thorns", "Thorns", "Thorns"),
+    TOOL_PROFICIENCY("tool_proficiency", "ToolProficiency", "Tool Proficiency"),
+    LUCKY_MINER("lucky_miner", "LuckyMiner", "Lucky Miner"),
+    GOURMAND("gourmand", "Gourmand", "Gourmand"),
+    FLAME_TOUCH("flame_touch", "FlameTouch", "Flame Touch");
+
+    private static final AbilityId[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final String id;
+    private final String key;
+    private final String displayName;
+
+    AbilityId(String id, String key, String displayName) {
+        this.id = id;
+        this.key = key;
+        this.displayName = displayName;
+    }
+
+    /** Lowercase id used by UI events and commands, e.g. "light_foot". */
+    public String getId() {
+        return id;
+    }
+
+    /** PascalCase key used for UI element names, e.g. "LightFoot" for #LightFootLevel. */
+    public String getKey() {
+        return key;
+    }
+
+    /** Persisted codec key, e.g. "LightFootLevel". */
+    public String getCodecKey() {
+        return key + "Level";
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static AbilityId fromId(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String normalized = raw.trim().toLowerCase(Locale.ROOT);
+        for (AbilityId ability : VALUES) {
+            if (ability.id.equals(normalized)) {
+                return ability;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bsnacks.rpgstats.components;
+
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.systems.ArmorProficiencySystem;
+import com.bsnacks.rpgstats.systems.CriticalStrikeSystem;
+import com.bsnacks.rpgstats.systems.DexterityMiningSpeedSystem;
+import com.bsnacks.rpgstats.systems.GlancingBlowSystem;
+import com.bsnacks.rpgstats.systems.LifestealSystem;
+import com.bsnacks.rpgstats.systems.StrengthDamageSystem;
+import com.bsnacks.rpgstats.systems.ThornsSystem;
+
+/**
+ * Precomputed combat and mining values for one player's {@link RpgStats}.
+ *
+ * Values are cached on the stats component and rebuilt only when the player's attributes,
+ * level or ability levels change, or when a reload publishes a new {@link ConfigSnapshot}.
+ * Hot paths read the final fields directly instead of re-running the config formulas per event.
+ */
+public final class DerivedStats {
+
+    // The snapshot the values were computed from; compared by identity.
+    private final ConfigSnapshot builtFor;
+    private final float strengthDamageMultiplier;
+    private final float criticalChancePct;
+    private final float criticalDamageMultiplier;
+    private final float lifestealPct;
+    private final float thornsReflectPct;
+    private final float dodgeChancePct;
+    private final float armorDamageReduction;
+    private final float miningSpeedMultiplier;
+
+    private DerivedStats(RpgStats stats, ConfigSnapshot config) {
+        this.builtFor = config;
+        this.strengthDamageMultiplier = StrengthDamageSystem.getDamageMultiplier(stats.getStr(), config);
+
+        int criticalStrikeLevel = stats.getCriticalStrikeLevel();
+        this.criticalChancePct = criticalStrikeLevel <= 0 ? 0f
+                : CriticalStrikeSystem.getCriticalChance(criticalStrikeLevel, config);
+        this.criticalDamageMultiplier = CriticalStrikeSystem.getCriticalDamageMultiplier(config);
+
+        this.lifestealPct = LifestealSystem.getLifestealPercent(stats.getLifestealLevel(), config);
+        this.thornsReflectPct = ThornsSystem.getThornsReflectPercent(stats.getThornsLevel(), config);
+
+        int glancingBlowLevel = stats.getGlancingBlowLevel();
+        this.dodgeChancePct = glancingBlowLevel <= 0 ? 0f
+                : Math.min(100f, GlancingBlowSystem.getDodgeChance(glancingBlowLevel, config));
+
+        this.armorDamageReduction = ArmorProficiencySystem.getDamageReduction(stats.getArmorProficiencyLevel(), config);
+        this.miningSpeedMultiplier = DexterityMiningSpeedSystem.getMiningSpeedMultiplier(stats.getDex(), config);
+    }
+
+    /**
+     * Returns the cached values for the given stats, rebuilding them if the stats changed or they
+     * were computed from another config snapshot. Pass the snapshot the caller read for the current
+     * event. Must be called from the thread that owns the entity.
+     */
+    public static DerivedStats of(RpgStats stats, ConfigSnapshot config) {
+        DerivedStats cached = stats.getCachedDerivedStats();
+        if (cached != null && cached.builtFor == config) {
+            return cached;
+        }
+        DerivedStats rebuilt = new DerivedStats(stats, config);
+        stats.setCachedDerivedStats(rebuilt);
+        return rebuilt;
+    }
+
+    /** Multiplier applied to outgoing damage from STR. */
+    public float getStrengthDamageMultiplier() {
+        return strengthDamageMultiplier;
+    }
+
+    /** Critical Strike chance as a percentage (0-100); zero when the ability is not learned. */
+    public float getCriticalChancePct() {
+        return criticalChancePct;
+    }
+
+    public float getCriticalDamageMultiplier() {
+        return criticalDamageMultiplier;
+    }
+
+    public float getLifestealPct() {
+        return lifestealPct;
+    }
+
+    public float getThornsReflectPct() {
+        return thornsReflectPct;
+    }
+
+    /** Glancing Blow dodge chance as a percentage (0-100); zero when the ability is not learned. */
+    public float getDodgeChancePct() {
+        return dodgeChancePct;
+    }
+
+    /** Fraction of Physical/Projectile damage removed while wearing armor (0-0.95). */
+    public float getArmorDamageReduction() {
+        return armorDamageReduction;
+    }
+
+    /** Multiplier applied to block damage from DEX. */
+    public float getMiningSpeedMultiplier() {
+        return miningSpeedMultiplier;
+    }
+}
@@ -0,0 +1,140 @@
+package com.bsnacks.rpgstats.components;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Server-wide progression settings shared by every {@link RpgStats}: the XP curve, ability points
+ * per level, ability rank costs and the max ability level.
+ *
+ * Immutable. Each config snapshot builds its own instance, so it is published together with the
+ * snapshot and no thread sees a new max level paired with old rank costs.
+ */
+public final class RpgStatsTunables {
+
+    public static final RpgStatsTunables DEFAULTS = of(RpgStats.DEFAULT_MAX_LEVEL, null,
+            RpgStats.DEFAULT_ABILITY_POINTS_PER_LEVEL, 1, 2, 3, RpgStats.DEFAULT_MAX_ABILITY_LEVEL);
+
+    private final XpCurve xpCurve;
+    private final int abilityPointsPerLevel;
+    private final int abilityRank1Cost;
+    private final int abilityRank2Cost;
+    private final int abilityRank3Cost;
+    // cumulativeRankCosts[n] is the total cost of ranks 1..n.
+    private final int[] cumulativeRankCosts;
+    private final int maxAbilityLevel;
+
+    private RpgStatsTunables(XpCurve xpCurve, int abilityPointsPerLevel,
+                             int abilityRank1Cost, int abilityRank2Cost, int abilityRank3Cost, int maxAbilityLevel) {
+        this.xpCurve = xpCurve;
+        this.abilityPointsPerLevel = abilityPointsPerLevel;
+        this.abilityRank1Cost = abilityRank1Cost;
+        this.abilityRank2Cost = abilityRank2Cost;
+        this.abilityRank3Cost = abilityRank3Cost;
+        this.cumulativeRankCosts = buildCumulativeRankCosts(abilityRank1Cost, abilityRank2Cost, abilityRank3Cost);
+        this.maxAbilityLevel = maxAbilityLevel;
+    }
+
+    /**
+     * Builds a set of tunables, clamping each value the same way the old per-field setters did.
+     * @param maxLevel the max character level
+     * @param xpRequirement XP needed to go from a level to the next, or null for the built-in formula
+     */
+    public static RpgStatsTunables of(int maxLevel, IntToLongFunction xpRequirement, int abilityPointsPerLevel,
+                                      int rank1Cost, int rank2Cost, int rank3Cost, int maxAbilityLevel) {
+        IntToLongFunction requirement = xpRequirement == null ? RpgStatsTunables::defaultXpRequirement : xpRequirement;
+        int clampedMaxLevel = clamp(maxLevel, 1, RpgStats.MAX_MAX_LEVEL);
+        return new RpgStatsTunables(XpCurve.build(clampedMaxLevel, requirement),
+                clamp(abilityPointsPerLevel, 0, maxAbilityPointsPerLevel(clampedMaxLevel)),
+                Math.max(0, rank1Cost),
+                Math.max(0, rank2Cost),
+                Math.max(0, rank3Cost),
+                clamp(maxAbilityLevel, RpgStats.MIN_MAX_ABILITY_LEVEL, RpgStats.MAX_MAX_ABILITY_LEVEL));
+    }
+
+    public XpCurve getXpCurve() {
+        return xpCurve;
+    }
+
+    public int getMaxLevel() {
+        return xpCurve.getMaxLevel();
+    }
+
+    public int getAbilityPointsPerLevel() {
+        return abilityPointsPerLevel;
+    }
+
+    public int getAbilityRank1Cost() {
+        return abilityRank1Cost;
+    }
+
+    public int getAbilityRank2Cost() {
+        return abilityRank2Cost;
+    }
+
+    public int getAbilityRank3Cost() {
+        return abilityRank3Cost;
+    }
+
+    public int getMaxAbilityLevel() {
+        return maxAbilityLevel;
+    }
+
+    public int getAbilityRankCost(int rank) {
+        switch (rank) {
+            case 1:
+                return abilityRank1Cost;
+            case 2:
+                return abilityRank2Cost;
+            case 3:
+                return abilityRank3Cost;
+            default:
+                return rank; // Fallback for ranks beyond 3
+        }
+    }
+
+    /**
+     * Total cost of ranks 1..levels.
+     */
+    public int getTotalCostForLevels(int levels) {
+        if (levels <= 0) {
+            return 0;
+        }
+        if (levels < cumulativeRankCosts.length) {
+            return cumulativeRankCosts[levels];
+        }
+        int total = 0;
+        for (int i = 1; i <= levels; i++) {
+            total += getAbilityRankCost(i);
+        }
+        return total;
+    }
+
+    private static long defaultXpRequirement(int level) {
+        long l = Math.max(0, level - 1);
+        return RpgStats.BASE_XP + RpgStats.LINEAR_XP * l + RpgStats.QUADRATIC_XP * l * l;
+    }
+
+    private static int[] buildCumulativeRankCosts(int rank1Cost, int rank2Cost, int rank3Cost) {
+        int[] costs = new int[RpgStats.MAX_MAX_ABILITY_LEVEL + 1];
+        for (int rank = 1; rank < costs.length; rank++) {
+            int cost = rank == 1 ? rank1Cost : rank == 2 ? rank2Cost : rank == 3 ? rank3Cost : rank;
+            costs[rank] = costs[rank - 1] + cost;
+        }
+        return costs;
+    }
+
+    private static int maxAbilityPointsPerLevel(int maxLevel) {
+        int levels = Math.max(1, maxLevel - 1);
+        return Integer.MAX_VALUE / levels;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        if (value < min) {
+            return min;
+        }
+        if (value > max) {
+            return max;
+        }
+        return value;
+    }
+}
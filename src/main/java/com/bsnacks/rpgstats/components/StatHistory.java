@@ -0,0 +1,162 @@
+package com.bsnacks.rpgstats.components;
+
+import java.util.Arrays;
+
+/**
+ * Order in which a player spent attribute points, oldest first, so points can be taken back in
+ * reverse when the player loses levels.
+ *
+ * Entries are attribute ordinals in a growable byte array: push and pop are O(1) amortized and a
+ * copy is a single array clone. The history is persisted run-length encoded, e.g. "str:5,dex:2,str:1".
+ */
+final class StatHistory {
+
+    // Index in this array is the ordinal stored in the history.
+    private static final String[] ATTRIBUTES = {"str", "dex", "con", "int", "end", "cha"};
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] entries;
+    private int size;
+
+    StatHistory() {
+        this.entries = EMPTY;
+    }
+
+    private StatHistory(byte[] entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        entries = EMPTY;
+        size = 0;
+    }
+
+    /**
+     * Appends a normalized attribute ("str", "dex", "con", "int", "end" or "cha"). Unknown attributes are ignored.
+     */
+    void push(String attribute) {
+        int ordinal = ordinalOf(attribute);
+        if (ordinal < 0) {
+            return;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(16, size * 2));
+        }
+        entries[size++] = (byte) ordinal;
+    }
+
+    /**
+     * Removes and returns the most recent attribute, or null if the history is empty.
+     */
+    String pop() {
+        if (size == 0) {
+            return null;
+        }
+        return ATTRIBUTES[entries[--size]];
+    }
+
+    StatHistory copy() {
+        return size == 0 ? new StatHistory() : new StatHistory(Arrays.copyOf(entries, size), size);
+    }
+
+    /**
+     * Run-length encoded form used by the codec.
+     */
+    String encode() {
+        if (size == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        int i = 0;
+        while (i < size) {
+            byte ordinal = entries[i];
+            int run = 1;
+            while (i + run < size && entries[i + run] == ordinal) {
+                run++;
+            }
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(ATTRIBUTES[ordinal]).append(':').append(run);
+            i += run;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses the output of {@link #encode()}. Malformed runs are skipped, and entries past
+     * {@code maxEntries} are dropped so a damaged save cannot allocate more than a player can earn.
+     */
+    static StatHistory decode(String encoded, int maxEntries) {
+        StatHistory history = new StatHistory();
+        if (encoded == null || encoded.isEmpty()) {
+            return history;
+        }
+        for (String run : encoded.split(",")) {
+            int separator = run.indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            int ordinal = ordinalOf(run.substring(0, separator).trim());
+            int count;
+            try {
+                count = Integer.parseInt(run.substring(separator + 1).trim());
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            if (ordinal < 0 || count <= 0) {
+                continue;
+            }
+            count = Math.min(count, maxEntries - history.size);
+            if (count <= 0) {
+                break;
+            }
+            history.ensureCapacity(history.size + count);
+            Arrays.fill(history.entries, history.size, history.size + count, (byte) ordinal);
+            history.size += count;
+        }
+        return history;
+    }
+
+    /**
+     * Converts the per-entry string array stored before version 19.
+     */
+    static StatHistory fromLegacy(String[] legacy) {
+        StatHistory history = new StatHistory();
+        if (legacy == null || legacy.length == 0) {
+            return history;
+        }
+        history.ensureCapacity(legacy.length);
+        for (String attribute : legacy) {
+            history.push(attribute);
+        }
+        return history;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(capacity, entries.length * 2));
+        }
+    }
+
+    private static int ordinalOf(String attribute) {
+        if (attribute == null) {
+            return -1;
+        }
+        for (int i = 0; i < ATTRIBUTES.length; i++) {
+            if (ATTRIBUTES[i].equals(attribute)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
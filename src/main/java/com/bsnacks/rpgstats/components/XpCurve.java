@@ -0,0 +1,97 @@
+package com.bsnacks.rpgstats.components;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Immutable XP progression table.
+ *
+ * Holds the cumulative XP required to reach each level, so level and XP lookups are an array
+ * read or a binary search instead of a walk over every level. Instances are never modified after
+ * construction and can be shared freely between world threads.
+ */
+public final class XpCurve {
+
+    // cumulativeXp[i] is the total XP needed to reach level i + 1. Levels whose total would
+    // overflow a long are unreachable and are left out of the table.
+    private final long[] cumulativeXp;
+    private final int maxLevel;
+
+    private XpCurve(int maxLevel, long[] cumulativeXp) {
+        this.maxLevel = maxLevel;
+        this.cumulativeXp = cumulativeXp;
+    }
+
+    /**
+     * Builds a curve from a per-level requirement.
+     *
+     * @param maxLevel the highest reachable level (at least 1)
+     * @param xpToNext XP needed to go from the given level to the next; negative values count as 0
+     */
+    public static XpCurve build(int maxLevel, IntToLongFunction xpToNext) {
+        int clampedMax = Math.max(1, maxLevel);
+        long[] table = new long[Math.min(clampedMax, 1024)];
+        int size = 1;
+        long total = 0L;
+        for (int level = 1; level < clampedMax; level++) {
+            long step = Math.max(0L, xpToNext.applyAsLong(level));
+            if (step > Long.MAX_VALUE - total) {
+                break;
+            }
+            total += step;
+            if (size == table.length) {
+                table = Arrays.copyOf(table, (int) Math.min(clampedMax, (long) size * 2));
+            }
+            table[size++] = total;
+        }
+        if (size != table.length) {
+            table = Arrays.copyOf(table, size);
+        }
+        return new XpCurve(clampedMax, table);
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Total XP required to reach the given level, clamped to 1..max level.
+     * Returns {@link Long#MAX_VALUE} for levels that cannot be reached.
+     */
+    public long totalXpForLevel(int level) {
+        int index = Math.max(1, Math.min(level, maxLevel)) - 1;
+        return index < cumulativeXp.length ? cumulativeXp[index] : Long.MAX_VALUE;
+    }
+
+    /**
+     * XP needed to advance from the given level to the next, or 0 at max level.
+     */
+    public long xpToNext(int level) {
+        int index = Math.max(1, level) - 1;
+        if (index + 1 >= maxLevel) {
+            return 0L;
+        }
+        if (index + 1 >= cumulativeXp.length) {
+            return Long.MAX_VALUE;
+        }
+        return cumulativeXp[index + 1] - cumulativeXp[index];
+    }
+
+    /**
+     * The level reached with the given total XP.
+     */
+    public int levelForTotalXp(long xp) {
+        // Find the last level whose cumulative requirement is <= xp.
+        int low = 0;
+        int high = cumulativeXp.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulativeXp[mid] <= xp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bsnacks.rpgstats.config;
+
+import java.util.Arrays;
+
+/**
+ * Mining XP by block type index (the integer index of the block asset).
+ *
+ * Each block type is resolved through the {@link XpLookupTable} the first time it is mined and
+ * its XP stored in an int array, so later lookups are a single array read with no string
+ * handling. Each {@link ConfigSnapshot} builds its own index, so a reload starts from empty slots.
+ *
+ * Writes from several world threads may race, but every thread stores the same value for an
+ * index, so a lost write only means the block type is resolved again.
+ */
+public final class BlockXpIndex {
+
+    // Parsed mining XP values are always > 0, so a negative slot means "not resolved yet".
+    private static final int UNRESOLVED = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Block type indexes are dense and bounded by the asset count; refuse anything absurd.
+    private static final int MAX_CAPACITY = 1 << 20;
+
+    private final XpLookupTable table;
+    private volatile int[] xpByIndex;
+
+    BlockXpIndex(XpLookupTable table) {
+        this.table = table;
+        this.xpByIndex = newSlots(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Mining XP for the block type, or 0 if it has none.
+     *
+     * @param blockTypeIndex the block asset index, used as the array slot
+     * @param blockId the block asset ID, only read the first time the index is seen
+     */
+    public int getXp(int blockTypeIndex, String blockId) {
+        if (blockTypeIndex < 0 || blockTypeIndex >= MAX_CAPACITY) {
+            return resolve(blockId);
+        }
+        int[] slots = xpByIndex;
+        if (blockTypeIndex < slots.length) {
+            int xp = slots[blockTypeIndex];
+            if (xp != UNRESOLVED) {
+                return xp;
+            }
+        } else {
+            slots = grow(blockTypeIndex);
+        }
+        int xp = resolve(blockId);
+        slots[blockTypeIndex] = xp;
+        return xp;
+    }
+
+    private int resolve(String blockId) {
+        int xp = table.lookup(blockId);
+        return xp == XpLookupTable.NO_MATCH ? 0 : xp;
+    }
+
+    private synchronized int[] grow(int blockTypeIndex) {
+        int[] slots = xpByIndex;
+        if (blockTypeIndex < slots.length) {
+            return slots;
+        }
+        int capacity = slots.length;
+        while (capacity <= blockTypeIndex) {
+            capacity *= 2;
+        }
+        int[] grown = Arrays.copyOf(slots, Math.min(capacity, MAX_CAPACITY));
+        Arrays.fill(grown, slots.length, grown.length, UNRESOLVED);
+        xpByIndex = grown;
+        return grown;
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, UNRESOLVED);
+        return slots;
+    }
+}
@@ -0,0 +1,154 @@
+package com.bsnacks.rpgstats.config;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Watches the data directory and requests a reload when one of the RPGStats TOML files is edited.
+ *
+ * Editors often touch a file several times per save, so events are collected until the files have
+ * been quiet for {@link #DEBOUNCE_MILLIS}. A reload is only requested for files whose content hash
+ * changed since the last check, which skips saves that change nothing. Runs on its own daemon
+ * thread, so the parse never blocks a world thread.
+ */
+public final class ConfigFileWatcher implements AutoCloseable {
+
+    private static final long DEBOUNCE_MILLIS = 500L;
+
+    private final Path dataDirectory;
+    private final HytaleLogger logger;
+    private final Consumer<Set<String>> onChange;
+    // Content hash per file name as of the last check. Only touched by the watcher thread after start().
+    private final Map<String, byte[]> knownHashes = new HashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param onChange called on the watcher thread with the names of the files that changed
+     */
+    public ConfigFileWatcher(Path dataDirectory, HytaleLogger logger, Consumer<Set<String>> onChange) {
+        this.dataDirectory = dataDirectory;
+        this.logger = logger;
+        this.onChange = onChange;
+    }
+
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        findChangedFiles();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dataDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException ex) {
+            logger.at(Level.WARNING).log("[RPGStats] Config file watching disabled: " + ex.getMessage());
+            closeWatchService();
+            return;
+        }
+        thread = new Thread(() -> run(watchService), "RPGStats-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        closeWatchService();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void run(WatchService service) {
+        try {
+            while (true) {
+                if (!drain(service.take())) {
+                    continue;
+                }
+                // Wait until no relevant event has arrived for DEBOUNCE_MILLIS.
+                long quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+                long remaining;
+                while ((remaining = quietUntil - System.nanoTime()) > 0L) {
+                    WatchKey next = service.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null && drain(next)) {
+                        quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+                    }
+                }
+                Set<String> changed = findChangedFiles();
+                if (changed.isEmpty()) {
+                    continue;
+                }
+                try {
+                    onChange.accept(changed);
+                } catch (RuntimeException ex) {
+                    logger.at(Level.WARNING).log("[RPGStats] Config reload after file change failed: " + ex.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // Stopped by close().
+        }
+    }
+
+    /**
+     * Consumes the key's events and returns true if any of them is for a config file.
+     */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+            } else if (event.context() instanceof Path path
+                    && RpgStatsConfig.DATA_FILE_NAMES.contains(path.getFileName().toString())) {
+                relevant = true;
+            }
+        }
+        if (!key.reset()) {
+            logger.at(Level.WARNING).log("[RPGStats] Data directory is no longer watched: " + dataDirectory);
+        }
+        return relevant;
+    }
+
+    /**
+     * Re-hashes every config file and returns the names whose content differs from the last check.
+     */
+    private Set<String> findChangedFiles() {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String name : RpgStatsConfig.DATA_FILE_NAMES) {
+            byte[] hash = RpgStatsConfig.hashFile(dataDirectory.resolve(name));
+            if (!Arrays.equals(hash, knownHashes.get(name))) {
+                changed.add(name);
+                knownHashes.put(name, hash);
+            }
+        }
+        return changed;
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException ex) {
+            logger.at(Level.WARNING).log("[RPGStats] Failed to close config watcher: " + ex.getMessage());
+        }
+        watchService = null;
+    }
+}
@@ -0,0 +1,484 @@
+package com.bsnacks.rpgstats.config;
+
+import com.bsnacks.rpgstats.components.RpgStatsTunables;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One loaded set of config values. Immutable: a reload builds a new snapshot and
+ * {@link RpgStatsConfig} swaps it in with a single volatile write, so code that reads the snapshot
+ * once per event sees every value from the same load.
+ */
+public final class ConfigSnapshot {
+
+    private final int configVersion;
+    private final double xpMultiplier;
+    private final int maxLevel;
+    private final int abilityPointsPerLevel;
+    private final double lightFootSpeedPerLevelPct;
+    private final double armorProficiencyResistancePerLevelPct;
+    private final double healthRegenPerLevelPerSec;
+    private final double staminaRegenPerLevelPerSec;
+    private final double glancingBlowChancePerLevelPct;
+    private final double damageMultiplierBase;
+    private final double miningSpeedBase;
+    private final double miningSpeedPerPoint;
+    private final double healthPerPoint;
+    private final double manaPerPoint;
+    private final double staminaPerPoint;
+    private final boolean hudEnabled;
+    private final boolean xpChatMessagesEnabled;
+    private final int strCap;
+    private final int dexCap;
+    private final int conCap;
+    private final int intCap;
+    private final int endCap;
+    private final int chaCap;
+    private final Set<String> xpBlacklistNpcTypes;
+    private final Set<String> xpBlacklistRoles;
+    private final XpBlacklistMatcher xpBlacklistNpcTypeMatcher;
+    private final XpBlacklistMatcher xpBlacklistRoleMatcher;
+    private final Map<String, Integer> miningXpByBlockId;
+    private final Map<String, Integer> craftingXpByItemId;
+    // Compiled from the maps above for per-event lookups.
+    private final XpLookupTable miningXpTable;
+    private final XpLookupTable craftingXpTable;
+    private final BlockXpIndex miningXpIndex;
+    private final int craftingBaseXp;
+    private final double craftingIngredientXp;
+    private final double craftingTimeXpPerSecond;
+    private final double benchTierMultiplierBase;
+    private final double benchTierMultiplierPerLevel;
+    private final int maxCraftingXp;
+    private final boolean craftingFormulaEnabled;
+    private final double strongLungsOxygenPerLevelPct;
+    private final double luckyShotChancePerLevelPct;
+    private final double criticalStrikeChancePerLevelPct;
+    private final double criticalStrikeBaseChancePct;
+    private final double criticalStrikeDamageMultiplier;
+    private final double lifestealPerLevelPct;
+    private final double thornsReflectPerLevelPct;
+    private final double toolProficiencyChancePerLevelPct;
+    private final double luckyMinerChancePerLevelPct;
+    private final double gourmandFoodBonusPerLevelPct;
+    private final double flameTouchBonusDamagePerLevelPct;
+    private final String flameTouchParticleSystem;
+    private final int abilityRank1Cost;
+    private final int abilityRank2Cost;
+    private final int abilityRank3Cost;
+    private final int maxAbilityLevel;
+    private final boolean partyEnabled;
+    private final int partyMaxSize;
+    private final int partyInviteTimeoutSec;
+    private final String partyXpShareMode;
+    private final int partyXpShareRadiusBlocks;
+    private final int[] partyKillerShareBySize;
+    private final int partyExtraMemberPct;
+    private final boolean partyHudEnabled;
+    private final int partyHudOffsetX;
+    private final int partyHudOffsetY;
+    private final int partyHudRefreshTicks;
+    private final XpCurveDefinition xpCurve;
+    private final boolean deterministicRollsEnabled;
+    private final long deterministicRollsSeed;
+    private final RpgStatsTunables tunables;
+
+    ConfigSnapshot(int configVersion, double xpMultiplier, int maxLevel, int abilityPointsPerLevel,
+                    double lightFootSpeedPerLevelPct, double armorProficiencyResistancePerLevelPct,
+                    double healthRegenPerLevelPerSec, double staminaRegenPerLevelPerSec,
+                    double glancingBlowChancePerLevelPct,
+                    double damageMultiplierBase,
+                    double miningSpeedBase, double miningSpeedPerPoint,
+                    double healthPerPoint, double manaPerPoint, double staminaPerPoint,
+                    boolean hudEnabled, boolean xpChatMessagesEnabled,
+                    int strCap, int dexCap, int conCap, int intCap, int endCap, int chaCap,
+                    Set<String> xpBlacklistNpcTypes, Set<String> xpBlacklistRoles,
+                    Map<String, Integer> miningXpByBlockId,
+                    Map<String, Integer> craftingXpByItemId,
+                    int craftingBaseXp, double craftingIngredientXp, double craftingTimeXpPerSecond,
+                    double benchTierMultiplierBase, double benchTierMultiplierPerLevel,
+                    int maxCraftingXp, boolean craftingFormulaEnabled,
+                    double strongLungsOxygenPerLevelPct, double luckyShotChancePerLevelPct,
+                    double criticalStrikeChancePerLevelPct, double criticalStrikeBaseChancePct,
+                    double criticalStrikeDamageMultiplier, double lifestealPerLevelPct,
+                    double thornsReflectPerLevelPct, double toolProficiencyChancePerLevelPct,
+                    double luckyMinerChancePerLevelPct,
+                    double gourmandFoodBonusPerLevelPct,
+                    double flameTouchBonusDamagePerLevelPct,
+                    String flameTouchParticleSystem,
+                    int abilityRank1Cost, int abilityRank2Cost, int abilityRank3Cost,
+                    int maxAbilityLevel,
+                    boolean partyEnabled, int partyMaxSize, int partyInviteTimeoutSec,
+                    String partyXpShareMode, int partyXpShareRadiusBlocks,
+                    int[] partyKillerShareBySize, int partyExtraMemberPct,
+                    boolean partyHudEnabled, int partyHudOffsetX, int partyHudOffsetY,
+                    int partyHudRefreshTicks, XpCurveDefinition xpCurve,
+                    boolean deterministicRollsEnabled, long deterministicRollsSeed) {
+        this.configVersion = configVersion;
+        this.xpMultiplier = xpMultiplier;
+        this.maxLevel = maxLevel;
+        this.abilityPointsPerLevel = abilityPointsPerLevel;
+        this.lightFootSpeedPerLevelPct = lightFootSpeedPerLevelPct;
+        this.armorProficiencyResistancePerLevelPct = armorProficiencyResistancePerLevelPct;
+        this.healthRegenPerLevelPerSec = healthRegenPerLevelPerSec;
+        this.staminaRegenPerLevelPerSec = staminaRegenPerLevelPerSec;
+        this.glancingBlowChancePerLevelPct = glancingBlowChancePerLevelPct;
+        this.damageMultiplierBase = damageMultiplierBase;
+        this.miningSpeedBase = miningSpeedBase;
+        this.miningSpeedPerPoint = miningSpeedPerPoint;
+        this.healthPerPoint = healthPerPoint;
+        this.manaPerPoint = manaPerPoint;
+        this.staminaPerPoint = staminaPerPoint;
+        this.hudEnabled = hudEnabled;
+        this.xpChatMessagesEnabled = xpChatMessagesEnabled;
+        this.strCap = strCap;
+        this.dexCap = dexCap;
+        this.conCap = conCap;
+        this.intCap = intCap;
+        this.endCap = endCap;
+        this.chaCap = chaCap;
+        this.xpBlacklistNpcTypes = xpBlacklistNpcTypes;
+        this.xpBlacklistRoles = xpBlacklistRoles;
+        this.xpBlacklistNpcTypeMatcher = XpBlacklistMatcher.compile(xpBlacklistNpcTypes);
+        this.xpBlacklistRoleMatcher = XpBlacklistMatcher.compile(xpBlacklistRoles);
+        this.miningXpByBlockId = miningXpByBlockId;
+        this.craftingXpByItemId = craftingXpByItemId;
+        this.miningXpTable = XpLookupTable.compile(miningXpByBlockId);
+        this.craftingXpTable = XpLookupTable.compile(craftingXpByItemId);
+        this.miningXpIndex = new BlockXpIndex(miningXpTable);
+        this.craftingBaseXp = craftingBaseXp;
+        this.craftingIngredientXp = craftingIngredientXp;
+        this.craftingTimeXpPerSecond = craftingTimeXpPerSecond;
+        this.benchTierMultiplierBase = benchTierMultiplierBase;
+        this.benchTierMultiplierPerLevel = benchTierMultiplierPerLevel;
+        this.maxCraftingXp = maxCraftingXp;
+        this.craftingFormulaEnabled = craftingFormulaEnabled;
+        this.strongLungsOxygenPerLevelPct = strongLungsOxygenPerLevelPct;
+        this.luckyShotChancePerLevelPct = luckyShotChancePerLevelPct;
+        this.criticalStrikeChancePerLevelPct = criticalStrikeChancePerLevelPct;
+        this.criticalStrikeBaseChancePct = criticalStrikeBaseChancePct;
+        this.criticalStrikeDamageMultiplier = criticalStrikeDamageMultiplier;
+        this.lifestealPerLevelPct = lifestealPerLevelPct;
+        this.thornsReflectPerLevelPct = thornsReflectPerLevelPct;
+        this.toolProficiencyChancePerLevelPct = toolProficiencyChancePerLevelPct;
+        this.luckyMinerChancePerLevelPct = luckyMinerChancePerLevelPct;
+        this.gourmandFoodBonusPerLevelPct = gourmandFoodBonusPerLevelPct;
+        this.flameTouchBonusDamagePerLevelPct = flameTouchBonusDamagePerLevelPct;
+        this.flameTouchParticleSystem = flameTouchParticleSystem;
+        this.abilityRank1Cost = abilityRank1Cost;
+        this.abilityRank2Cost = abilityRank2Cost;
+        this.abilityRank3Cost = abilityRank3Cost;
+        this.maxAbilityLevel = maxAbilityLevel;
+        this.partyEnabled = partyEnabled;
+        this.partyMaxSize = partyMaxSize;
+        this.partyInviteTimeoutSec = partyInviteTimeoutSec;
+        this.partyXpShareMode = partyXpShareMode;
+        this.partyXpShareRadiusBlocks = partyXpShareRadiusBlocks;
+        this.partyKillerShareBySize = partyKillerShareBySize;
+        this.partyExtraMemberPct = partyExtraMemberPct;
+        this.partyHudEnabled = partyHudEnabled;
+        this.partyHudOffsetX = partyHudOffsetX;
+        this.partyHudOffsetY = partyHudOffsetY;
+        this.partyHudRefreshTicks = partyHudRefreshTicks;
+        this.xpCurve = xpCurve;
+        this.deterministicRollsEnabled = deterministicRollsEnabled;
+        this.deterministicRollsSeed = deterministicRollsSeed;
+        this.tunables = RpgStatsTunables.of(maxLevel, xpCurve, abilityPointsPerLevel,
+                abilityRank1Cost, abilityRank2Cost, abilityRank3Cost, maxAbilityLevel);
+    }
+
+    public double getXpMultiplier() {
+        return xpMultiplier;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    public int getAbilityPointsPerLevel() {
+        return abilityPointsPerLevel;
+    }
+
+    public double getLightFootSpeedPerLevelPct() {
+        return lightFootSpeedPerLevelPct;
+    }
+
+    public double getArmorProficiencyResistancePerLevelPct() {
+        return armorProficiencyResistancePerLevelPct;
+    }
+
+    public double getHealthRegenPerLevelPerSec() {
+        return healthRegenPerLevelPerSec;
+    }
+
+    public double getStaminaRegenPerLevelPerSec() {
+        return staminaRegenPerLevelPerSec;
+    }
+
+    public double getGlancingBlowChancePerLevelPct() {
+        return glancingBlowChancePerLevelPct;
+    }
+
+    public double getStrongLungsOxygenPerLevelPct() {
+        return strongLungsOxygenPerLevelPct;
+    }
+
+    public double getLuckyShotChancePerLevelPct() {
+        return luckyShotChancePerLevelPct;
+    }
+
+    public double getCriticalStrikeChancePerLevelPct() {
+        return criticalStrikeChancePerLevelPct;
+    }
+
+    public double getCriticalStrikeBaseChancePct() {
+        return criticalStrikeBaseChancePct;
+    }
+
+    public double getCriticalStrikeDamageMultiplier() {
+        return criticalStrikeDamageMultiplier;
+    }
+
+    public double getLifestealPerLevelPct() {
+        return lifestealPerLevelPct;
+    }
+
+    public double getThornsReflectPerLevelPct() {
+        return thornsReflectPerLevelPct;
+    }
+
+    public double getToolProficiencyChancePerLevelPct() {
+        return toolProficiencyChancePerLevelPct;
+    }
+
+    public double getLuckyMinerChancePerLevelPct() {
+        return luckyMinerChancePerLevelPct;
+    }
+
+    public double getGourmandFoodBonusPerLevelPct() {
+        return gourmandFoodBonusPerLevelPct;
+    }
+
+    public double getFlameTouchBonusDamagePerLevelPct() {
+        return flameTouchBonusDamagePerLevelPct;
+    }
+
+    public String getFlameTouchParticleSystem() {
+        return flameTouchParticleSystem == null ? RpgStatsConfig.DEFAULT_FLAME_TOUCH_PARTICLE_SYSTEM : flameTouchParticleSystem;
+    }
+
+    public int getAbilityRank1Cost() {
+        return abilityRank1Cost;
+    }
+
+    public int getAbilityRank2Cost() {
+        return abilityRank2Cost;
+    }
+
+    public int getAbilityRank3Cost() {
+        return abilityRank3Cost;
+    }
+
+    public int getMaxAbilityLevel() {
+        return maxAbilityLevel;
+    }
+
+    public double getDamageMultiplierBase() {
+        return damageMultiplierBase;
+    }
+
+    public double getMiningSpeedBase() {
+        return miningSpeedBase;
+    }
+
+    public double getMiningSpeedPerPoint() {
+        return miningSpeedPerPoint;
+    }
+
+    public double getHealthPerPoint() {
+        return healthPerPoint;
+    }
+
+    public double getManaPerPoint() {
+        return manaPerPoint;
+    }
+
+    public double getStaminaPerPoint() {
+        return staminaPerPoint;
+    }
+
+    public boolean isHudEnabled() {
+        return hudEnabled;
+    }
+
+    public boolean isXpChatMessagesEnabled() {
+        return xpChatMessagesEnabled;
+    }
+
+    public boolean isPartyEnabled() {
+        return partyEnabled;
+    }
+
+    public int getPartyMaxSize() {
+        return partyMaxSize;
+    }
+
+    public int getPartyInviteTimeoutSec() {
+        return partyInviteTimeoutSec;
+    }
+
+    public String getPartyXpShareMode() {
+        return partyXpShareMode;
+    }
+
+    public int getPartyXpShareRadiusBlocks() {
+        return partyXpShareRadiusBlocks;
+    }
+
+    public int[] getPartyKillerShareBySize() {
+        return partyKillerShareBySize == null ? new int[0] : partyKillerShareBySize.clone();
+    }
+
+    public int getPartyExtraMemberPct() {
+        return partyExtraMemberPct;
+    }
+
+    public boolean isPartyHudEnabled() {
+        return partyHudEnabled;
+    }
+
+    public int getPartyHudOffsetX() {
+        return partyHudOffsetX;
+    }
+
+    public int getPartyHudOffsetY() {
+        return partyHudOffsetY;
+    }
+
+    public int getPartyHudRefreshTicks() {
+        return partyHudRefreshTicks;
+    }
+
+    /**
+     * The XP required per level. Compiled into a lookup table when the config is applied.
+     */
+    public XpCurveDefinition getXpCurve() {
+        return xpCurve;
+    }
+
+    public boolean isDeterministicRollsEnabled() {
+        return deterministicRollsEnabled;
+    }
+
+    public long getDeterministicRollsSeed() {
+        return deterministicRollsSeed;
+    }
+
+    public int getStatCap(String attribute) {
+        if (attribute == null) {
+            return RpgStatsConfig.DEFAULT_STAT_CAP;
+        }
+        switch (attribute) {
+            case "str":
+                return strCap;
+            case "dex":
+                return dexCap;
+            case "con":
+                return conCap;
+            case "int":
+                return intCap;
+            case "end":
+                return endCap;
+            case "cha":
+                return chaCap;
+            default:
+                return RpgStatsConfig.DEFAULT_STAT_CAP;
+        }
+    }
+
+    public Set<String> getXpBlacklistNpcTypes() {
+        return xpBlacklistNpcTypes;
+    }
+
+    public Set<String> getXpBlacklistRoles() {
+        return xpBlacklistRoles;
+    }
+
+    /**
+     * Mining XP for a block ID (any case), or 0 if it has no entry. Exact IDs win over wildcards,
+     * and the longest matching wildcard wins over shorter ones.
+     */
+    public int getMiningXpForBlock(String blockId) {
+        int xp = miningXpTable.lookup(blockId);
+        return xp == XpLookupTable.NO_MATCH ? 0 : xp;
+    }
+
+    /**
+     * Mining XP for a block type by its asset index; after the first lookup for an index this is
+     * a single array read. Prefer this over {@link #getMiningXpForBlock(String)} on per-block paths.
+     */
+    public int getMiningXpForBlock(int blockTypeIndex, String blockId) {
+        return miningXpIndex.getXp(blockTypeIndex, blockId);
+    }
+
+    public int getMiningXpEntryCount() {
+        return miningXpByBlockId == null ? 0 : miningXpByBlockId.size();
+    }
+
+    /**
+     * Crafting XP override for an item ID (any case), or -1 if it has no entry.
+     * Matching follows {@link #getMiningXpForBlock(String)}.
+     */
+    public int getCraftingXpForItem(String itemId) {
+        int xp = craftingXpTable.lookup(itemId);
+        return xp == XpLookupTable.NO_MATCH ? -1 : xp;
+    }
+
+    public int getCraftingXpEntryCount() {
+        return craftingXpByItemId == null ? 0 : craftingXpByItemId.size();
+    }
+
+    public int getCraftingBaseXp() {
+        return craftingBaseXp;
+    }
+
+    public double getCraftingIngredientXp() {
+        return craftingIngredientXp;
+    }
+
+    public double getCraftingTimeXpPerSecond() {
+        return craftingTimeXpPerSecond;
+    }
+
+    public double getBenchTierMultiplierBase() {
+        return benchTierMultiplierBase;
+    }
+
+    public double getBenchTierMultiplierPerLevel() {
+        return benchTierMultiplierPerLevel;
+    }
+
+    public int getMaxCraftingXp() {
+        return maxCraftingXp;
+    }
+
+    public boolean isCraftingFormulaEnabled() {
+        return craftingFormulaEnabled;
+    }
+
+    /**
+     * True if the NPC type or role matches an xp_blacklist.toml entry (exact, "prefix_*" or glob).
+     * Results are memoized per ID until the next config load.
+     */
+    public boolean isXpBlacklisted(String npcTypeId, String roleName) {
+        return xpBlacklistNpcTypeMatcher.matches(npcTypeId) || xpBlacklistRoleMatcher.matches(roleName);
+    }
+
+    /**
+     * Progression settings for {@link com.bsnacks.rpgstats.components.RpgStats}, built once per load.
+     */
+    public RpgStatsTunables getTunables() {
+        return tunables;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bsnacks.rpgstats.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-ID memo for the compiled config lookups, keyed by the ID exactly as the game passes it.
+ *
+ * Block, item and NPC IDs are a bounded set, but they come from the game and from mods, so the
+ * cache stops taking new IDs once it holds {@link #MAX_IDS}; later IDs are simply resolved again.
+ * Safe to share between world threads.
+ */
+final class ResolvedIdCache<V> {
+
+    static final int MAX_IDS = 16384;
+
+    private final ConcurrentHashMap<String, V> values = new ConcurrentHashMap<>();
+
+    V get(String id) {
+        return values.get(id);
+    }
+
+    void put(String id, V value) {
+        if (values.size() < MAX_IDS) {
+            values.put(id, value);
+        }
+    }
+}
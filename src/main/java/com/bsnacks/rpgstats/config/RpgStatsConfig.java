@@ -7,9 +7,12 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -18,6 +21,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 public final class RpgStatsConfig {
@@ -27,7 +32,12 @@ public final class RpgStatsConfig {
     private static final String XP_BLACKLIST_FILE_NAME = "xp_blacklist.toml";
     private static final String MINING_XP_FILE_NAME = "mining_xp.toml";
     private static final String CRAFTING_XP_FILE_NAME = "crafting_xp.toml";
-    private static final int CURRENT_CONFIG_VERSION = 16;
+    // Every file load() reads; a change to any of them needs a reload.
+    static final List<String> DATA_FILE_NAMES = List.of(FILE_NAME, XP_BLACKLIST_FILE_NAME,
+            MINING_XP_FILE_NAME, CRAFTING_XP_FILE_NAME);
+    // Last parse of each data file, reused by load() while the file is unchanged.
+    private static final Map<Path, ParsedFile> PARSED_FILES = new ConcurrentHashMap<>();
+    private static final int CURRENT_CONFIG_VERSION = 17;
     // Crafting XP formula defaults
     private static final int DEFAULT_CRAFTING_BASE_XP = 5;
     private static final double DEFAULT_CRAFTING_INGREDIENT_XP = 2.0;
@@ -38,6 +48,8 @@ public final class RpgStatsConfig {
     private static final boolean DEFAULT_CRAFTING_FORMULA_ENABLED = true;
     private static final double DEFAULT_XP_MULTIPLIER = 0.35;
     private static final int DEFAULT_MAX_LEVEL = 25;
+    // The XP table and curve validation are built per level, so the level count must stay small.
+    private static final int MAX_MAX_LEVEL = 10000;
     private static final int DEFAULT_ABILITY_POINTS_PER_LEVEL = 2;
     private static final int MIN_ABILITY_POINTS_PER_LEVEL = 0;
     private static final int DEFAULT_ABILITY_RANK1_COST = 1;
@@ -47,7 +59,7 @@ public final class RpgStatsConfig {
     private static final int DEFAULT_MAX_ABILITY_LEVEL = 3;
     private static final int MIN_MAX_ABILITY_LEVEL = 1;
     private static final int MAX_MAX_ABILITY_LEVEL = 10;
-    private static final int DEFAULT_STAT_CAP = 25;
+    static final int DEFAULT_STAT_CAP = 25;
     private static final double DEFAULT_LIGHT_FOOT_SPEED_PER_LEVEL_PCT = 5.0;
     private static final double DEFAULT_ARMOR_PROFICIENCY_RESISTANCE_PER_LEVEL_PCT = 5.0;
     private static final double MIN_ABILITY_BONUS_PCT = 0.0;
@@ -68,7 +80,7 @@ public final class RpgStatsConfig {
     private static final double DEFAULT_LUCKY_MINER_CHANCE_PER_LEVEL_PCT = 10.0;
     private static final double DEFAULT_GOURMAND_FOOD_BONUS_PER_LEVEL_PCT = 10.0;
     private static final double DEFAULT_FLAME_TOUCH_BONUS_DAMAGE_PER_LEVEL_PCT = 15.0;
-    private static final String DEFAULT_FLAME_TOUCH_PARTICLE_SYSTEM = "Fire_AoE_Spawn";
+    static final String DEFAULT_FLAME_TOUCH_PARTICLE_SYSTEM = "Fire_AoE_Spawn";
     private static final double DEFAULT_DAMAGE_MULTIPLIER_BASE = 10.0;
     private static final double DEFAULT_MINING_SPEED_BASE = 1.0;
     private static final double DEFAULT_MINING_SPEED_PER_POINT = 0.10;
@@ -93,519 +105,303 @@ public final class RpgStatsConfig {
     private static final int DEFAULT_PARTY_HUD_OFFSET_Y = 20;
     private static final int DEFAULT_PARTY_HUD_REFRESH_TICKS = 20;
     private static final int MIN_PARTY_HUD_REFRESH_TICKS = 1;
+    private static final String DEFAULT_XP_CURVE_TYPE = XpCurveDefinition.TYPE_POLYNOMIAL;
+    private static final double[] DEFAULT_XP_CURVE_POLYNOMIAL = new double[] {100, 50, 20};
+    private static final double DEFAULT_XP_CURVE_EXPONENTIAL_BASE = 100.0;
+    private static final double DEFAULT_XP_CURVE_EXPONENTIAL_GROWTH = 1.25;
+    private static final boolean DEFAULT_DETERMINISTIC_ROLLS_ENABLED = false;
+    private static final long DEFAULT_DETERMINISTIC_ROLLS_SEED = 42L;
 
-    private int configVersion;
-    private double xpMultiplier;
-    private int maxLevel;
-    private int abilityPointsPerLevel;
-    private double lightFootSpeedPerLevelPct;
-    private double armorProficiencyResistancePerLevelPct;
-    private double healthRegenPerLevelPerSec;
-    private double staminaRegenPerLevelPerSec;
-    private double glancingBlowChancePerLevelPct;
-    private double damageMultiplierBase;
-    private double miningSpeedBase;
-    private double miningSpeedPerPoint;
-    private double healthPerPoint;
-    private double manaPerPoint;
-    private double staminaPerPoint;
-    private boolean hudEnabled;
-    private boolean xpChatMessagesEnabled;
-    private int strCap;
-    private int dexCap;
-    private int conCap;
-    private int intCap;
-    private int endCap;
-    private int chaCap;
-    private Set<String> xpBlacklistNpcTypes;
-    private Set<String> xpBlacklistRoles;
-    private Map<String, Integer> miningXpByBlockId;
-    private Map<String, Integer> craftingXpByItemId;
-    private int craftingBaseXp;
-    private double craftingIngredientXp;
-    private double craftingTimeXpPerSecond;
-    private double benchTierMultiplierBase;
-    private double benchTierMultiplierPerLevel;
-    private int maxCraftingXp;
-    private boolean craftingFormulaEnabled;
-    private double strongLungsOxygenPerLevelPct;
-    private double luckyShotChancePerLevelPct;
-    private double criticalStrikeChancePerLevelPct;
-    private double criticalStrikeBaseChancePct;
-    private double criticalStrikeDamageMultiplier;
-    private double lifestealPerLevelPct;
-    private double thornsReflectPerLevelPct;
-    private double toolProficiencyChancePerLevelPct;
-    private double luckyMinerChancePerLevelPct;
-    private double gourmandFoodBonusPerLevelPct;
-    private double flameTouchBonusDamagePerLevelPct;
-    private String flameTouchParticleSystem;
-    private int abilityRank1Cost;
-    private int abilityRank2Cost;
-    private int abilityRank3Cost;
-    private int maxAbilityLevel;
-    private boolean partyEnabled;
-    private int partyMaxSize;
-    private int partyInviteTimeoutSec;
-    private String partyXpShareMode;
-    private int partyXpShareRadiusBlocks;
-    private int[] partyKillerShareBySize;
-    private int partyExtraMemberPct;
-    private boolean partyHudEnabled;
-    private int partyHudOffsetX;
-    private int partyHudOffsetY;
-    private int partyHudRefreshTicks;
-
-    private RpgStatsConfig(int configVersion, double xpMultiplier, int maxLevel, int abilityPointsPerLevel,
-                            double lightFootSpeedPerLevelPct, double armorProficiencyResistancePerLevelPct,
-                            double healthRegenPerLevelPerSec, double staminaRegenPerLevelPerSec,
-                            double glancingBlowChancePerLevelPct,
-                            double damageMultiplierBase,
-                            double miningSpeedBase, double miningSpeedPerPoint,
-                            double healthPerPoint, double manaPerPoint, double staminaPerPoint,
-                            boolean hudEnabled, boolean xpChatMessagesEnabled,
-                            int strCap, int dexCap, int conCap, int intCap, int endCap, int chaCap,
-                            Set<String> xpBlacklistNpcTypes, Set<String> xpBlacklistRoles,
-                            Map<String, Integer> miningXpByBlockId,
-                            Map<String, Integer> craftingXpByItemId,
-                            int craftingBaseXp, double craftingIngredientXp, double craftingTimeXpPerSecond,
-                            double benchTierMultiplierBase, double benchTierMultiplierPerLevel,
-                            int maxCraftingXp, boolean craftingFormulaEnabled,
-                            double strongLungsOxygenPerLevelPct, double luckyShotChancePerLevelPct,
-                            double criticalStrikeChancePerLevelPct, double criticalStrikeBaseChancePct,
-                            double criticalStrikeDamageMultiplier, double lifestealPerLevelPct,
-                            double thornsReflectPerLevelPct, double toolProficiencyChancePerLevelPct,
-                            double luckyMinerChancePerLevelPct,
-                            double gourmandFoodBonusPerLevelPct,
-                            double flameTouchBonusDamagePerLevelPct,
-                            String flameTouchParticleSystem,
-                            int abilityRank1Cost, int abilityRank2Cost, int abilityRank3Cost,
-                            int maxAbilityLevel,
-                            boolean partyEnabled, int partyMaxSize, int partyInviteTimeoutSec,
-                            String partyXpShareMode, int partyXpShareRadiusBlocks,
-                            int[] partyKillerShareBySize, int partyExtraMemberPct,
-                            boolean partyHudEnabled, int partyHudOffsetX, int partyHudOffsetY,
-                            int partyHudRefreshTicks) {
-        this.configVersion = configVersion;
-        this.xpMultiplier = xpMultiplier;
-        this.maxLevel = maxLevel;
-        this.abilityPointsPerLevel = abilityPointsPerLevel;
-        this.lightFootSpeedPerLevelPct = lightFootSpeedPerLevelPct;
-        this.armorProficiencyResistancePerLevelPct = armorProficiencyResistancePerLevelPct;
-        this.healthRegenPerLevelPerSec = healthRegenPerLevelPerSec;
-        this.staminaRegenPerLevelPerSec = staminaRegenPerLevelPerSec;
-        this.glancingBlowChancePerLevelPct = glancingBlowChancePerLevelPct;
-        this.damageMultiplierBase = damageMultiplierBase;
-        this.miningSpeedBase = miningSpeedBase;
-        this.miningSpeedPerPoint = miningSpeedPerPoint;
-        this.healthPerPoint = healthPerPoint;
-        this.manaPerPoint = manaPerPoint;
-        this.staminaPerPoint = staminaPerPoint;
-        this.hudEnabled = hudEnabled;
-        this.xpChatMessagesEnabled = xpChatMessagesEnabled;
-        this.strCap = strCap;
-        this.dexCap = dexCap;
-        this.conCap = conCap;
-        this.intCap = intCap;
-        this.endCap = endCap;
-        this.chaCap = chaCap;
-        this.xpBlacklistNpcTypes = xpBlacklistNpcTypes;
-        this.xpBlacklistRoles = xpBlacklistRoles;
-        this.miningXpByBlockId = miningXpByBlockId;
-        this.craftingXpByItemId = craftingXpByItemId;
-        this.craftingBaseXp = craftingBaseXp;
-        this.craftingIngredientXp = craftingIngredientXp;
-        this.craftingTimeXpPerSecond = craftingTimeXpPerSecond;
-        this.benchTierMultiplierBase = benchTierMultiplierBase;
-        this.benchTierMultiplierPerLevel = benchTierMultiplierPerLevel;
-        this.maxCraftingXp = maxCraftingXp;
-        this.craftingFormulaEnabled = craftingFormulaEnabled;
-        this.strongLungsOxygenPerLevelPct = strongLungsOxygenPerLevelPct;
-        this.luckyShotChancePerLevelPct = luckyShotChancePerLevelPct;
-        this.criticalStrikeChancePerLevelPct = criticalStrikeChancePerLevelPct;
-        this.criticalStrikeBaseChancePct = criticalStrikeBaseChancePct;
-        this.criticalStrikeDamageMultiplier = criticalStrikeDamageMultiplier;
-        this.lifestealPerLevelPct = lifestealPerLevelPct;
-        this.thornsReflectPerLevelPct = thornsReflectPerLevelPct;
-        this.toolProficiencyChancePerLevelPct = toolProficiencyChancePerLevelPct;
-        this.luckyMinerChancePerLevelPct = luckyMinerChancePerLevelPct;
-        this.gourmandFoodBonusPerLevelPct = gourmandFoodBonusPerLevelPct;
-        this.flameTouchBonusDamagePerLevelPct = flameTouchBonusDamagePerLevelPct;
-        this.flameTouchParticleSystem = flameTouchParticleSystem;
-        this.abilityRank1Cost = abilityRank1Cost;
-        this.abilityRank2Cost = abilityRank2Cost;
-        this.abilityRank3Cost = abilityRank3Cost;
-        this.maxAbilityLevel = maxAbilityLevel;
-        this.partyEnabled = partyEnabled;
-        this.partyMaxSize = partyMaxSize;
-        this.partyInviteTimeoutSec = partyInviteTimeoutSec;
-        this.partyXpShareMode = partyXpShareMode;
-        this.partyXpShareRadiusBlocks = partyXpShareRadiusBlocks;
-        this.partyKillerShareBySize = partyKillerShareBySize;
-        this.partyExtraMemberPct = partyExtraMemberPct;
-        this.partyHudEnabled = partyHudEnabled;
-        this.partyHudOffsetX = partyHudOffsetX;
-        this.partyHudOffsetY = partyHudOffsetY;
-        this.partyHudRefreshTicks = partyHudRefreshTicks;
+    // Replaced as a whole on reload; see snapshot().
+    private volatile ConfigSnapshot snapshot;
+
+    private RpgStatsConfig(ConfigSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * The current values. Read this once per event and use the snapshot's getters for the rest of
+     * the handler, so a reload in between cannot mix old and new values.
+     */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
     }
 
     public double getXpMultiplier() {
-        return xpMultiplier;
+        return snapshot.getXpMultiplier();
     }
 
     public int getMaxLevel() {
-        return maxLevel;
+        return snapshot.getMaxLevel();
     }
 
     public int getAbilityPointsPerLevel() {
-        return abilityPointsPerLevel;
+        return snapshot.getAbilityPointsPerLevel();
     }
 
     public double getLightFootSpeedPerLevelPct() {
-        return lightFootSpeedPerLevelPct;
+        return snapshot.getLightFootSpeedPerLevelPct();
     }
 
     public double getArmorProficiencyResistancePerLevelPct() {
-        return armorProficiencyResistancePerLevelPct;
+        return snapshot.getArmorProficiencyResistancePerLevelPct();
     }
 
     public double getHealthRegenPerLevelPerSec() {
-        return healthRegenPerLevelPerSec;
+        return snapshot.getHealthRegenPerLevelPerSec();
     }
 
     public double getStaminaRegenPerLevelPerSec() {
-        return staminaRegenPerLevelPerSec;
+        return snapshot.getStaminaRegenPerLevelPerSec();
     }
 
     public double getGlancingBlowChancePerLevelPct() {
-        return glancingBlowChancePerLevelPct;
+        return snapshot.getGlancingBlowChancePerLevelPct();
     }
 
     public double getStrongLungsOxygenPerLevelPct() {
-        return strongLungsOxygenPerLevelPct;
+        return snapshot.getStrongLungsOxygenPerLevelPct();
     }
 
     public double getLuckyShotChancePerLevelPct() {
-        return luckyShotChancePerLevelPct;
+        return snapshot.getLuckyShotChancePerLevelPct();
     }
 
     public double getCriticalStrikeChancePerLevelPct() {
-        return criticalStrikeChancePerLevelPct;
+        return snapshot.getCriticalStrikeChancePerLevelPct();
     }
 
     public double getCriticalStrikeBaseChancePct() {
-        return criticalStrikeBaseChancePct;
+        return snapshot.getCriticalStrikeBaseChancePct();
     }
 
     public double getCriticalStrikeDamageMultiplier() {
-        return criticalStrikeDamageMultiplier;
+        return snapshot.getCriticalStrikeDamageMultiplier();
     }
 
     public double getLifestealPerLevelPct() {
-        return lifestealPerLevelPct;
+        return snapshot.getLifestealPerLevelPct();
     }
 
     public double getThornsReflectPerLevelPct() {
-        return thornsReflectPerLevelPct;
+        return snapshot.getThornsReflectPerLevelPct();
     }
 
     public double getToolProficiencyChancePerLevelPct() {
-        return toolProficiencyChancePerLevelPct;
+        return snapshot.getToolProficiencyChancePerLevelPct();
     }
 
     public double getLuckyMinerChancePerLevelPct() {
-        return luckyMinerChancePerLevelPct;
+        return snapshot.getLuckyMinerChancePerLevelPct();
     }
 
     public double getGourmandFoodBonusPerLevelPct() {
-        return gourmandFoodBonusPerLevelPct;
+        return snapshot.getGourmandFoodBonusPerLevelPct();
     }
 
     public double getFlameTouchBonusDamagePerLevelPct() {
-        return flameTouchBonusDamagePerLevelPct;
+        return snapshot.getFlameTouchBonusDamagePerLevelPct();
     }
 
     public String getFlameTouchParticleSystem() {
-        return flameTouchParticleSystem == null ? DEFAULT_FLAME_TOUCH_PARTICLE_SYSTEM : flameTouchParticleSystem;
+        return snapshot.getFlameTouchParticleSystem();
     }
 
     public int getAbilityRank1Cost() {
-        return abilityRank1Cost;
+        return snapshot.getAbilityRank1Cost();
     }
 
     public int getAbilityRank2Cost() {
-        return abilityRank2Cost;
+        return snapshot.getAbilityRank2Cost();
     }
 
     public int getAbilityRank3Cost() {
-        return abilityRank3Cost;
+        return snapshot.getAbilityRank3Cost();
     }
 
     public int getMaxAbilityLevel() {
-        return maxAbilityLevel;
+        return snapshot.getMaxAbilityLevel();
     }
 
     public double getDamageMultiplierBase() {
-        return damageMultiplierBase;
+        return snapshot.getDamageMultiplierBase();
     }
 
     public double getMiningSpeedBase() {
-        return miningSpeedBase;
+        return snapshot.getMiningSpeedBase();
     }
 
     public double getMiningSpeedPerPoint() {
-        return miningSpeedPerPoint;
+        return snapshot.getMiningSpeedPerPoint();
     }
 
     public double getHealthPerPoint() {
-        return healthPerPoint;
+        return snapshot.getHealthPerPoint();
     }
 
     public double getManaPerPoint() {
-        return manaPerPoint;
+        return snapshot.getManaPerPoint();
     }
 
     public double getStaminaPerPoint() {
-        return staminaPerPoint;
+        return snapshot.getStaminaPerPoint();
     }
 
     public boolean isHudEnabled() {
-        return hudEnabled;
+        return snapshot.isHudEnabled();
     }
 
     public boolean isXpChatMessagesEnabled() {
-        return xpChatMessagesEnabled;
+        return snapshot.isXpChatMessagesEnabled();
     }
 
     public boolean isPartyEnabled() {
-        return partyEnabled;
+        return snapshot.isPartyEnabled();
     }
 
     public int getPartyMaxSize() {
-        return partyMaxSize;
+        return snapshot.getPartyMaxSize();
     }
 
     public int getPartyInviteTimeoutSec() {
-        return partyInviteTimeoutSec;
+        return snapshot.getPartyInviteTimeoutSec();
     }
 
     public String getPartyXpShareMode() {
-        return partyXpShareMode;
+        return snapshot.getPartyXpShareMode();
     }
 
     public int getPartyXpShareRadiusBlocks() {
-        return partyXpShareRadiusBlocks;
+        return snapshot.getPartyXpShareRadiusBlocks();
     }
 
     public int[] getPartyKillerShareBySize() {
-        return partyKillerShareBySize == null ? new int[0] : partyKillerShareBySize.clone();
+        return snapshot.getPartyKillerShareBySize();
     }
 
     public int getPartyExtraMemberPct() {
-        return partyExtraMemberPct;
+        return snapshot.getPartyExtraMemberPct();
     }
 
     public boolean isPartyHudEnabled() {
-        return partyHudEnabled;
+        return snapshot.isPartyHudEnabled();
     }
 
     public int getPartyHudOffsetX() {
-        return partyHudOffsetX;
+        return snapshot.getPartyHudOffsetX();
     }
 
     public int getPartyHudOffsetY() {
-        return partyHudOffsetY;
+        return snapshot.getPartyHudOffsetY();
     }
 
     public int getPartyHudRefreshTicks() {
-        return partyHudRefreshTicks;
+        return snapshot.getPartyHudRefreshTicks();
+    }
+
+    /**
+     * The XP required per level. Compiled into a lookup table when the config is applied.
+     */
+    public XpCurveDefinition getXpCurve() {
+        return snapshot.getXpCurve();
+    }
+
+    public boolean isDeterministicRollsEnabled() {
+        return snapshot.isDeterministicRollsEnabled();
+    }
+
+    public long getDeterministicRollsSeed() {
+        return snapshot.getDeterministicRollsSeed();
     }
 
     public int getStatCap(String attribute) {
-        if (attribute == null) {
-            return DEFAULT_STAT_CAP;
-        }
-        switch (attribute) {
-            case "str":
-                return strCap;
-            case "dex":
-                return dexCap;
-            case "con":
-                return conCap;
-            case "int":
-                return intCap;
-            case "end":
-                return endCap;
-            case "cha":
-                return chaCap;
-            default:
-                return DEFAULT_STAT_CAP;
-        }
+        return snapshot.getStatCap(attribute);
     }
 
     public Set<String> getXpBlacklistNpcTypes() {
-        return xpBlacklistNpcTypes;
+        return snapshot.getXpBlacklistNpcTypes();
     }
 
     public Set<String> getXpBlacklistRoles() {
-        return xpBlacklistRoles;
+        return snapshot.getXpBlacklistRoles();
     }
 
+    /**
+     * Mining XP for a block ID (any case), or 0 if it has no entry. Exact IDs win over wildcards,
+     * and the longest matching wildcard wins over shorter ones.
+     */
     public int getMiningXpForBlock(String blockId) {
-        if (blockId == null || miningXpByBlockId == null || miningXpByBlockId.isEmpty()) {
-            return 0;
-        }
-        String key = blockId.toLowerCase();
-        Integer xp = miningXpByBlockId.get(key);
-        if (xp != null) {
-            return xp;
-        }
-        for (Map.Entry<String, Integer> entry : miningXpByBlockId.entrySet()) {
-            String configured = entry.getKey();
-            if (configured.endsWith("*")) {
-                String prefix = configured.substring(0, configured.length() - 1);
-                if (!prefix.isEmpty() && key.startsWith(prefix)) {
-                    return entry.getValue();
-                }
-            }
-        }
-        return xp == null ? 0 : xp;
+        return snapshot.getMiningXpForBlock(blockId);
+    }
+
+    /**
+     * Mining XP for a block type by its asset index; after the first lookup for an index this is
+     * a single array read. Prefer this over {@link #getMiningXpForBlock(String)} on per-block paths.
+     */
+    public int getMiningXpForBlock(int blockTypeIndex, String blockId) {
+        return snapshot.getMiningXpForBlock(blockTypeIndex, blockId);
     }
 
     public int getMiningXpEntryCount() {
-        return miningXpByBlockId == null ? 0 : miningXpByBlockId.size();
+        return snapshot.getMiningXpEntryCount();
     }
 
+    /**
+     * Crafting XP override for an item ID (any case), or -1 if it has no entry.
+     * Matching follows {@link #getMiningXpForBlock(String)}.
+     */
     public int getCraftingXpForItem(String itemId) {
-        if (itemId == null || craftingXpByItemId == null || craftingXpByItemId.isEmpty()) {
-            return -1;
-        }
-        String key = itemId.toLowerCase();
-        Integer xp = craftingXpByItemId.get(key);
-        if (xp != null) {
-            return xp;
-        }
-        for (Map.Entry<String, Integer> entry : craftingXpByItemId.entrySet()) {
-            String configured = entry.getKey();
-            if (configured.endsWith("*")) {
-                String prefix = configured.substring(0, configured.length() - 1);
-                if (!prefix.isEmpty() && key.startsWith(prefix)) {
-                    return entry.getValue();
-                }
-            }
-        }
-        return -1;
+        return snapshot.getCraftingXpForItem(itemId);
     }
 
     public int getCraftingXpEntryCount() {
-        return craftingXpByItemId == null ? 0 : craftingXpByItemId.size();
+        return snapshot.getCraftingXpEntryCount();
     }
 
     public int getCraftingBaseXp() {
-        return craftingBaseXp;
+        return snapshot.getCraftingBaseXp();
     }
 
     public double getCraftingIngredientXp() {
-        return craftingIngredientXp;
+        return snapshot.getCraftingIngredientXp();
     }
 
     public double getCraftingTimeXpPerSecond() {
-        return craftingTimeXpPerSecond;
+        return snapshot.getCraftingTimeXpPerSecond();
     }
 
     public double getBenchTierMultiplierBase() {
-        return benchTierMultiplierBase;
+        return snapshot.getBenchTierMultiplierBase();
     }
 
     public double getBenchTierMultiplierPerLevel() {
-        return benchTierMultiplierPerLevel;
+        return snapshot.getBenchTierMultiplierPerLevel();
     }
 
     public int getMaxCraftingXp() {
-        return maxCraftingXp;
+        return snapshot.getMaxCraftingXp();
     }
 
     public boolean isCraftingFormulaEnabled() {
-        return craftingFormulaEnabled;
+        return snapshot.isCraftingFormulaEnabled();
     }
 
+    /**
+     * True if the NPC type or role matches an xp_blacklist.toml entry (exact, "prefix_*" or glob).
+     * Results are memoized per ID until the next config load.
+     */
     public boolean isXpBlacklisted(String npcTypeId, String roleName) {
-        if (npcTypeId != null && xpBlacklistNpcTypes != null
-                && xpBlacklistNpcTypes.contains(npcTypeId.toLowerCase())) {
-            return true;
-        }
-        if (roleName != null && xpBlacklistRoles != null
-                && xpBlacklistRoles.contains(roleName.toLowerCase())) {
-            return true;
-        }
-        return false;
+        return snapshot.isXpBlacklisted(npcTypeId, roleName);
     }
 
+    /**
+     * Publishes the other config's values. Readers see either all old or all new values.
+     */
     public void applyFrom(RpgStatsConfig other) {
         if (other == null) {
             return;
         }
-        this.configVersion = other.configVersion;
-        this.xpMultiplier = other.xpMultiplier;
-        this.maxLevel = other.maxLevel;
-        this.abilityPointsPerLevel = other.abilityPointsPerLevel;
-        this.lightFootSpeedPerLevelPct = other.lightFootSpeedPerLevelPct;
-        this.armorProficiencyResistancePerLevelPct = other.armorProficiencyResistancePerLevelPct;
-        this.healthRegenPerLevelPerSec = other.healthRegenPerLevelPerSec;
-        this.staminaRegenPerLevelPerSec = other.staminaRegenPerLevelPerSec;
-        this.glancingBlowChancePerLevelPct = other.glancingBlowChancePerLevelPct;
-        this.strongLungsOxygenPerLevelPct = other.strongLungsOxygenPerLevelPct;
-        this.luckyShotChancePerLevelPct = other.luckyShotChancePerLevelPct;
-        this.damageMultiplierBase = other.damageMultiplierBase;
-        this.miningSpeedBase = other.miningSpeedBase;
-        this.miningSpeedPerPoint = other.miningSpeedPerPoint;
-        this.healthPerPoint = other.healthPerPoint;
-        this.manaPerPoint = other.manaPerPoint;
-        this.staminaPerPoint = other.staminaPerPoint;
-        this.hudEnabled = other.hudEnabled;
-        this.xpChatMessagesEnabled = other.xpChatMessagesEnabled;
-        this.strCap = other.strCap;
-        this.dexCap = other.dexCap;
-        this.conCap = other.conCap;
-        this.intCap = other.intCap;
-        this.endCap = other.endCap;
-        this.chaCap = other.chaCap;
-        this.xpBlacklistNpcTypes = other.xpBlacklistNpcTypes;
-        this.xpBlacklistRoles = other.xpBlacklistRoles;
-        this.miningXpByBlockId = other.miningXpByBlockId;
-        this.craftingXpByItemId = other.craftingXpByItemId;
-        this.craftingBaseXp = other.craftingBaseXp;
-        this.craftingIngredientXp = other.craftingIngredientXp;
-        this.craftingTimeXpPerSecond = other.craftingTimeXpPerSecond;
-        this.benchTierMultiplierBase = other.benchTierMultiplierBase;
-        this.benchTierMultiplierPerLevel = other.benchTierMultiplierPerLevel;
-        this.maxCraftingXp = other.maxCraftingXp;
-        this.craftingFormulaEnabled = other.craftingFormulaEnabled;
-        this.criticalStrikeChancePerLevelPct = other.criticalStrikeChancePerLevelPct;
-        this.criticalStrikeBaseChancePct = other.criticalStrikeBaseChancePct;
-        this.criticalStrikeDamageMultiplier = other.criticalStrikeDamageMultiplier;
-        this.lifestealPerLevelPct = other.lifestealPerLevelPct;
-        this.thornsReflectPerLevelPct = other.thornsReflectPerLevelPct;
-        this.toolProficiencyChancePerLevelPct = other.toolProficiencyChancePerLevelPct;
-        this.luckyMinerChancePerLevelPct = other.luckyMinerChancePerLevelPct;
-        this.gourmandFoodBonusPerLevelPct = other.gourmandFoodBonusPerLevelPct;
-        this.flameTouchBonusDamagePerLevelPct = other.flameTouchBonusDamagePerLevelPct;
-        this.flameTouchParticleSystem = other.flameTouchParticleSystem;
-        this.abilityRank1Cost = other.abilityRank1Cost;
-        this.abilityRank2Cost = other.abilityRank2Cost;
-        this.abilityRank3Cost = other.abilityRank3Cost;
-        this.maxAbilityLevel = other.maxAbilityLevel;
-        this.partyEnabled = other.partyEnabled;
-        this.partyMaxSize = other.partyMaxSize;
-        this.partyInviteTimeoutSec = other.partyInviteTimeoutSec;
-        this.partyXpShareMode = other.partyXpShareMode;
-        this.partyXpShareRadiusBlocks = other.partyXpShareRadiusBlocks;
-        this.partyKillerShareBySize = other.partyKillerShareBySize == null ? null : other.partyKillerShareBySize.clone();
-        this.partyExtraMemberPct = other.partyExtraMemberPct;
-        this.partyHudEnabled = other.partyHudEnabled;
-        this.partyHudOffsetX = other.partyHudOffsetX;
-        this.partyHudOffsetY = other.partyHudOffsetY;
-        this.partyHudRefreshTicks = other.partyHudRefreshTicks;
+        this.snapshot = other.snapshot;
     }
 
     public static Path resolveConfigPath(Path dataDirectory) {
@@ -638,7 +434,7 @@ public final class RpgStatsConfig {
         Path configPath = resolveConfigPath(dataDirectory);
         if (!Files.exists(configPath)) {
             writeDefault(configPath, logger);
-            return new RpgStatsConfig(
+            return new RpgStatsConfig(new ConfigSnapshot(
                     CURRENT_CONFIG_VERSION,
                     DEFAULT_XP_MULTIPLIER,
                     DEFAULT_MAX_LEVEL,
@@ -699,11 +495,14 @@ public final class RpgStatsConfig {
                     DEFAULT_PARTY_HUD_ENABLED,
                     DEFAULT_PARTY_HUD_OFFSET_X,
                     DEFAULT_PARTY_HUD_OFFSET_Y,
-                    DEFAULT_PARTY_HUD_REFRESH_TICKS
-            );
+                    DEFAULT_PARTY_HUD_REFRESH_TICKS,
+                    XpCurveDefinition.polynomial(DEFAULT_XP_CURVE_POLYNOMIAL),
+                    DEFAULT_DETERMINISTIC_ROLLS_ENABLED,
+                    DEFAULT_DETERMINISTIC_ROLLS_SEED
+            ));
         }
 
-        Map<String, String> values = readKeyValues(configPath, logger);
+        Map<String, String> values = readParsed(configPath, logger, image -> image.values);
         int configVersion = parseInt(values.get("config_version"), 0, logger, "config_version");
         if (configVersion < 1) {
             logger.at(Level.INFO).log("[RPGStats] config_version missing or invalid. Assuming 0.");
@@ -723,6 +522,10 @@ public final class RpgStatsConfig {
             logger.at(Level.WARNING).log("[RPGStats] max_level must be >= 1. Using default " + DEFAULT_MAX_LEVEL);
             maxLevel = DEFAULT_MAX_LEVEL;
         }
+        if (maxLevel > MAX_MAX_LEVEL) {
+            logger.at(Level.WARNING).log("[RPGStats] max_level must be <= " + MAX_MAX_LEVEL + ". Clamping.");
+            maxLevel = MAX_MAX_LEVEL;
+        }
 
         int abilityPointsPerLevel = parseInt(values.get("ability_points_per_level"),
                 DEFAULT_ABILITY_POINTS_PER_LEVEL, logger, "ability_points_per_level");
@@ -738,6 +541,8 @@ public final class RpgStatsConfig {
             abilityPointsPerLevel = maxAbilityPointsPerLevel;
         }
 
+        XpCurveDefinition xpCurve = parseXpCurve(values, maxLevel, logger);
+
         double lightFootSpeedPerLevelPct = parseDouble(values.get("light_foot_speed_per_level_pct"),
                 DEFAULT_LIGHT_FOOT_SPEED_PER_LEVEL_PCT, logger, "light_foot_speed_per_level_pct");
         lightFootSpeedPerLevelPct = clampAbilityPct(lightFootSpeedPerLevelPct, logger, "light_foot_speed_per_level_pct",
@@ -968,6 +773,11 @@ public final class RpgStatsConfig {
             partyHudRefreshTicks = DEFAULT_PARTY_HUD_REFRESH_TICKS;
         }
 
+        boolean deterministicRollsEnabled = parseBoolean(values.get("deterministic_rolls_enabled"),
+                DEFAULT_DETERMINISTIC_ROLLS_ENABLED, logger, "deterministic_rolls_enabled");
+        long deterministicRollsSeed = parseLong(values.get("deterministic_rolls_seed"),
+                DEFAULT_DETERMINISTIC_ROLLS_SEED, logger, "deterministic_rolls_seed");
+
         int strCap = parseCap(values.get("str_cap"), "str_cap", logger);
         int dexCap = parseCap(values.get("dex_cap"), "dex_cap", logger);
         int conCap = parseCap(values.get("con_cap"), "con_cap", logger);
@@ -983,7 +793,7 @@ public final class RpgStatsConfig {
         Set<String> xpBlacklistNpcTypes = mergeSets(xpBlacklist.npcTypes, legacyNpcTypes);
         Set<String> xpBlacklistRoles = mergeSets(xpBlacklist.roles, legacyRoles);
 
-        RpgStatsConfig config = new RpgStatsConfig(configVersion, multiplier, maxLevel, abilityPointsPerLevel,
+        RpgStatsConfig config = new RpgStatsConfig(new ConfigSnapshot(configVersion, multiplier, maxLevel, abilityPointsPerLevel,
                 lightFootSpeedPerLevelPct, armorProficiencyResistancePerLevelPct,
                 healthRegenPerLevelPerSec, staminaRegenPerLevelPerSec, glancingBlowChancePerLevelPct,
                 damageBase, miningBase, miningPerPoint, healthPerPoint, manaPerPoint, staminaPerPoint,
@@ -1012,20 +822,77 @@ public final class RpgStatsConfig {
                 partyXpShareMode, partyXpShareRadiusBlocks,
                 partyKillerShareBySize, partyExtraMemberPct,
                 partyHudEnabled, partyHudOffsetX, partyHudOffsetY,
-                partyHudRefreshTicks);
+                partyHudRefreshTicks, xpCurve,
+                deterministicRollsEnabled, deterministicRollsSeed));
         return config;
     }
 
-    private static Map<String, String> readKeyValues(Path configPath, HytaleLogger logger) {
-        Map<String, String> values = new HashMap<>();
-        List<String> lines;
+    /**
+     * Reads and parses a data file. The previous result is reused while the file's content hash is
+     * unchanged, and the key/value table, lists and XP tables are taken from the {@link TomlCache}
+     * image when it was built from the same content. On a read error the parser gets an empty
+     * image, so every key uses its default.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T readParsed(Path path, HytaleLogger logger, Function<TomlCache.Image, T> parser) {
+        byte[] content;
         try {
-            lines = Files.readAllLines(configPath, StandardCharsets.UTF_8);
+            content = Files.readAllBytes(path);
         } catch (IOException ex) {
-            logger.at(Level.WARNING).log("[RPGStats] Failed to read config.toml: " + ex.getMessage());
-            return values;
+            logger.at(Level.WARNING).log("[RPGStats] Failed to read " + path.getFileName() + ": " + ex.getMessage());
+            return parser.apply(new TomlCache.Image(null, new HashMap<>()));
         }
+        byte[] hash = contentHash(content);
+        Path key = path.toAbsolutePath().normalize();
+        ParsedFile cached = PARSED_FILES.get(key);
+        if (cached != null && Arrays.equals(cached.hash, hash)) {
+            return (T) cached.value;
+        }
+
+        Path imagePath = TomlCache.resolve(path);
+        TomlCache.Image image = TomlCache.read(imagePath);
+        if (image == null || !Arrays.equals(image.hash, hash)) {
+            List<String> lines = new String(content, StandardCharsets.UTF_8).lines().toList();
+            image = new TomlCache.Image(hash, Collections.unmodifiableMap(parseKeyValues(lines)));
+        }
+        T value = parser.apply(image);
+        if (image.isChanged()) {
+            TomlCache.write(imagePath, image, logger);
+        }
+        PARSED_FILES.put(key, new ParsedFile(hash, value));
+        return value;
+    }
+
+    /**
+     * Forgets the parse results kept in memory, so the next load uses each file's cache image or
+     * parses it again. The benchmarks reach it through their bench hook.
+     */
+    static void clearParseCache() {
+        PARSED_FILES.clear();
+    }
+
+    /**
+     * SHA-256 of the file's current content, or null if it cannot be read.
+     */
+    static byte[] hashFile(Path path) {
+        try {
+            return contentHash(Files.readAllBytes(path));
+        } catch (IOException ex) {
+            return null;
+        }
+    }
 
+    private static byte[] contentHash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JVM is required to provide SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Map<String, String> parseKeyValues(List<String> lines) {
+        Map<String, String> values = new HashMap<>();
         for (int i = 0; i < lines.size(); i++) {
             String trimmed = stripComment(lines.get(i)).trim();
             if (trimmed.isEmpty()) {
@@ -1075,10 +942,11 @@ public final class RpgStatsConfig {
                 return new XpBlacklist(Collections.emptySet(), Collections.emptySet());
             }
         }
-        Map<String, String> values = readKeyValues(blacklistPath, logger);
-        Set<String> npcTypes = parseStringSet(values.get("npc_types"));
-        Set<String> roles = parseStringSet(values.get("roles"));
-        return new XpBlacklist(npcTypes, roles);
+        return readParsed(blacklistPath, logger, image -> {
+            Set<String> npcTypes = image.stringSet("npc_types", RpgStatsConfig::parseStringSet);
+            Set<String> roles = image.stringSet("roles", RpgStatsConfig::parseStringSet);
+            return new XpBlacklist(npcTypes, roles);
+        });
     }
 
     private static MiningXp readMiningXp(Path dataDirectory, HytaleLogger logger) {
@@ -1089,10 +957,11 @@ public final class RpgStatsConfig {
                 return new MiningXp(Collections.emptyMap());
             }
         }
-        Map<String, String> values = readKeyValues(miningXpPath, logger);
-        Set<String> blockEntries = parseStringSet(values.get("block_xp"));
-        Map<String, Integer> blockXp = parseMiningXpEntries(blockEntries, logger);
-        return new MiningXp(blockXp);
+        return readParsed(miningXpPath, logger, image -> {
+            Map<String, Integer> blockXp = image.entries("block_xp",
+                    raw -> parseMiningXpEntries(parseStringSet(raw), logger));
+            return new MiningXp(blockXp);
+        });
     }
 
     private static CraftingXp readCraftingXp(Path dataDirectory, HytaleLogger logger) {
@@ -1110,19 +979,21 @@ public final class RpgStatsConfig {
                         DEFAULT_CRAFTING_FORMULA_ENABLED);
             }
         }
-        Map<String, String> values = readKeyValues(craftingXpPath, logger);
-        Set<String> itemEntries = parseStringSet(values.get("item_xp"));
-        Map<String, Integer> itemXp = parseCraftingXpEntries(itemEntries, logger);
+        return readParsed(craftingXpPath, logger, image -> {
+            Map<String, Integer> itemXp = image.entries("item_xp",
+                    raw -> parseCraftingXpEntries(parseStringSet(raw), logger));
+            Map<String, String> values = image.values;
 
-        int baseXp = parseInt(values.get("base_xp"), DEFAULT_CRAFTING_BASE_XP, logger, "base_xp");
-        double ingredientXp = parseDouble(values.get("ingredient_xp_per_item"), DEFAULT_CRAFTING_INGREDIENT_XP, logger, "ingredient_xp_per_item");
-        double timeXpPerSec = parseDouble(values.get("time_xp_per_second"), DEFAULT_CRAFTING_TIME_XP_PER_SEC, logger, "time_xp_per_second");
-        double benchBase = parseDouble(values.get("bench_tier_multiplier_base"), DEFAULT_BENCH_TIER_MULTIPLIER_BASE, logger, "bench_tier_multiplier_base");
-        double benchPerLevel = parseDouble(values.get("bench_tier_multiplier_per_level"), DEFAULT_BENCH_TIER_MULTIPLIER_PER_LEVEL, logger, "bench_tier_multiplier_per_level");
-        int maxXp = parseInt(values.get("max_xp_per_craft"), DEFAULT_MAX_CRAFTING_XP, logger, "max_xp_per_craft");
-        boolean formulaEnabled = parseBoolean(values.get("formula_enabled"), DEFAULT_CRAFTING_FORMULA_ENABLED, logger, "formula_enabled");
+            int baseXp = parseInt(values.get("base_xp"), DEFAULT_CRAFTING_BASE_XP, logger, "base_xp");
+            double ingredientXp = parseDouble(values.get("ingredient_xp_per_item"), DEFAULT_CRAFTING_INGREDIENT_XP, logger, "ingredient_xp_per_item");
+            double timeXpPerSec = parseDouble(values.get("time_xp_per_second"), DEFAULT_CRAFTING_TIME_XP_PER_SEC, logger, "time_xp_per_second");
+            double benchBase = parseDouble(values.get("bench_tier_multiplier_base"), DEFAULT_BENCH_TIER_MULTIPLIER_BASE, logger, "bench_tier_multiplier_base");
+            double benchPerLevel = parseDouble(values.get("bench_tier_multiplier_per_level"), DEFAULT_BENCH_TIER_MULTIPLIER_PER_LEVEL, logger, "bench_tier_multiplier_per_level");
+            int maxXp = parseInt(values.get("max_xp_per_craft"), DEFAULT_MAX_CRAFTING_XP, logger, "max_xp_per_craft");
+            boolean formulaEnabled = parseBoolean(values.get("formula_enabled"), DEFAULT_CRAFTING_FORMULA_ENABLED, logger, "formula_enabled");
 
-        return new CraftingXp(itemXp, baseXp, ingredientXp, timeXpPerSec, benchBase, benchPerLevel, maxXp, formulaEnabled);
+            return new CraftingXp(itemXp, baseXp, ingredientXp, timeXpPerSec, benchBase, benchPerLevel, maxXp, formulaEnabled);
+        });
     }
 
     private static Map<String, Integer> parseCraftingXpEntries(Set<String> entries, HytaleLogger logger) {
@@ -1190,6 +1061,18 @@ public final class RpgStatsConfig {
         }
     }
 
+    private static long parseLong(String raw, long fallback, HytaleLogger logger, String key) {
+        if (raw == null || raw.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException ex) {
+            logger.at(Level.WARNING).log("[RPGStats] Invalid " + key + " value '" + raw + "'. Using default " + fallback);
+            return fallback;
+        }
+    }
+
     private static boolean parseBoolean(String raw, boolean fallback, HytaleLogger logger, String key) {
         if (raw == null || raw.isBlank()) {
             return fallback;
@@ -1204,6 +1087,114 @@ public final class RpgStatsConfig {
         return fallback;
     }
 
+    private static XpCurveDefinition parseXpCurve(Map<String, String> values, int maxLevel, HytaleLogger logger) {
+        XpCurveDefinition fallback = XpCurveDefinition.polynomial(DEFAULT_XP_CURVE_POLYNOMIAL);
+        String type = stripQuotes(values.get("xp_curve"));
+        if (type == null || type.isBlank()) {
+            type = DEFAULT_XP_CURVE_TYPE;
+        }
+        type = type.trim().toLowerCase(Locale.ROOT);
+
+        XpCurveDefinition curve;
+        switch (type) {
+            case XpCurveDefinition.TYPE_POLYNOMIAL: {
+                double[] coefficients = parseDoubleArray(values.get("xp_curve_polynomial"), logger, "xp_curve_polynomial");
+                curve = coefficients.length == 0 ? fallback : XpCurveDefinition.polynomial(coefficients);
+                break;
+            }
+            case XpCurveDefinition.TYPE_EXPONENTIAL: {
+                double base = parseDouble(values.get("xp_curve_exponential_base"), DEFAULT_XP_CURVE_EXPONENTIAL_BASE,
+                        logger, "xp_curve_exponential_base");
+                double growth = parseDouble(values.get("xp_curve_exponential_growth"), DEFAULT_XP_CURVE_EXPONENTIAL_GROWTH,
+                        logger, "xp_curve_exponential_growth");
+                if (base < 1.0 || growth < 1.0) {
+                    logger.at(Level.WARNING).log("[RPGStats] xp_curve_exponential_base and xp_curve_exponential_growth"
+                            + " must be >= 1. Using default XP curve.");
+                    return fallback;
+                }
+                curve = XpCurveDefinition.exponential(base, growth);
+                break;
+            }
+            case XpCurveDefinition.TYPE_PIECEWISE: {
+                List<XpCurveDefinition.Segment> segments = parseXpCurveSegments(values.get("xp_curve_piecewise"), logger);
+                if (segments.isEmpty()) {
+                    logger.at(Level.WARNING).log("[RPGStats] xp_curve_piecewise has no valid segments. Using default XP curve.");
+                    return fallback;
+                }
+                curve = XpCurveDefinition.piecewise(segments);
+                break;
+            }
+            case XpCurveDefinition.TYPE_LIST: {
+                double[] entries = parseDoubleArray(values.get("xp_curve_levels"), logger, "xp_curve_levels");
+                if (entries.length == 0) {
+                    logger.at(Level.WARNING).log("[RPGStats] xp_curve_levels is empty. Using default XP curve.");
+                    return fallback;
+                }
+                if (entries.length < maxLevel - 1) {
+                    logger.at(Level.INFO).log("[RPGStats] xp_curve_levels has " + entries.length + " entries for max_level "
+                            + maxLevel + ". Remaining levels repeat the last entry.");
+                }
+                long[] xpPerLevel = new long[entries.length];
+                for (int i = 0; i < entries.length; i++) {
+                    xpPerLevel[i] = Math.round(entries[i]);
+                }
+                curve = XpCurveDefinition.list(xpPerLevel);
+                break;
+            }
+            default:
+                logger.at(Level.WARNING).log("[RPGStats] xp_curve '" + type + "' is invalid. Supported: polynomial,"
+                        + " exponential, piecewise, list. Using default XP curve.");
+                return fallback;
+        }
+
+        int invalidLevel = curve.findInvalidLevel(maxLevel);
+        if (invalidLevel > 0) {
+            logger.at(Level.WARNING).log("[RPGStats] xp_curve " + curve + " gives no XP requirement for level "
+                    + invalidLevel + ". Every level must need at least 1 XP. Using default XP curve.");
+            return fallback;
+        }
+        return curve;
+    }
+
+    // Segments look like "1-10: 100 50 20" (levels 1 to 10, coefficients c0 c1 c2). They must start
+    // at level 1 and be contiguous; the last segment also covers every level after it.
+    private static List<XpCurveDefinition.Segment> parseXpCurveSegments(String raw, HytaleLogger logger) {
+        List<XpCurveDefinition.Segment> segments = new ArrayList<>();
+        int expectedFirst = 1;
+        for (String entry : parseStringSet(raw)) {
+            int colonIndex = entry.indexOf(':');
+            int dashIndex = entry.indexOf('-');
+            if (colonIndex <= 0 || dashIndex <= 0 || dashIndex > colonIndex) {
+                logger.at(Level.WARNING).log("[RPGStats] Invalid xp_curve_piecewise entry '" + entry
+                        + "'. Expected \"<from>-<to>: <c0> <c1> ...\".");
+                return Collections.emptyList();
+            }
+            int first;
+            int last;
+            double[] coefficients;
+            try {
+                first = Integer.parseInt(entry.substring(0, dashIndex).trim());
+                last = Integer.parseInt(entry.substring(dashIndex + 1, colonIndex).trim());
+                String[] parts = entry.substring(colonIndex + 1).trim().split("\\s+");
+                coefficients = new double[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    coefficients[i] = Double.parseDouble(parts[i]);
+                }
+            } catch (NumberFormatException ex) {
+                logger.at(Level.WARNING).log("[RPGStats] Invalid xp_curve_piecewise entry '" + entry + "'.");
+                return Collections.emptyList();
+            }
+            if (first != expectedFirst || last < first) {
+                logger.at(Level.WARNING).log("[RPGStats] xp_curve_piecewise entry '" + entry
+                        + "' must start at level " + expectedFirst + " and end at or after it.");
+                return Collections.emptyList();
+            }
+            segments.add(new XpCurveDefinition.Segment(first, last, coefficients));
+            expectedFirst = last + 1;
+        }
+        return segments;
+    }
+
     private static int parseCap(String raw, String key, HytaleLogger logger) {
         int cap = parseInt(raw, DEFAULT_STAT_CAP, logger, key);
         if (cap < 1) {
@@ -1305,6 +1296,37 @@ public final class RpgStatsConfig {
         return result;
     }
 
+    private static double[] parseDoubleArray(String raw, HytaleLogger logger, String key) {
+        if (raw == null) {
+            return new double[0];
+        }
+        String trimmed = raw.trim();
+        if (trimmed.isEmpty() || "[]".equals(trimmed)) {
+            return new double[0];
+        }
+        if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+            trimmed = trimmed.substring(1, trimmed.length() - 1);
+        }
+        String[] parts = trimmed.split(",");
+        List<Double> values = new ArrayList<>();
+        for (String part : parts) {
+            String entry = stripQuotes(part.trim());
+            if (entry.isEmpty()) {
+                continue;
+            }
+            try {
+                values.add(Double.parseDouble(entry));
+            } catch (NumberFormatException ex) {
+                logger.at(Level.WARNING).log("[RPGStats] Invalid " + key + " entry '" + entry + "'.");
+            }
+        }
+        double[] result = new double[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
     private static int[] clampPartyShares(int[] values, HytaleLogger logger, String key) {
         if (values == null || values.length == 0) {
             return new int[0];
@@ -1529,9 +1551,24 @@ public final class RpgStatsConfig {
                 + "# Example: 0.35 means XP = maxHealth * 0.35 (before boss multiplier and clamping, max xp gain is set to 1000).\n"
                 + "xp_multiplier = " + DEFAULT_XP_MULTIPLIER + "\n"
                 + "\n"
-                + "# Maximum player level (default " + DEFAULT_MAX_LEVEL + ").\n"
+                + "# Maximum player level (default " + DEFAULT_MAX_LEVEL + ", max " + MAX_MAX_LEVEL + ").\n"
                 + "max_level = " + DEFAULT_MAX_LEVEL + "\n"
                 + "\n"
+                + "# XP curve: how much XP each level needs (default \"" + DEFAULT_XP_CURVE_TYPE + "\").\n"
+                + "# Supported: polynomial, exponential, piecewise, list. n is the level minus 1.\n"
+                + "# Every level below max_level must need at least 1 XP, or the default curve is used.\n"
+                + "xp_curve = \"" + DEFAULT_XP_CURVE_TYPE + "\"\n"
+                + "# polynomial: c0 + c1*n + c2*n^2 + ... (default [100, 50, 20]).\n"
+                + "xp_curve_polynomial = [100, 50, 20]\n"
+                + "# exponential: base * growth^n.\n"
+                + "xp_curve_exponential_base = " + DEFAULT_XP_CURVE_EXPONENTIAL_BASE + "\n"
+                + "xp_curve_exponential_growth = " + DEFAULT_XP_CURVE_EXPONENTIAL_GROWTH + "\n"
+                + "# piecewise: \"<from>-<to>: c0 c1 c2 ...\" polynomial segments, n counted from each segment's\n"
+                + "# first level. Segments start at level 1 and must be contiguous; the last one continues past its end.\n"
+                + "xp_curve_piecewise = [\"1-10: 100 50 20\", \"11-25: 2500 300 30\"]\n"
+                + "# list: XP needed for level 1->2, 2->3, ... Missing levels repeat the last entry.\n"
+                + "xp_curve_levels = [100, 170, 280, 430, 620]\n"
+                + "\n"
                 + "# Ability points earned per level (default " + DEFAULT_ABILITY_POINTS_PER_LEVEL + ").\n"
                 + "# Valid range: " + MIN_ABILITY_POINTS_PER_LEVEL
                 + " to floor(2147483647 / max(1, max_level - 1)).\n"
@@ -1667,8 +1704,14 @@ public final class RpgStatsConfig {
                 + "# Party HUD position offsets in pixels (top-left anchor).\n"
                 + "party_hud_offset_x = " + DEFAULT_PARTY_HUD_OFFSET_X + "\n"
                 + "party_hud_offset_y = " + DEFAULT_PARTY_HUD_OFFSET_Y + "\n"
-                + "# Party HUD refresh interval in ticks (20 ticks = 1 second).\n"
+                + "# Minimum time between party HUD updates for one player, in ticks (20 ticks = 1 second).\n"
+                + "# Updates are only sent when a member's health, level, position or the party changes.\n"
                 + "party_hud_refresh_ticks = " + DEFAULT_PARTY_HUD_REFRESH_TICKS + "\n"
+                + "# Deterministic proc rolls (default " + DEFAULT_DETERMINISTIC_ROLLS_ENABLED + "). When enabled, critical strike,\n"
+                + "# glancing blow and lucky shot rolls are derived from the seed, the world and the event number,\n"
+                + "# and each roll is written to the combat trace log, so a disputed proc can be replayed.\n"
+                + "deterministic_rolls_enabled = " + DEFAULT_DETERMINISTIC_ROLLS_ENABLED + "\n"
+                + "deterministic_rolls_seed = " + DEFAULT_DETERMINISTIC_ROLLS_SEED + "\n"
                 + "\n"
                 + "# Stat caps (default " + DEFAULT_STAT_CAP + "). Values below 1 revert to default.\n"
                 + "str_cap = " + DEFAULT_STAT_CAP + "\n"
@@ -1697,6 +1740,9 @@ public final class RpgStatsConfig {
                 + "#\n"
                 + "# npc_types = [\"npc_deer\", \"npc_chicken\"]\n"
                 + "# roles = [\"villager\", \"sheep\"]\n"
+                + "#\n"
+                + "# Wildcards: \"kweebec_*\" matches by prefix; \"*_calf\" and \"frog_?\" are globs\n"
+                + "# ('*' matches any characters, '?' matches one).\n"
                 + "npc_types = [\"antelope\", \"archaeopteryx\", \"armadillo\", \"bat\", \"bat_ice\", \"bison\",\n"
                 + "    \"bison_calf\", \"bluebird\", \"bluegill\", \"boar\", \"boar_piglet\", \"bunny\", \"cactee\",\n"
                 + "    \"camel\", \"camel_calf\", \"catfish\", \"chicken\", \"chicken_chick\", \"chicken_desert\",\n"
@@ -1848,6 +1894,16 @@ public final class RpgStatsConfig {
         }
     }
 
+    private static final class ParsedFile {
+        private final byte[] hash;
+        private final Object value;
+
+        private ParsedFile(byte[] hash, Object value) {
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
     private static final class XpBlacklist {
         private final Set<String> npcTypes;
         private final Set<String> roles;
@@ -0,0 +1,228 @@
+package com.bsnacks.rpgstats.config;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Binary images of parsed TOML files, stored as {@code cache/<file>.bin} next to the source files.
+ *
+ * An image holds the file's key/value table plus the lists and "id=XP" tables parsed from it, and
+ * the SHA-256 of the source it came from. It is used only while the source still has that hash,
+ * so a start with unchanged files skips both the key/value and the entry parsing. Images are only
+ * an optimization: any unreadable or mismatched image is ignored and the source is parsed.
+ */
+final class TomlCache {
+
+    static final String DIRECTORY_NAME = "cache";
+
+    // "RPGC"; bump FORMAT_VERSION when the layout below changes.
+    private static final int MAGIC = 0x52504743;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private TomlCache() {
+    }
+
+    /**
+     * One parsed file. The list and table parsers run on first use and their results are kept, so
+     * an image read back from disk hands them out without parsing. Used by one load at a time.
+     */
+    static final class Image {
+        final byte[] hash;
+        final Map<String, String> values;
+        private final Map<String, Set<String>> stringSets;
+        private final Map<String, Map<String, Integer>> entryTables;
+        // True when the image holds results that are not on disk yet.
+        private boolean changed;
+
+        Image(byte[] hash, Map<String, String> values) {
+            this(hash, values, new HashMap<>(), new HashMap<>());
+            this.changed = true;
+        }
+
+        private Image(byte[] hash, Map<String, String> values, Map<String, Set<String>> stringSets,
+                      Map<String, Map<String, Integer>> entryTables) {
+            this.hash = hash;
+            this.values = values;
+            this.stringSets = stringSets;
+            this.entryTables = entryTables;
+        }
+
+        /**
+         * The list stored under the key, parsed from its raw value on first use.
+         */
+        Set<String> stringSet(String key, Function<String, Set<String>> parser) {
+            Set<String> set = stringSets.get(key);
+            if (set == null) {
+                set = parser.apply(values.get(key));
+                stringSets.put(key, set);
+                changed = true;
+            }
+            return set;
+        }
+
+        /**
+         * The "id=XP" table stored under the key, parsed from its raw value on first use.
+         */
+        Map<String, Integer> entries(String key, Function<String, Map<String, Integer>> parser) {
+            Map<String, Integer> table = entryTables.get(key);
+            if (table == null) {
+                table = parser.apply(values.get(key));
+                entryTables.put(key, table);
+                changed = true;
+            }
+            return table;
+        }
+
+        boolean isChanged() {
+            return changed;
+        }
+    }
+
+    static Path resolve(Path sourcePath) {
+        return sourcePath.resolveSibling(DIRECTORY_NAME).resolve(sourcePath.getFileName() + ".bin");
+    }
+
+    /**
+     * Reads the image at the given path, or returns null if it is missing, from another format
+     * version, or damaged.
+     */
+    static Image read(Path imagePath) {
+        if (!Files.isRegularFile(imagePath)) {
+            return null;
+        }
+        try {
+            // Read into memory rather than mapping, so write() can replace the file on every platform.
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(imagePath));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] hash = new byte[HASH_LENGTH];
+            buffer.get(hash);
+
+            int valueCount = readCount(buffer);
+            Map<String, String> values = new HashMap<>(Math.max(16, valueCount * 2));
+            for (int i = 0; i < valueCount; i++) {
+                values.put(readString(buffer), readString(buffer));
+            }
+
+            int setCount = readCount(buffer);
+            Map<String, Set<String>> stringSets = new HashMap<>();
+            for (int i = 0; i < setCount; i++) {
+                String key = readString(buffer);
+                int size = readCount(buffer);
+                Set<String> set = new LinkedHashSet<>(Math.max(16, size * 2));
+                for (int j = 0; j < size; j++) {
+                    set.add(readString(buffer));
+                }
+                stringSets.put(key, set.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(set));
+            }
+
+            int tableCount = readCount(buffer);
+            Map<String, Map<String, Integer>> entryTables = new HashMap<>();
+            for (int i = 0; i < tableCount; i++) {
+                String key = readString(buffer);
+                int size = readCount(buffer);
+                Map<String, Integer> table = new LinkedHashMap<>(Math.max(16, size * 2));
+                for (int j = 0; j < size; j++) {
+                    table.put(readString(buffer), buffer.getInt());
+                }
+                entryTables.put(key, table.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(table));
+            }
+            return new Image(hash, Collections.unmodifiableMap(values), stringSets, entryTables);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes an image, replacing any previous one. Failures are logged and otherwise ignored.
+     */
+    static void write(Path imagePath, Image image, HytaleLogger logger) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.write(image.hash, 0, HASH_LENGTH);
+
+            out.writeInt(image.values.size());
+            for (Map.Entry<String, String> entry : image.values.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+
+            out.writeInt(image.stringSets.size());
+            for (Map.Entry<String, Set<String>> entry : image.stringSets.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String value : entry.getValue()) {
+                    writeString(out, value);
+                }
+            }
+
+            out.writeInt(image.entryTables.size());
+            for (Map.Entry<String, Map<String, Integer>> entry : image.entryTables.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (Map.Entry<String, Integer> xp : entry.getValue().entrySet()) {
+                    writeString(out, xp.getKey());
+                    out.writeInt(xp.getValue());
+                }
+            }
+            out.flush();
+
+            Files.createDirectories(imagePath.getParent());
+            // Write beside the target and move it into place so a reader never sees a half-written image.
+            Path temp = imagePath.resolveSibling(imagePath.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, imagePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            image.changed = false;
+        } catch (IOException ex) {
+            logger.at(Level.WARNING).log("[RPGStats] Failed to write config cache " + imagePath.getFileName()
+                    + ": " + ex.getMessage());
+        }
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        // Every entry takes at least four bytes, so a larger count means a damaged image.
+        if (count < 0 || count > buffer.remaining() / 4) {
+            throw new IllegalArgumentException("Bad count " + count);
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Bad string length " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.bsnacks.rpgstats.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiled xp_blacklist.toml entries for one field (NPC types or roles).
+ *
+ * Entries are matched case-insensitively and may be:
+ * - exact: "deer_doe"
+ * - prefix: "kweebec_*"
+ * - glob: "*_calf", "frog_?", "trork_*_patrol" ('*' is any run of characters, '?' one character)
+ *
+ * The answer for each ID is memoized as the game passes it, so repeat deaths of the same NPC
+ * type cost one map hit. A new matcher is compiled on every config load.
+ */
+final class XpBlacklistMatcher {
+
+    private static final XpBlacklistMatcher EMPTY = new XpBlacklistMatcher(Set.of(), new String[0], new String[0]);
+
+    private final Set<String> exact;
+    private final String[] prefixes;
+    private final String[] globs;
+    private final ResolvedIdCache<Boolean> resolved = new ResolvedIdCache<>();
+
+    private XpBlacklistMatcher(Set<String> exact, String[] prefixes, String[] globs) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+        this.globs = globs;
+    }
+
+    /**
+     * Compiles lowercase entries as produced by the config parser.
+     */
+    static XpBlacklistMatcher compile(Set<String> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return EMPTY;
+        }
+        Set<String> exact = new HashSet<>();
+        List<String> prefixes = new ArrayList<>();
+        List<String> globs = new ArrayList<>();
+        for (String entry : entries) {
+            if (entry == null || entry.isEmpty()) {
+                continue;
+            }
+            int firstWildcard = indexOfWildcard(entry);
+            if (firstWildcard < 0) {
+                exact.add(entry);
+            } else if (firstWildcard == entry.length() - 1 && entry.charAt(firstWildcard) == '*') {
+                prefixes.add(entry.substring(0, firstWildcard));
+            } else {
+                globs.add(entry);
+            }
+        }
+        return new XpBlacklistMatcher(exact, prefixes.toArray(new String[0]), globs.toArray(new String[0]));
+    }
+
+    boolean isEmpty() {
+        return exact.isEmpty() && prefixes.length == 0 && globs.length == 0;
+    }
+
+    boolean matches(String id) {
+        if (id == null || isEmpty()) {
+            return false;
+        }
+        Boolean cached = resolved.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        boolean match = resolve(id.toLowerCase(Locale.ROOT));
+        resolved.put(id, match);
+        return match;
+    }
+
+    private boolean resolve(String key) {
+        if (exact.contains(key)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (String glob : globs) {
+            if (globMatches(glob, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOfWildcard(String entry) {
+        for (int i = 0; i < entry.length(); i++) {
+            char c = entry.charAt(i);
+            if (c == '*' || c == '?') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Iterative wildcard match; backtracks only to the most recent '*'.
+    private static boolean globMatches(String glob, String text) {
+        int g = 0;
+        int t = 0;
+        int star = -1;
+        int starText = 0;
+        while (t < text.length()) {
+            if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == text.charAt(t))) {
+                g++;
+                t++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                star = g++;
+                starText = t;
+            } else if (star >= 0) {
+                g = star + 1;
+                t = ++starText;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+}
@@ -0,0 +1,136 @@
+package com.bsnacks.rpgstats.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * A validated XP curve read from config.toml. Gives the XP needed to go from a level to the next;
+ * it is only evaluated when the curve is compiled into a lookup table on config reload, never
+ * per XP award.
+ *
+ * Supported types:
+ * - polynomial: c0 + c1*n + c2*n^2 + ... where n = level - 1
+ * - exponential: base * growth^n
+ * - piecewise: polynomial segments over level ranges, with n counted from each segment's first level
+ * - list: explicit per-level values; levels past the end repeat the last value
+ */
+public final class XpCurveDefinition implements IntToLongFunction {
+
+    public static final String TYPE_POLYNOMIAL = "polynomial";
+    public static final String TYPE_EXPONENTIAL = "exponential";
+    public static final String TYPE_PIECEWISE = "piecewise";
+    public static final String TYPE_LIST = "list";
+
+    private final String type;
+    private final IntToLongFunction formula;
+    private final String description;
+
+    private XpCurveDefinition(String type, IntToLongFunction formula, String description) {
+        this.type = type;
+        this.formula = formula;
+        this.description = description;
+    }
+
+    public static XpCurveDefinition polynomial(double[] coefficients) {
+        double[] copy = coefficients.clone();
+        return new XpCurveDefinition(TYPE_POLYNOMIAL, level -> evaluatePolynomial(copy, level - 1),
+                TYPE_POLYNOMIAL + Arrays.toString(copy));
+    }
+
+    public static XpCurveDefinition exponential(double base, double growth) {
+        return new XpCurveDefinition(TYPE_EXPONENTIAL, level -> toXp(base * Math.pow(growth, level - 1)),
+                TYPE_EXPONENTIAL + "[base=" + base + ", growth=" + growth + "]");
+    }
+
+    public static XpCurveDefinition piecewise(List<Segment> segments) {
+        Segment[] ordered = segments.toArray(new Segment[0]);
+        return new XpCurveDefinition(TYPE_PIECEWISE, level -> {
+            Segment match = ordered[ordered.length - 1];
+            for (Segment segment : ordered) {
+                if (level <= segment.lastLevel) {
+                    match = segment;
+                    break;
+                }
+            }
+            return evaluatePolynomial(match.coefficients, level - match.firstLevel);
+        }, TYPE_PIECEWISE + "[" + ordered.length + " segments]");
+    }
+
+    public static XpCurveDefinition list(long[] xpPerLevel) {
+        long[] copy = xpPerLevel.clone();
+        return new XpCurveDefinition(TYPE_LIST,
+                level -> copy[Math.min(Math.max(0, level - 1), copy.length - 1)],
+                TYPE_LIST + "[" + copy.length + " levels]");
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * XP required to advance from the given level (1-based) to the next.
+     */
+    @Override
+    public long applyAsLong(int level) {
+        return formula.applyAsLong(level);
+    }
+
+    /**
+     * Returns the first level below maxLevel whose requirement is not positive, or 0 if every level is valid.
+     */
+    int findInvalidLevel(int maxLevel) {
+        for (int level = 1; level < maxLevel; level++) {
+            if (applyAsLong(level) <= 0L) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static long evaluatePolynomial(double[] coefficients, int n) {
+        double value = 0.0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            value = value * n + coefficients[i];
+        }
+        return toXp(value);
+    }
+
+    private static long toXp(double value) {
+        if (Double.isNaN(value)) {
+            return 0L;
+        }
+        if (value >= Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(value);
+    }
+
+    /**
+     * A polynomial applied to levels firstLevel..lastLevel (inclusive).
+     */
+    public static final class Segment {
+        private final int firstLevel;
+        private final int lastLevel;
+        private final double[] coefficients;
+
+        public Segment(int firstLevel, int lastLevel, double[] coefficients) {
+            this.firstLevel = firstLevel;
+            this.lastLevel = lastLevel;
+            this.coefficients = coefficients.clone();
+        }
+
+        public int getFirstLevel() {
+            return firstLevel;
+        }
+
+        public int getLastLevel() {
+            return lastLevel;
+        }
+    }
+}
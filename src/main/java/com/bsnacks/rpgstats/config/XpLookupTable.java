@@ -0,0 +1,169 @@
+package com.bsnacks.rpgstats.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled form of an "id=XP" table such as mining_xp.toml or crafting_xp.toml.
+ *
+ * Exact IDs go in a hash map and wildcard entries ("ore_iron_*") in a prefix trie, so a lookup
+ * is one map probe plus a walk over the ID's characters instead of a scan of every entry. When
+ * several wildcards match, the longest prefix wins. Resolved values are cached per ID as the
+ * game passes it (mixed case), so repeated lookups for the same block or item skip lowercasing.
+ *
+ * Built once per config load and safe to share between world threads.
+ */
+public final class XpLookupTable {
+
+    /** Returned by {@link #lookup(String)} when no entry matches. */
+    public static final int NO_MATCH = Integer.MIN_VALUE;
+
+    private static final XpLookupTable EMPTY = new XpLookupTable(Map.of(), new TrieNode(), 0);
+
+    private final Map<String, Integer> exact;
+    private final TrieNode wildcards;
+    private final int wildcardCount;
+    private final ResolvedIdCache<Integer> resolved = new ResolvedIdCache<>();
+
+    private XpLookupTable(Map<String, Integer> exact, TrieNode wildcards, int wildcardCount) {
+        this.exact = exact;
+        this.wildcards = wildcards;
+        this.wildcardCount = wildcardCount;
+    }
+
+    /**
+     * Compiles a table from lowercase entries. Keys ending in "*" are prefix wildcards;
+     * a bare "*" is ignored, as it was by the linear lookup this replaces.
+     */
+    public static XpLookupTable compile(Map<String, Integer> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Integer> exact = new HashMap<>();
+        TrieBuilder root = new TrieBuilder();
+        int wildcardCount = 0;
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            Integer xp = entry.getValue();
+            if (key == null || xp == null) {
+                continue;
+            }
+            if (!key.endsWith("*")) {
+                exact.put(key, xp);
+                continue;
+            }
+            String prefix = key.substring(0, key.length() - 1);
+            if (prefix.isEmpty()) {
+                continue;
+            }
+            root.insert(prefix, xp);
+            wildcardCount++;
+        }
+        return new XpLookupTable(exact, root.build(), wildcardCount);
+    }
+
+    public static XpLookupTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * XP for the given ID (any case), or {@link #NO_MATCH}.
+     */
+    public int lookup(String id) {
+        if (id == null || (exact.isEmpty() && wildcardCount == 0)) {
+            return NO_MATCH;
+        }
+        Integer cached = resolved.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        int xp = resolve(id.toLowerCase(Locale.ROOT));
+        resolved.put(id, xp);
+        return xp;
+    }
+
+    public int getExactCount() {
+        return exact.size();
+    }
+
+    public int getWildcardCount() {
+        return wildcardCount;
+    }
+
+    private int resolve(String key) {
+        Integer xp = exact.get(key);
+        if (xp != null) {
+            return xp;
+        }
+        int match = NO_MATCH;
+        TrieNode node = wildcards;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.hasValue) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Read-only trie node with children in sorted arrays for a compact binary-searched walk.
+     */
+    private static final class TrieNode {
+        private final char[] keys;
+        private final TrieNode[] children;
+        private final boolean hasValue;
+        private final int value;
+
+        private TrieNode() {
+            this(new char[0], new TrieNode[0], false, 0);
+        }
+
+        private TrieNode(char[] keys, TrieNode[] children, boolean hasValue, int value) {
+            this.keys = keys;
+            this.children = children;
+            this.hasValue = hasValue;
+            this.value = value;
+        }
+
+        private TrieNode child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    private static final class TrieBuilder {
+        private final Map<Character, TrieBuilder> children = new HashMap<>();
+        private boolean hasValue;
+        private int value;
+
+        private void insert(String prefix, int xp) {
+            TrieBuilder node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new TrieBuilder());
+            }
+            // Duplicates were already resolved by the parser (last value wins).
+            node.hasValue = true;
+            node.value = xp;
+        }
+
+        private TrieNode build() {
+            List<Character> sorted = new ArrayList<>(children.keySet());
+            sorted.sort(null);
+            char[] keys = new char[sorted.size()];
+            TrieNode[] built = new TrieNode[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sorted.get(i);
+                built[i] = children.get(keys[i]).build();
+            }
+            return new TrieNode(keys, built, hasValue, value);
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.bsnacks.rpgstats.listeners;
 import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.systems.ConstitutionHealthEffect;
 import com.bsnacks.rpgstats.systems.IntellectManaEffect;
 import com.bsnacks.rpgstats.systems.EnduranceStaminaEffect;
+import com.bsnacks.rpgstats.systems.HudRefreshSystem;
 import com.bsnacks.rpgstats.systems.LightFootSpeedEffect;
 import com.bsnacks.rpgstats.ui.RpgStatsHud;
 import com.bsnacks.rpgstats.utils.HudHelper;
@@ -55,7 +57,7 @@ public final class PlayerListeners {
         plugin.logInfo((created ? "Created" : "Loaded") + " stats for player: "
                 + player.getDisplayName() + " | Level=" + stats.getLevel() + " XP=" + stats.getXp());
         initializeHud(player, stats);
-        plugin.scheduleHudRefresh(player, "player_ready");
+        plugin.scheduleHudRefresh(player, HudRefreshSystem.Reason.PLAYER_READY);
         if (partyService != null) {
             partyService.onPlayerReady(player.toHolder().getComponent(PlayerRef.getComponentType()));
         }
@@ -72,34 +74,23 @@ public final class PlayerListeners {
         }
         if (HudHelper.isHudHidden(playerRef)) {
             HudHelper.hideCustomHud(player, playerRef);
-            plugin.logDebug("RPG stats HUD hidden by player toggle: " + player.getDisplayName());
+            plugin.logDebug(LogCategory.HUD, () -> "RPG stats HUD hidden by player toggle: " + player.getDisplayName());
             return;
         }
         if (config != null && !config.isHudEnabled()) {
             HudHelper.hideCustomHud(player, playerRef);
-            plugin.logDebug("RPG stats HUD disabled by config for player: " + player.getDisplayName());
+            plugin.logDebug(LogCategory.HUD, () -> "RPG stats HUD disabled by config for player: " + player.getDisplayName());
             return;
         }
         var existingHud = HudHelper.getCustomHud(player, playerRef);
         if (!(existingHud instanceof RpgStatsHud)) {
             if (existingHud != null && !HudHelper.isMultipleHudAvailable()) {
-                plugin.logDebug("Replacing custom HUD for player: " + player.getDisplayName());
+                plugin.logDebug(LogCategory.HUD, () -> "Replacing custom HUD for player: " + player.getDisplayName());
             }
             HudHelper.setCustomHud(player, playerRef, new RpgStatsHud(playerRef, rpgStatsType, config, partyService));
-            plugin.logDebug("RPG stats HUD enabled for player: " + player.getDisplayName());
+            plugin.logDebug(LogCategory.HUD, () -> "RPG stats HUD enabled for player: " + player.getDisplayName());
         }
-        if (stats != null) {
-            RpgStatsHud.refreshIfActive(player, stats);
-        }
-        Ref<EntityStore> ref = playerRef.getReference();
-        if (ref == null || !ref.isValid()) {
-            return;
-        }
-        Store<EntityStore> store = ref.getStore();
-        if (store == null) {
-            return;
-        }
-        RpgStatsHud.refreshIfActive(player, ref, store);
+        // Its contents are filled in by the PLAYER_READY refresh queued by onPlayerReady.
     }
 
     private void applyAbilityEffects(Player player, RpgStats stats) {
@@ -0,0 +1,45 @@
+package com.bsnacks.rpgstats.logging;
+
+import java.util.Locale;
+
+/**
+ * Subsystems that write to the diagnostics log. Each category has its own level so one area
+ * can be traced without turning on debug output everywhere.
+ */
+public enum LogCategory {
+    COMBAT,
+    XP,
+    HUD,
+    PARTY,
+    CONFIG,
+    COMMAND,
+    EFFECT;
+
+    private final String id = name().toLowerCase(Locale.ROOT);
+    private final String tag = "[" + name() + "] ";
+
+    public String getId() {
+        return id;
+    }
+
+    String getTag() {
+        return tag;
+    }
+
+    /**
+     * Resolves a category from its id, case-insensitively.
+     * @return the category, or null if unknown
+     */
+    public static LogCategory fromId(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String id = raw.trim().toLowerCase(Locale.ROOT);
+        for (LogCategory category : values()) {
+            if (category.id.equals(id)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
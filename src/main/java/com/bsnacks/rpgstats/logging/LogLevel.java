@@ -0,0 +1,36 @@
+package com.bsnacks.rpgstats.logging;
+
+import java.util.Locale;
+
+/**
+ * Verbosity levels for {@link LogCategory}, ordered from quietest to noisiest.
+ */
+public enum LogLevel {
+    OFF,
+    INFO,
+    DEBUG,
+    TRACE;
+
+    private final String id = name().toLowerCase(Locale.ROOT);
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Resolves a level from its id, case-insensitively.
+     * @return the level, or null if unknown
+     */
+    public static LogLevel fromId(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String id = raw.trim().toLowerCase(Locale.ROOT);
+        for (LogLevel level : values()) {
+            if (level.id.equals(id)) {
+                return level;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bsnacks.rpgstats.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a slot with a CAS on the
+ * tail counter and publish through a per-slot sequence number, so offering never blocks the
+ * calling thread. When the buffer is full the entry is rejected and the caller decides what to do.
+ */
+final class LogRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    LogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Attempts to enqueue an entry. Safe to call from any thread.
+     *
+     * @return the sequence number the entry was stored at, or -1 if the buffer is full
+     */
+    long offer(T entry) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            long diff = sequence - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries.lazySet(index, entry);
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+            } else if (diff < 0) {
+                return -1L;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Removes the next published entry. Must only be called from the single consumer thread.
+     *
+     * @return the entry, or null if nothing is ready
+     */
+    T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T entry = entries.get(index);
+        entries.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return entry;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
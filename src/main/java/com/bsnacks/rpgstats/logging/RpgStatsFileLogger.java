@@ -3,24 +3,55 @@ package com.bsnacks.rpgstats.logging;
 import com.hypixel.hytale.logger.HytaleLogger;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.stream.Stream;
 
+/**
+ * Diagnostics log writer. Callers only enqueue lines into a bounded ring buffer; a background
+ * thread drains it in batches and appends them to a single open {@link FileChannel}, so the
+ * world thread never touches the disk. Lines are dropped (and counted) if the buffer fills.
+ *
+ * <p>Categorized output is filtered per {@link LogCategory}. Check {@link #isEnabled(LogCategory)}
+ * or use the supplier/parameterized overloads so disabled lines never build their message.
+ */
 public final class RpgStatsFileLogger {
 
     private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
     private static final DateTimeFormatter LINE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String VERSION_FILE_NAME = "last_version.txt";
+    private static final int BUFFER_CAPACITY = 8192;
+    // Wake the writer early every quarter buffer so bursts are drained before they overflow.
+    private static final long WAKE_MASK = BUFFER_CAPACITY / 4 - 1;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250L);
+    private static final long CLOSE_TIMEOUT_MS = 2000L;
 
     private final Path logFile;
     private final HytaleLogger logger;
-    private final Object lock = new Object();
+    private final LogRingBuffer<LogLine> buffer = new LogRingBuffer<>(BUFFER_CAPACITY);
+    private final AtomicLong droppedLines = new AtomicLong();
+    private final StringBuilder batch = new StringBuilder(4096);
+    private final Thread writerThread;
+    private FileChannel channel;
+    private long lastStampSecond = Long.MIN_VALUE;
+    private String lastStamp = "";
+    private boolean writeFailed;
+    private volatile boolean running = true;
+    private volatile LogLevel[] levels = defaultLevels();
 
     public RpgStatsFileLogger(Path dataDirectory, HytaleLogger logger, String currentVersion) {
         this.logger = logger;
@@ -36,6 +67,16 @@ public final class RpgStatsFileLogger {
 
         String stamp = FILE_FORMAT.format(LocalDateTime.now());
         logFile = logDir.resolve("log-" + stamp + ".txt");
+        try {
+            channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            logger.at(Level.WARNING).log("[RPGStats] Failed to open log file " + logFile + ": " + ex.getMessage());
+        }
+
+        writerThread = new Thread(this::runWriter, "RPGStats-LogWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
         log("Log started. Version: " + currentVersion);
     }
 
@@ -91,18 +132,197 @@ public final class RpgStatsFileLogger {
     }
 
     public void log(String message) {
-        String line = LINE_FORMAT.format(LocalDateTime.now()) + " " + message + System.lineSeparator();
-        synchronized (lock) {
+        if (!running) {
+            return;
+        }
+        long sequence = buffer.offer(new LogLine(System.currentTimeMillis(), message));
+        if (sequence < 0L) {
+            droppedLines.incrementAndGet();
+            LockSupport.unpark(writerThread);
+        } else if ((sequence & WAKE_MASK) == WAKE_MASK) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    public boolean isEnabled(LogCategory category) {
+        return isEnabled(category, LogLevel.DEBUG);
+    }
+
+    public boolean isEnabled(LogCategory category, LogLevel level) {
+        return level != LogLevel.OFF && levels[category.ordinal()].ordinal() >= level.ordinal();
+    }
+
+    public LogLevel getLevel(LogCategory category) {
+        return levels[category.ordinal()];
+    }
+
+    public void setLevel(LogCategory category, LogLevel level) {
+        synchronized (this) {
+            LogLevel[] updated = levels.clone();
+            updated[category.ordinal()] = level == null ? LogLevel.INFO : level;
+            levels = updated;
+        }
+    }
+
+    public void log(LogCategory category, LogLevel level, String message) {
+        if (isEnabled(category, level)) {
+            log(category.getTag() + message);
+        }
+    }
+
+    public void log(LogCategory category, LogLevel level, Supplier<String> message) {
+        if (isEnabled(category, level)) {
+            log(category.getTag() + message.get());
+        }
+    }
+
+    public void info(LogCategory category, String message) {
+        log(category, LogLevel.INFO, message);
+    }
+
+    public void debug(LogCategory category, String message) {
+        log(category, LogLevel.DEBUG, message);
+    }
+
+    public void debug(LogCategory category, Supplier<String> message) {
+        log(category, LogLevel.DEBUG, message);
+    }
+
+    /**
+     * Logs a debug line built from a template where each {@code {}} is replaced by the next
+     * argument. Nothing is formatted when the category is below debug.
+     */
+    public void debug(LogCategory category, String template, Object arg) {
+        if (isEnabled(category, LogLevel.DEBUG)) {
+            log(category.getTag() + formatTemplate(template, arg));
+        }
+    }
+
+    public void debug(LogCategory category, String template, Object arg1, Object arg2) {
+        if (isEnabled(category, LogLevel.DEBUG)) {
+            log(category.getTag() + formatTemplate(template, arg1, arg2));
+        }
+    }
+
+    public void debug(LogCategory category, String template, Object... args) {
+        if (isEnabled(category, LogLevel.DEBUG)) {
+            log(category.getTag() + formatTemplate(template, args));
+        }
+    }
+
+    public void trace(LogCategory category, Supplier<String> message) {
+        log(category, LogLevel.TRACE, message);
+    }
+
+    static String formatTemplate(String template, Object... args) {
+        if (template == null) {
+            return "null";
+        }
+        StringBuilder out = new StringBuilder(template.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int marker;
+        while (argIndex < args.length && (marker = template.indexOf("{}", start)) >= 0) {
+            out.append(template, start, marker).append(args[argIndex++]);
+            start = marker + 2;
+        }
+        out.append(template, start, template.length());
+        return out.toString();
+    }
+
+    private static LogLevel[] defaultLevels() {
+        LogLevel[] defaults = new LogLevel[LogCategory.values().length];
+        Arrays.fill(defaults, LogLevel.INFO);
+        return defaults;
+    }
+
+    /**
+     * Stops the writer thread after it has drained everything queued so far, then forces and
+     * closes the file. Lines logged after this call are discarded.
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            logger.at(Level.WARNING).log("[RPGStats] Log writer did not finish within " + CLOSE_TIMEOUT_MS + "ms");
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            drain();
+            LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+        }
+        drain();
+        if (channel != null) {
             try {
-                Files.writeString(logFile, line, StandardCharsets.UTF_8,
-                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                channel.force(false);
+                channel.close();
             } catch (IOException ex) {
-                logger.at(Level.WARNING).log("[RPGStats] Failed to write log line: " + ex.getMessage());
+                logger.at(Level.WARNING).log("[RPGStats] Failed to close log file: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        LogLine line;
+        while ((line = buffer.poll()) != null) {
+            appendLine(line.timestamp(), line.message());
+            if (batch.length() >= 64 * 1024) {
+                writeBatch();
+            }
+        }
+        long dropped = droppedLines.getAndSet(0L);
+        if (dropped > 0L) {
+            appendLine(System.currentTimeMillis(), "Log buffer full; dropped " + dropped + " line(s)");
+        }
+        writeBatch();
+    }
+
+    private void appendLine(long timestamp, String message) {
+        long second = timestamp / 1000L;
+        if (second != lastStampSecond) {
+            lastStampSecond = second;
+            lastStamp = LINE_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+        }
+        batch.append(lastStamp).append(' ').append(message).append(System.lineSeparator());
+    }
+
+    private void writeBatch() {
+        if (batch.length() == 0) {
+            return;
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(batch.toString());
+        batch.setLength(0);
+        if (channel == null) {
+            return;
+        }
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
             }
+            writeFailed = false;
+        } catch (IOException ex) {
+            // Only report the first failure in a row so a full disk doesn't flood the console.
+            if (!writeFailed) {
+                logger.at(Level.WARNING).log("[RPGStats] Failed to write log lines: " + ex.getMessage());
+            }
+            writeFailed = true;
         }
     }
 
     public Path getLogFile() {
         return logFile;
     }
+
+    private record LogLine(long timestamp, String message) {
+    }
 }
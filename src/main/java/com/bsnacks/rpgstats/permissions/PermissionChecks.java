@@ -11,9 +11,15 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class PermissionChecks {
 
+    // How long resolved permissions are trusted before asking the permission providers again.
+    private static final long CACHE_TTL_NANOS = 30_000_000_000L;
+
+    private static final ConcurrentHashMap<UUID, CachedPermissions> CACHE = new ConcurrentHashMap<>();
+
     private PermissionChecks() {
     }
 
@@ -35,24 +41,76 @@ public final class PermissionChecks {
         return false;
     }
 
+    /**
+     * sender.hasPermission(node), remembered per player for {@link #CACHE_TTL_NANOS} so UI refreshes and
+     * repeated command checks do not re-resolve the same node.
+     */
+    public static boolean hasPermission(CommandSender sender, String node) {
+        if (sender == null || node == null) {
+            return false;
+        }
+        UUID uuid = sender.getUuid();
+        if (uuid == null) {
+            return sender.hasPermission(node);
+        }
+        return cacheFor(uuid).senderChecks.computeIfAbsent(node, sender::hasPermission);
+    }
+
+    /**
+     * Drops every cached permission, e.g. on /stats reload after a permissions file was edited.
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    public static void invalidate(UUID uuid) {
+        if (uuid != null) {
+            CACHE.remove(uuid);
+        }
+    }
+
+    private static CachedPermissions cacheFor(UUID uuid) {
+        long now = System.nanoTime();
+        CachedPermissions cached = CACHE.get(uuid);
+        if (cached != null && now - cached.expiresAtNanos < 0L) {
+            return cached;
+        }
+        CachedPermissions fresh = new CachedPermissions(now + CACHE_TTL_NANOS);
+        CACHE.put(uuid, fresh);
+        return fresh;
+    }
+
     private static boolean isOp(CommandSender sender) {
-        return sender.hasPermission("*");
+        return hasPermission(sender, "*");
     }
 
     private static boolean hasExplicitPermission(CommandSender sender, String node) {
         if (node == null || node.isBlank()) {
             return false;
         }
+        UUID uuid = sender.getUuid();
+        if (uuid == null) {
+            return resolveExplicitPermissions(null).matches(node);
+        }
+        CachedPermissions cached = cacheFor(uuid);
+        ResolvedPermissions resolved = cached.explicit;
+        if (resolved == null) {
+            resolved = resolveExplicitPermissions(uuid);
+            cached.explicit = resolved;
+        }
+        return resolved.matches(node);
+    }
+
+    private static ResolvedPermissions resolveExplicitPermissions(UUID uuid) {
         PermissionsModule permissions = PermissionsModule.get();
         if (permissions == null) {
-            return false;
+            return ResolvedPermissions.EMPTY;
         }
         List<PermissionProvider> providers = permissions.getProviders();
         if (providers == null || providers.isEmpty()) {
-            return false;
+            return ResolvedPermissions.EMPTY;
         }
         Set<String> combined = new HashSet<>();
-        UUID uuid = sender.getUuid();
         for (PermissionProvider provider : providers) {
             if (provider == null) {
                 continue;
@@ -66,7 +124,7 @@ public final class PermissionChecks {
                 safeAddAll(combined, provider.getGroupPermissions(group));
             }
         }
-        return evaluatePermissions(combined, node);
+        return ResolvedPermissions.compile(combined);
     }
 
     private static void safeAddAll(Set<String> target, Set<String> source) {
@@ -83,52 +141,91 @@ public final class PermissionChecks {
         }
     }
 
-    private static boolean evaluatePermissions(Set<String> perms, String node) {
-        if (perms == null || perms.isEmpty()) {
-            return false;
-        }
-        String normalizedNode = node.toLowerCase(Locale.ROOT);
-        Set<String> normalizedPerms = new HashSet<>();
-        for (String perm : perms) {
-            if (perm == null) {
-                continue;
-            }
-            String normalized = perm.trim().toLowerCase(Locale.ROOT);
-            if (!normalized.isEmpty()) {
-                normalizedPerms.add(normalized);
-            }
-        }
+    private static final class CachedPermissions {
+        private final long expiresAtNanos;
+        private final ConcurrentHashMap<String, Boolean> senderChecks = new ConcurrentHashMap<>();
+        // Provider-level grants, resolved on the first privileged check.
+        private volatile ResolvedPermissions explicit;
 
-        if (normalizedPerms.contains("-*")) {
-            return false;
+        private CachedPermissions(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
         }
-        if (normalizedPerms.contains("*")) {
-            return true;
+    }
+
+    /**
+     * One player's combined user and group permissions, split into grants and denies ("-node"),
+     * with each node's answer memoized.
+     */
+    private static final class ResolvedPermissions {
+        private static final ResolvedPermissions EMPTY = new ResolvedPermissions(Set.of(), Set.of());
+
+        private final Set<String> granted;
+        private final Set<String> denied;
+        private final ConcurrentHashMap<String, Boolean> resolved = new ConcurrentHashMap<>();
+
+        private ResolvedPermissions(Set<String> granted, Set<String> denied) {
+            this.granted = granted;
+            this.denied = denied;
         }
 
-        if (normalizedPerms.contains("-" + normalizedNode) || normalizedPerms.contains("-" + normalizedNode + ".*")) {
-            return false;
+        private static ResolvedPermissions compile(Set<String> perms) {
+            Set<String> granted = new HashSet<>();
+            Set<String> denied = new HashSet<>();
+            for (String perm : perms) {
+                String normalized = perm.trim().toLowerCase(Locale.ROOT);
+                if (normalized.startsWith("-")) {
+                    if (normalized.length() > 1) {
+                        denied.add(normalized.substring(1));
+                    }
+                } else if (!normalized.isEmpty()) {
+                    granted.add(normalized);
+                }
+            }
+            if (granted.isEmpty() && denied.isEmpty()) {
+                return EMPTY;
+            }
+            return new ResolvedPermissions(granted, denied);
         }
-        if (normalizedPerms.contains(normalizedNode) || normalizedPerms.contains(normalizedNode + ".*")) {
-            return true;
+
+        private boolean matches(String node) {
+            if (granted.isEmpty()) {
+                return false;
+            }
+            return resolved.computeIfAbsent(node.toLowerCase(Locale.ROOT), this::evaluate);
         }
 
-        String[] parts = normalizedNode.split("\\.");
-        StringBuilder prefix = new StringBuilder();
-        for (int i = 0; i < parts.length - 1; i++) {
-            if (i > 0) {
-                prefix.append('.');
+        private boolean evaluate(String normalizedNode) {
+            if (denied.contains("*")) {
+                return false;
+            }
+            if (granted.contains("*")) {
+                return true;
             }
-            prefix.append(parts[i]);
-            String wildcard = prefix + ".*";
-            if (normalizedPerms.contains("-" + wildcard)) {
+
+            if (denied.contains(normalizedNode) || denied.contains(normalizedNode + ".*")) {
                 return false;
             }
-            if (normalizedPerms.contains(wildcard)) {
+            if (granted.contains(normalizedNode) || granted.contains(normalizedNode + ".*")) {
                 return true;
             }
-        }
 
-        return false;
+            String[] parts = normalizedNode.split("\\.");
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < parts.length - 1; i++) {
+                if (i > 0) {
+                    prefix.append('.');
+                }
+                prefix.append(parts[i]);
+                String wildcard = prefix + ".*";
+                if (denied.contains(wildcard)) {
+                    return false;
+                }
+                if (granted.contains(wildcard)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
     }
 }
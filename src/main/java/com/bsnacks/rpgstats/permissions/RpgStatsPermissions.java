@@ -12,6 +12,7 @@ public final class RpgStatsPermissions {
     public static final String STATS_RESET = ROOT + ".reset";
     public static final String STATS_RESET_OTHERS = ROOT + ".reset.others";
     public static final String STATS_HUD = ROOT + ".hud";
+    public static final String STATS_DEBUG = ROOT + ".debug";
 
     private RpgStatsPermissions() {
     }
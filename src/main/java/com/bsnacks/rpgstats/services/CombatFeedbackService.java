@@ -0,0 +1,123 @@
+package com.bsnacks.rpgstats.services;
+
+import com.bsnacks.rpgstats.components.RpgStats;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces combat proc chat messages (critical strikes, glancing blows).
+ *
+ * Combat stages record procs as they happen; CombatFeedbackSystem flushes each player's pending
+ * procs on a short interval as one message per kind, e.g. "3 critical strikes! (1.5x)". Players
+ * who turned combat messages off (/stats feedback off) are skipped at record time.
+ *
+ * Pending procs are keyed by player UUID, so players in different worlds never contend on a
+ * shared lock. Entries for players who disconnect before the next flush are dropped.
+ */
+public final class CombatFeedbackService {
+
+    public enum Kind {
+        CRITICAL_STRIKE("Critical strike!", "critical strikes!"),
+        GLANCING_BLOW("Glancing blow!", "glancing blows!");
+
+        // Bursts longer than this within one flush are rare; their text is built on demand.
+        private static final int MAX_CACHED_COUNT = 16;
+
+        private final String single;
+        private final String pluralSuffix;
+        // Full message text by count and multiplier, see textKey().
+        private final ConcurrentHashMap<Long, String> texts = new ConcurrentHashMap<>();
+
+        Kind(String single, String pluralSuffix) {
+            this.single = single;
+            this.pluralSuffix = pluralSuffix;
+        }
+
+        private String text(int count, float multiplier) {
+            if (count > MAX_CACHED_COUNT) {
+                return buildText(count, multiplier);
+            }
+            long key = ((long) count << 32) | (Float.floatToIntBits(multiplier) & 0xFFFFFFFFL);
+            return texts.computeIfAbsent(key, ignored -> buildText(count, multiplier));
+        }
+
+        private String buildText(int count, float multiplier) {
+            String text = count == 1 ? single : count + " " + pluralSuffix;
+            if (multiplier > 0f) {
+                text = text + " (" + String.format(Locale.ROOT, "%.1fx", multiplier) + ")";
+            }
+            return text;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final ConcurrentHashMap<UUID, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records a proc for the player. The multiplier is shown in the message when greater than zero.
+     */
+    public void record(UUID playerId, RpgStats stats, Kind kind, float multiplier) {
+        if (playerId == null || kind == null) {
+            return;
+        }
+        if (stats != null && !stats.isCombatMessagesEnabled()) {
+            return;
+        }
+        pending.compute(playerId, (ignored, entry) -> {
+            Pending updated = entry == null ? new Pending() : entry;
+            updated.counts[kind.ordinal()]++;
+            updated.multipliers[kind.ordinal()] = multiplier;
+            return updated;
+        });
+    }
+
+    /**
+     * Sends the player's pending procs, if any, one message per kind.
+     */
+    public void flush(UUID playerId, Player player) {
+        if (playerId == null || player == null || pending.isEmpty()) {
+            return;
+        }
+        Pending entry = pending.remove(playerId);
+        if (entry == null) {
+            return;
+        }
+        for (Kind kind : KINDS) {
+            int count = entry.counts[kind.ordinal()];
+            if (count > 0) {
+                player.sendMessage(Message.raw(kind.text(count, entry.multipliers[kind.ordinal()])));
+            }
+        }
+    }
+
+    /**
+     * Drops any pending procs for a player who left.
+     */
+    public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event == null ? null : event.getPlayerRef();
+        UUID uuid = playerRef == null ? null : playerRef.getUuid();
+        if (uuid != null) {
+            pending.remove(uuid);
+        }
+    }
+
+    /**
+     * Drops every pending proc, e.g. on shutdown.
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    private static final class Pending {
+        private final int[] counts = new int[KINDS.length];
+        private final float[] multipliers = new float[KINDS.length];
+    }
+}
@@ -0,0 +1,189 @@
+package com.bsnacks.rpgstats.services;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Random rolls for ability procs (Critical Strike, Glancing Blow, Lucky Shot).
+ *
+ * By default each thread rolls on its own {@link SplittableRandom}, so worlds ticking on
+ * different threads never contend on a shared seed.
+ *
+ * In deterministic mode (config {@code deterministic_rolls_enabled}) each event that rolls is
+ * numbered per world by {@link #beginEvent}, and its rolls are derived from the root seed, the
+ * world, the event number and the roll's index within the event. Worlds never share a counter, so
+ * the rolls in one world do not depend on how its ticks interleave with other worlds, and a
+ * disputed proc can be replayed with {@link #replayPercent(long, String, long, int)}. An optional
+ * {@link RollRecorder} sees each roll together with its event.
+ *
+ * Rolls made without an active event always use the per-thread generator.
+ */
+public final class RpgRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private static final SplittableRandom ROOT = new SplittableRandom();
+    private static final ThreadLocal<SplittableRandom> LOCAL = ThreadLocal.withInitial(RpgRandom::splitRoot);
+
+    private static volatile Deterministic deterministic;
+
+    private RpgRandom() {
+    }
+
+    /**
+     * Receives every roll made in deterministic mode, on the rolling thread.
+     */
+    @FunctionalInterface
+    public interface RollRecorder {
+        void onRoll(RollEvent event, int index, double percent);
+    }
+
+    /**
+     * The event a group of rolls belongs to, e.g. one damage event. Owned by one thread and reused
+     * between events; {@link #beginEvent} fills it in and {@link #end()} clears it.
+     */
+    public static final class RollEvent {
+        private Deterministic state;
+        private String world;
+        private long sequence;
+        private UUID attacker;
+        private UUID defender;
+        private String damageId;
+        private int rolls;
+
+        public String getWorld() {
+            return world;
+        }
+
+        /**
+         * The event's number within its world, starting at 0 when deterministic mode is enabled.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        public UUID getAttacker() {
+            return attacker;
+        }
+
+        public UUID getDefender() {
+            return defender;
+        }
+
+        /**
+         * What caused the event, e.g. the damage cause, or an ability id for non-damage rolls.
+         */
+        public String getDamageId() {
+            return damageId;
+        }
+
+        public boolean isActive() {
+            return state != null;
+        }
+
+        /**
+         * Drops the event's references; later rolls on it use the per-thread generator.
+         */
+        public void end() {
+            state = null;
+            world = null;
+            attacker = null;
+            defender = null;
+            damageId = null;
+        }
+    }
+
+    /**
+     * Starts a new event in the given world when deterministic mode is on, otherwise ends it.
+     * Callers that have to look up the arguments can check {@link #isDeterministic()} first.
+     */
+    public static void beginEvent(RollEvent event, String world, UUID attacker, UUID defender, String damageId) {
+        Deterministic state = deterministic;
+        if (state == null) {
+            event.end();
+            return;
+        }
+        String key = world == null ? "" : world;
+        event.state = state;
+        event.world = key;
+        event.sequence = state.sequences.computeIfAbsent(key, ignored -> new AtomicLong()).getAndIncrement();
+        event.attacker = attacker;
+        event.defender = defender;
+        event.damageId = damageId;
+        event.rolls = 0;
+    }
+
+    /**
+     * A roll in [0, 100), compared against percentage chances.
+     * @param event the event this roll belongs to, or null
+     */
+    public static double rollPercent(RollEvent event) {
+        Deterministic state = event == null ? null : event.state;
+        if (state == null) {
+            return LOCAL.get().nextDouble() * 100.0;
+        }
+        int index = event.rolls++;
+        double percent = replayPercent(state.seed, event.world, event.sequence, index);
+        if (state.recorder != null) {
+            state.recorder.onRoll(event, index, percent);
+        }
+        return percent;
+    }
+
+    /**
+     * The roll made for the given world, event number and roll index under a deterministic seed.
+     */
+    public static double replayPercent(long seed, String world, long sequence, int index) {
+        long worldKey = mix64(seed + (world == null ? 0 : world.hashCode()) * GOLDEN_GAMMA);
+        long eventKey = mix64(worldKey + sequence * GOLDEN_GAMMA);
+        return (mix64(eventKey + (index + 1L) * GOLDEN_GAMMA) >>> 11) * DOUBLE_UNIT * 100.0;
+    }
+
+    /**
+     * Switches to deterministic rolls, with every world's event numbers starting at 0.
+     * @param recorder notified of each roll, or null
+     */
+    public static synchronized void enableDeterministic(long seed, RollRecorder recorder) {
+        deterministic = new Deterministic(seed, recorder);
+    }
+
+    /**
+     * Returns to per-thread random rolls.
+     */
+    public static synchronized void disableDeterministic() {
+        deterministic = null;
+    }
+
+    public static boolean isDeterministic() {
+        return deterministic != null;
+    }
+
+    private static SplittableRandom splitRoot() {
+        // SplittableRandom is not thread-safe; each new thread splits off the shared root once.
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    // Same finalizer as SplittableRandom (Stafford variant 13).
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Deterministic {
+        private final long seed;
+        private final RollRecorder recorder;
+        // Next event number per world name.
+        private final ConcurrentHashMap<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+        private Deterministic(long seed, RollRecorder recorder) {
+            this.seed = seed;
+            this.recorder = recorder;
+        }
+    }
+}
@@ -91,18 +91,28 @@ public final class AbilityRegenSystem extends DelayedEntitySystem<EntityStore> {
         if (stat == null) {
             return;
         }
-        float current = stat.get();
-        if (requirePositive && current <= 0f) {
-            return;
-        }
-        float max = stat.getMax();
-        if (current >= max) {
-            return;
-        }
-        float bonus = (float) (perLevelPerSec * level * deltaSeconds);
+        float bonus = regenAmount(stat.get(), stat.getMax(), level, perLevelPerSec, deltaSeconds, requirePositive);
         if (bonus <= 0f) {
             return;
         }
         statMap.addStatValue(statId, bonus);
     }
+
+    /**
+     * The amount a stat regenerates over deltaSeconds, or 0 if it is already full (or, with
+     * requirePositive, empty). The stat may overshoot max; the stat map clamps it.
+     */
+    public static float regenAmount(float current, float max, int level, double perLevelPerSec,
+                                    float deltaSeconds, boolean requirePositive) {
+        if (level <= 0 || perLevelPerSec <= 0.0) {
+            return 0f;
+        }
+        if (requirePositive && current <= 0f) {
+            return 0f;
+        }
+        if (current >= max) {
+            return 0f;
+        }
+        return Math.max(0f, (float) (perLevelPerSec * level * deltaSeconds));
+    }
 }
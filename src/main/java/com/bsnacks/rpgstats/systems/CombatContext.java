@@ -0,0 +1,148 @@
+package com.bsnacks.rpgstats.systems;
+
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.services.RpgRandom;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.UUID;
+
+/**
+ * Attacker and defender lookups for a single {@link Damage} event, resolved once by
+ * {@link CombatPipelineSystem} and shared by every {@link CombatStage}.
+ *
+ * The pipeline reuses one instance per world thread, so stages must not keep a reference to the
+ * context after {@link CombatStage#apply} returns.
+ */
+public final class CombatContext {
+
+    private Damage damage;
+    private ConfigSnapshot settings;
+    private CommandBuffer<EntityStore> commandBuffer;
+    private Ref<EntityStore> attackerRef;
+    private Player attacker;
+    private RpgStats attackerStats;
+    private Ref<EntityStore> defenderRef;
+    private Player defender;
+    private RpgStats defenderStats;
+    private boolean attackerHealthChanged;
+    private final RpgRandom.RollEvent rolls = new RpgRandom.RollEvent();
+
+    CombatContext() {
+    }
+
+    void set(Damage damage, ConfigSnapshot settings, CommandBuffer<EntityStore> commandBuffer,
+             Ref<EntityStore> attackerRef, Player attacker, RpgStats attackerStats,
+             Ref<EntityStore> defenderRef, Player defender, RpgStats defenderStats) {
+        this.damage = damage;
+        this.settings = settings;
+        this.commandBuffer = commandBuffer;
+        this.attackerRef = attackerRef;
+        this.attacker = attacker;
+        this.attackerStats = attackerStats;
+        this.defenderRef = defenderRef;
+        this.defender = defender;
+        this.defenderStats = defenderStats;
+        this.attackerHealthChanged = false;
+    }
+
+    /**
+     * Drops the event's references so a reused context does not keep entities alive.
+     */
+    void clear() {
+        set(null, null, null, null, null, null, null, null, null);
+        rolls.end();
+    }
+
+    /**
+     * The event proc rolls for this damage belong to; only active in deterministic mode.
+     */
+    public RpgRandom.RollEvent getRolls() {
+        return rolls;
+    }
+
+    public Damage getDamage() {
+        return damage;
+    }
+
+    /**
+     * The config read once for this event. Stages use it instead of the live config, so a reload
+     * during the event cannot give two stages different values.
+     */
+    public ConfigSnapshot getSettings() {
+        return settings;
+    }
+
+    public CommandBuffer<EntityStore> getCommandBuffer() {
+        return commandBuffer;
+    }
+
+    /**
+     * The valid source entity of an entity-sourced damage event, or null for environmental damage.
+     */
+    public Ref<EntityStore> getAttackerRef() {
+        return attackerRef;
+    }
+
+    /**
+     * The attacking player, or null if the source is not a player with RPG stats.
+     */
+    public Player getAttacker() {
+        return attacker;
+    }
+
+    public RpgStats getAttackerStats() {
+        return attackerStats;
+    }
+
+    /**
+     * The attacking player's UUID, looked up on demand since most events never need it.
+     */
+    public UUID getAttackerUuid() {
+        return attacker == null ? null : uuidOf(attackerRef);
+    }
+
+    public Ref<EntityStore> getDefenderRef() {
+        return defenderRef;
+    }
+
+    /**
+     * The damaged player, or null if the target is not a player with RPG stats.
+     */
+    public Player getDefender() {
+        return defender;
+    }
+
+    public RpgStats getDefenderStats() {
+        return defenderStats;
+    }
+
+    /**
+     * The damaged player's UUID, looked up on demand since most events never need it.
+     */
+    public UUID getDefenderUuid() {
+        return defender == null ? null : uuidOf(defenderRef);
+    }
+
+    /**
+     * Records that a stage healed or hurt the attacker, so the party HUD is told once the stages ran.
+     */
+    public void markAttackerHealthChanged() {
+        attackerHealthChanged = true;
+    }
+
+    boolean isAttackerHealthChanged() {
+        return attackerHealthChanged;
+    }
+
+    private UUID uuidOf(Ref<EntityStore> ref) {
+        PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+        return playerRef == null ? null : playerRef.getUuid();
+    }
+}
@@ -0,0 +1,52 @@
+package com.bsnacks.rpgstats.systems;
+
+import com.bsnacks.rpgstats.services.CombatFeedbackService;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Sends each player's coalesced combat proc messages a few times per second.
+ */
+public final class CombatFeedbackSystem extends DelayedEntitySystem<EntityStore> {
+
+    // Long enough to merge a burst of fast hits, short enough to still read as immediate.
+    private static final float TICK_INTERVAL_SEC = 0.25f;
+
+    private final CombatFeedbackService feedback;
+    private final Query<EntityStore> query;
+
+    public CombatFeedbackSystem(CombatFeedbackService feedback) {
+        super(TICK_INTERVAL_SEC);
+        this.feedback = feedback;
+        this.query = Archetype.of(Player.getComponentType(), PlayerRef.getComponentType());
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void tick(float deltaSeconds, int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                     CommandBuffer<EntityStore> commandBuffer) {
+        Ref<EntityStore> ref = chunk.getReferenceTo(entityIndex);
+        if (ref == null || !ref.isValid()) {
+            return;
+        }
+        Player player = commandBuffer.getComponent(ref, Player.getComponentType());
+        PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+        if (player == null || playerRef == null) {
+            return;
+        }
+        feedback.flush(playerRef.getUuid(), player);
+    }
+}
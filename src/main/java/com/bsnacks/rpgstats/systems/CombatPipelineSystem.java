@@ -0,0 +1,192 @@
+package com.bsnacks.rpgstats.systems;
+
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.services.RpgRandom;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.dependency.Dependency;
+import com.hypixel.hytale.component.dependency.Order;
+import com.hypixel.hytale.component.dependency.SystemDependency;
+import com.hypixel.hytale.component.dependency.SystemGroupDependency;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Runs the combat abilities for a damage event. The config snapshot and the attacker and defender
+ * player/stats lookups are done once per {@link Damage} and handed to each stage through a
+ * {@link CombatContext}.
+ *
+ * Stages that change the damage amount run in {@link PreApply} (before the damage is applied);
+ * stages that react to the final amount, like lifesteal and thorns, run in {@link PostApply}.
+ * Within a phase, offensive stages run first, then defensive stages, each in list order.
+ * {@link PostApply} also reports the players whose health changed, so their party HUD updates
+ * without waiting for its poll.
+ */
+public abstract class CombatPipelineSystem extends DamageEventSystem {
+
+    private final ComponentType<EntityStore, RpgStats> rpgStatsType;
+    private final RpgStatsConfig config;
+    private final Set<Dependency<EntityStore>> dependencies;
+    private final CombatStage[] offensiveStages;
+    private final CombatStage[] defensiveStages;
+    private final Consumer<UUID> healthChanged;
+    // Each world ticks on its own thread and handles one damage event at a time.
+    private final ThreadLocal<CombatContext> contexts = ThreadLocal.withInitial(CombatContext::new);
+
+    CombatPipelineSystem(ComponentType<EntityStore, RpgStats> rpgStatsType, RpgStatsConfig config,
+                         Order applyDamageOrder, List<CombatStage> offensiveStages, List<CombatStage> defensiveStages,
+                         Consumer<UUID> healthChanged) {
+        this.rpgStatsType = rpgStatsType;
+        this.config = config;
+        this.offensiveStages = offensiveStages.toArray(new CombatStage[0]);
+        this.defensiveStages = defensiveStages.toArray(new CombatStage[0]);
+        this.healthChanged = healthChanged;
+        dependencies = Set.of(
+                new SystemGroupDependency<>(Order.AFTER, DamageModule.get().getGatherDamageGroup()),
+                new SystemGroupDependency<>(Order.AFTER, DamageModule.get().getFilterDamageGroup()),
+                new SystemDependency<>(applyDamageOrder, DamageSystems.ApplyDamage.class)
+        );
+    }
+
+    @Override
+    public Set<Dependency<EntityStore>> getDependencies() {
+        return dependencies;
+    }
+
+    @Override
+    public Archetype<EntityStore> getQuery() {
+        return Archetype.empty();
+    }
+
+    @Override
+    public void handle(int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                       CommandBuffer<EntityStore> commandBuffer, Damage damage) {
+        if (damage == null) {
+            return;
+        }
+
+        Ref<EntityStore> defenderRef = chunk.getReferenceTo(entityIndex);
+        Player defender = null;
+        RpgStats defenderStats = null;
+        if (defensiveStages.length > 0 && defenderRef != null && defenderRef.isValid()) {
+            defender = commandBuffer.getComponent(defenderRef, Player.getComponentType());
+            if (defender != null) {
+                defenderStats = commandBuffer.getComponent(defenderRef, rpgStatsType);
+                if (defenderStats == null) {
+                    defender = null;
+                }
+            }
+        }
+
+        Ref<EntityStore> attackerRef = null;
+        Player attacker = null;
+        RpgStats attackerStats = null;
+        Damage.Source source = damage.getSource();
+        if (source instanceof Damage.EntitySource entitySource) {
+            Ref<EntityStore> sourceRef = entitySource.getRef();
+            if (sourceRef != null && sourceRef.isValid()) {
+                attackerRef = sourceRef;
+                if (offensiveStages.length > 0) {
+                    attacker = commandBuffer.getComponent(sourceRef, Player.getComponentType());
+                    if (attacker != null) {
+                        attackerStats = commandBuffer.getComponent(sourceRef, rpgStatsType);
+                        if (attackerStats == null) {
+                            attacker = null;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (attackerStats == null && defenderStats == null) {
+            return;
+        }
+
+        CombatContext context = contexts.get();
+        context.set(damage, config == null ? null : config.snapshot(), commandBuffer,
+                attackerRef, attacker, attackerStats, defenderRef, defender, defenderStats);
+        if (RpgRandom.isDeterministic()) {
+            RpgRandom.beginEvent(context.getRolls(), worldName(store),
+                    context.getAttackerUuid(), context.getDefenderUuid(), damageId(damage));
+        }
+        try {
+            if (attackerStats != null) {
+                for (CombatStage stage : offensiveStages) {
+                    stage.apply(context);
+                }
+            }
+            if (defenderStats != null) {
+                for (CombatStage stage : defensiveStages) {
+                    stage.apply(context);
+                }
+            }
+            if (healthChanged != null) {
+                if (defenderStats != null && damage.getAmount() > 0f) {
+                    healthChanged.accept(context.getDefenderUuid());
+                }
+                if (context.isAttackerHealthChanged()) {
+                    healthChanged.accept(context.getAttackerUuid());
+                }
+            }
+        } finally {
+            context.clear();
+        }
+    }
+
+    /**
+     * The name of the store's world, which keys deterministic roll events.
+     */
+    static String worldName(Store<EntityStore> store) {
+        EntityStore entityStore = store == null ? null : store.getExternalData();
+        World world = entityStore == null ? null : entityStore.getWorld();
+        return world == null ? null : world.getName();
+    }
+
+    private static String damageId(Damage damage) {
+        DamageCause cause = damage.getCause();
+        return cause == null ? "none" : cause.getId();
+    }
+
+    /**
+     * Combat stages that modify the damage amount before it is applied.
+     */
+    public static final class PreApply extends CombatPipelineSystem {
+
+        public PreApply(ComponentType<EntityStore, RpgStats> rpgStatsType, RpgStatsConfig config,
+                        List<CombatStage> offensiveStages, List<CombatStage> defensiveStages) {
+            super(rpgStatsType, config, Order.BEFORE, offensiveStages, defensiveStages, null);
+        }
+    }
+
+    /**
+     * Combat stages that react to the damage after it has been applied.
+     */
+    public static final class PostApply extends CombatPipelineSystem {
+
+        /**
+         * @param healthChanged told the UUID of each player whose health the event changed; may be null
+         */
+        public PostApply(ComponentType<EntityStore, RpgStats> rpgStatsType, RpgStatsConfig config,
+                         List<CombatStage> offensiveStages, List<CombatStage> defensiveStages,
+                         Consumer<UUID> healthChanged) {
+            super(rpgStatsType, config, Order.AFTER, offensiveStages, defensiveStages, healthChanged);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bsnacks.rpgstats.systems;
+
+/**
+ * One step of the combat pipeline. Offensive stages only run when the attacker is a player with
+ * RPG stats, defensive stages only when the defender is.
+ *
+ * Stages are not ECS systems; the implementations keep their older *System class names because
+ * their static chance/percent helpers are used across the UI and config code.
+ */
+public interface CombatStage {
+
+    void apply(CombatContext context);
+}
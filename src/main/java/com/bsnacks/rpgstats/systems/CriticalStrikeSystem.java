@@ -1,134 +1,61 @@
 package com.bsnacks.rpgstats.systems;
 
-import com.bsnacks.rpgstats.components.RpgStats;
-import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.components.DerivedStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.services.CombatFeedbackService;
+import com.bsnacks.rpgstats.services.RpgRandom;
 
-import com.hypixel.hytale.component.Archetype;
-import com.hypixel.hytale.component.ArchetypeChunk;
-import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.ComponentType;
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.component.dependency.Dependency;
-import com.hypixel.hytale.component.dependency.Order;
-import com.hypixel.hytale.component.dependency.SystemDependency;
-import com.hypixel.hytale.component.dependency.SystemGroupDependency;
-import com.hypixel.hytale.server.core.entity.entities.Player;
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-
-import java.util.Random;
-import java.util.Set;
 
 /**
- * Critical Strike ability system.
+ * Offensive combat stage: chance to multiply a player's damage.
  *
- * When a player deals damage, they have a chance to deal bonus damage.
  * Chance scales with ability level: base + (per_level * level)
  * Default: 10% / 15% / 20% at levels 1-3
  */
-public final class CriticalStrikeSystem extends DamageEventSystem {
+public final class CriticalStrikeSystem implements CombatStage {
 
     private static final double DEFAULT_CHANCE_PER_LEVEL_PCT = 5.0;
     private static final double DEFAULT_BASE_CHANCE_PCT = 5.0;
     private static final double DEFAULT_DAMAGE_MULTIPLIER = 1.5;
 
-    private final ComponentType<EntityStore, RpgStats> rpgStatsType;
-    private final Set<Dependency<EntityStore>> dependencies;
-    private final RpgStatsConfig config;
-    private final Random random;
-
-    public CriticalStrikeSystem(ComponentType<EntityStore, RpgStats> rpgStatsType, RpgStatsConfig config) {
-        this.rpgStatsType = rpgStatsType;
-        this.config = config;
-        this.random = new Random();
-        dependencies = Set.of(
-                new SystemGroupDependency<>(Order.AFTER, DamageModule.get().getGatherDamageGroup()),
-                new SystemGroupDependency<>(Order.AFTER, DamageModule.get().getFilterDamageGroup()),
-                new SystemDependency<>(Order.BEFORE, DamageSystems.ApplyDamage.class)
-        );
-    }
+    private final CombatFeedbackService feedback;
 
-    @Override
-    public Set<Dependency<EntityStore>> getDependencies() {
-        return dependencies;
+    public CriticalStrikeSystem(CombatFeedbackService feedback) {
+        this.feedback = feedback;
     }
 
     @Override
-    public Archetype<EntityStore> getQuery() {
-        return Archetype.empty();
-    }
-
-    @Override
-    public void handle(int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
-                       CommandBuffer<EntityStore> commandBuffer, Damage damage) {
-        if (damage == null) {
-            return;
-        }
-
-        // Only apply to damage from entities
-        Damage.Source source = damage.getSource();
-        if (!(source instanceof Damage.EntitySource)) {
-            return;
-        }
-
-        // Get the attacker reference
-        Ref<EntityStore> attackerRef = ((Damage.EntitySource) source).getRef();
-        if (attackerRef == null || !attackerRef.isValid()) {
-            return;
-        }
-
-        // Check if the attacker is a player
-        Player attacker = commandBuffer.getComponent(attackerRef, Player.getComponentType());
-        if (attacker == null) {
+    public void apply(CombatContext context) {
+        // Chance is zero when the ability is not learned
+        DerivedStats derived = DerivedStats.of(context.getAttackerStats(), context.getSettings());
+        if (!rollCritical(derived, context.getRolls())) {
             return;
         }
 
-        // Get the player's RPG stats
-        RpgStats stats = commandBuffer.getComponent(attackerRef, rpgStatsType);
-        if (stats == null) {
-            return;
-        }
+        Damage damage = context.getDamage();
+        damage.setAmount(criticalDamage(damage.getAmount(), derived));
+        feedback.record(context.getAttackerUuid(), context.getAttackerStats(),
+                CombatFeedbackService.Kind.CRITICAL_STRIKE, derived.getCriticalDamageMultiplier());
+    }
 
-        int level = stats.getCriticalStrikeLevel();
-        if (level <= 0) {
-            return;
-        }
+    /**
+     * Rolls for a critical strike. No roll is made when the ability is not learned.
+     * @param rolls the damage event the roll belongs to, or null
+     */
+    public static boolean rollCritical(DerivedStats attacker, RpgRandom.RollEvent rolls) {
+        return attacker.getCriticalChancePct() > 0f && isCritical(attacker, RpgRandom.rollPercent(rolls));
+    }
 
-        // Calculate critical strike chance: base + (per level * level)
-        double baseChance = config == null ? DEFAULT_BASE_CHANCE_PCT : config.getCriticalStrikeBaseChancePct();
-        double perLevelPct = config == null ? DEFAULT_CHANCE_PER_LEVEL_PCT : config.getCriticalStrikeChancePerLevelPct();
-        if (baseChance < 0.0) {
-            baseChance = 0.0;
-        }
-        if (perLevelPct < 0.0) {
-            perLevelPct = 0.0;
-        }
-        double critChance = baseChance + (perLevelPct * level);
-        if (critChance <= 0.0) {
-            return;
-        }
-        if (critChance > 100.0) {
-            critChance = 100.0;
-        }
+    /**
+     * Whether a roll in [0, 100) is a critical strike for the attacker.
+     */
+    public static boolean isCritical(DerivedStats attacker, double roll) {
+        return roll < attacker.getCriticalChancePct();
+    }
 
-        // Roll for critical strike
-        double roll = random.nextDouble() * 100.0;
-        if (roll < critChance) {
-            // Critical hit! Multiply damage
-            double multiplier = config == null ? DEFAULT_DAMAGE_MULTIPLIER : config.getCriticalStrikeDamageMultiplier();
-            if (multiplier < 1.0) {
-                multiplier = 1.0;
-            }
-            float originalDamage = damage.getAmount();
-            float critDamage = (float) (originalDamage * multiplier);
-            damage.setAmount(critDamage);
-            attacker.sendMessage(Message.raw("Critical strike! (" + String.format("%.1fx", multiplier) + ")"));
-        }
+    public static float criticalDamage(float amount, DerivedStats attacker) {
+        return amount * attacker.getCriticalDamageMultiplier();
     }
 
     /**
@@ -137,7 +64,7 @@ public final class CriticalStrikeSystem extends DamageEventSystem {
      * @param config The config to read chance values from
      * @return The total chance as a percentage (0-100)
      */
-    public static float getCriticalChance(int level, RpgStatsConfig config) {
+    public static float getCriticalChance(int level, ConfigSnapshot config) {
         int clampedLevel = Math.max(0, level);
         double baseChance = config == null ? DEFAULT_BASE_CHANCE_PCT : config.getCriticalStrikeBaseChancePct();
         double perLevelPct = config == null ? DEFAULT_CHANCE_PER_LEVEL_PCT : config.getCriticalStrikeChancePerLevelPct();
@@ -149,4 +76,12 @@ public final class CriticalStrikeSystem extends DamageEventSystem {
         }
         return (float) Math.min(100.0, baseChance + (perLevelPct * clampedLevel));
     }
+
+    /**
+     * Gets the damage multiplier applied on a critical hit (never below 1.0).
+     */
+    public static float getCriticalDamageMultiplier(ConfigSnapshot config) {
+        double multiplier = config == null ? DEFAULT_DAMAGE_MULTIPLIER : config.getCriticalStrikeDamageMultiplier();
+        return (float) Math.max(1.0, multiplier);
+    }
 }
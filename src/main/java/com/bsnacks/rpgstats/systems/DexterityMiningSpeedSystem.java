@@ -1,6 +1,8 @@
 package com.bsnacks.rpgstats.systems;
 
+import com.bsnacks.rpgstats.components.DerivedStats;
 import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
 
 import com.hypixel.hytale.component.Archetype;
@@ -52,11 +54,14 @@ public final class DexterityMiningSpeedSystem extends EntityEventSystem<EntitySt
             return;
         }
 
+        float multiplier = DerivedStats.of(stats, config == null ? null : config.snapshot()).getMiningSpeedMultiplier();
+        event.setDamage(event.getDamage() * multiplier);
+    }
+
+    public static float getMiningSpeedMultiplier(int dex, ConfigSnapshot config) {
         double base = config == null ? 1.0 : config.getMiningSpeedBase();
         double perPoint = config == null ? 0.10 : config.getMiningSpeedPerPoint();
-        float multiplier = (float) (base + perPoint * (stats.getDex() - RpgStats.BASE_STAT));
-        multiplier = Math.max(0.5f, Math.min(2.5f, multiplier));
-
-        event.setDamage(event.getDamage() * multiplier);
+        float multiplier = (float) (base + perPoint * (dex - RpgStats.BASE_STAT));
+        return Math.max(0.5f, Math.min(2.5f, multiplier));
     }
 }
@@ -2,13 +2,14 @@ package com.bsnacks.rpgstats.systems;
 
 import com.bsnacks.rpgstats.components.FlameTouchAttribution;
 import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
 import com.bsnacks.rpgstats.logging.RpgStatsFileLogger;
 import com.bsnacks.rpgstats.party.PartyService;
 import com.bsnacks.rpgstats.party.PartyXpDistributor;
 import com.bsnacks.rpgstats.services.NpcLevelCalculator;
 import com.bsnacks.rpgstats.ui.LevelUpSplash;
-import com.bsnacks.rpgstats.ui.RpgStatsHud;
 import com.bsnacks.rpgstats.ui.StatsPage;
 
 import com.hypixel.hytale.component.CommandBuffer;
@@ -73,31 +74,44 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
             return;
         }
 
+        boolean debug = isDebugEnabled();
         String roleName = safeRoleName(npc);
         String npcTypeId = safeNpcTypeId(npc);
-        logDebug("NPC death detected: role=" + roleName + " npcTypeId=" + npcTypeId
-                + " ref=" + ref.getIndex());
+        if (debug) {
+            fileLogger.debug(LogCategory.XP, "NPC death detected: role=" + roleName + " npcTypeId=" + npcTypeId
+                    + " ref=" + ref.getIndex());
+        }
 
-        if (config != null && config.isXpBlacklisted(npcTypeId, roleName)) {
-            logDebug("XP skipped: blacklisted NPC role=" + roleName + " npcTypeId=" + npcTypeId);
+        // One read per kill, so a reload mid-handler cannot mix old and new values.
+        ConfigSnapshot settings = config == null ? null : config.snapshot();
+        if (settings != null && settings.isXpBlacklisted(npcTypeId, roleName)) {
+            if (debug) {
+                fileLogger.debug(LogCategory.XP, "XP skipped: blacklisted NPC role=" + roleName + " npcTypeId=" + npcTypeId);
+            }
             return;
         }
 
         Ref<EntityStore> attackerRef = resolveAttackerRef(npc, death, ref, commandBuffer);
         if (attackerRef == null || !attackerRef.isValid()) {
-            logDebug("No valid attacker ref for NPC death: ref=" + ref.getIndex());
+            if (debug) {
+                fileLogger.debug(LogCategory.XP, "No valid attacker ref for NPC death: ref=" + ref.getIndex());
+            }
             return;
         }
 
         Player killer = commandBuffer.getComponent(attackerRef, playerType);
         if (killer == null) {
-            logDebug("Attacker is not a player: attackerRef=" + attackerRef.getIndex());
+            if (debug) {
+                fileLogger.debug(LogCategory.XP, "Attacker is not a player: attackerRef=" + attackerRef.getIndex());
+            }
             return;
         }
 
         Role role = npc.getRole();
         if (!isHostile(role, attackerRef, commandBuffer)) {
-            logDebug("NPC not hostile to player: role=" + roleName + " player=" + killer.getDisplayName());
+            if (debug) {
+                fileLogger.debug(LogCategory.XP, "NPC not hostile to player: role=" + roleName + " player=" + killer.getDisplayName());
+            }
             return;
         }
 
@@ -105,15 +119,17 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
         UUID killerUuid = killerRef == null ? null : killerRef.getUuid();
 
         EntityStatMap statMap = commandBuffer.getComponent(ref, statMapType);
-        double multiplier = config == null ? 0.35d : config.getXpMultiplier();
+        double multiplier = settings == null ? 0.35d : settings.getXpMultiplier();
 
         // Calculate NPC level for logging/future XP scaling
         int npcLevel = calculateNpcLevel(ref, npcTypeId, statMap, commandBuffer);
 
         int xpGained = ExperienceCalculator.calculate(npc, statMap, multiplier);
         if (xpGained <= 0) {
-            logDebug("No XP awarded: role=" + roleName + " npcLevel=" + npcLevel
-                    + " maxHealth=" + ExperienceCalculator.getMaxHealth(npc, statMap));
+            if (debug) {
+                fileLogger.debug(LogCategory.XP, "No XP awarded: role=" + roleName + " npcLevel=" + npcLevel
+                        + " maxHealth=" + ExperienceCalculator.getMaxHealth(npc, statMap));
+            }
             return;
         }
 
@@ -140,30 +156,36 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
             long oldXp = stats.getXp();
             stats.setXp(oldXp + share.getXp());
             int newLevel = stats.getLevel();
-            boolean chatEnabled = config == null || config.isXpChatMessagesEnabled();
+            boolean chatEnabled = settings == null || settings.isXpChatMessagesEnabled();
             if (chatEnabled) {
                 String prefix = distribution.isShared() && !share.isKiller() ? "Party XP: " : null;
                 sendXpMessage(targetPlayer, stats, share.getXp(), oldLevel, prefix);
             }
             StatsPage.refreshIfOpen(targetPlayer, stats);
-            if (config == null || config.isHudEnabled()) {
-                RpgStatsHud.refreshIfActive(targetPlayer, stats);
+            if (plugin != null && (settings == null || settings.isHudEnabled())) {
+                plugin.scheduleHudRefresh(targetPlayer, HudRefreshSystem.Reason.XP_GAIN);
             }
             if (newLevel > oldLevel) {
                 LevelUpSplash.showForPlayer(targetPlayer, newLevel, plugin);
+                PlayerRef targetPlayerRef = commandBuffer.getComponent(targetRef, PlayerRef.getComponentType());
+                if (plugin != null && targetPlayerRef != null) {
+                    plugin.markPartyHudChanged(targetPlayerRef.getUuid());
+                }
             }
             if (share.isKiller()) {
                 killerXp = share.getXp();
             }
         }
 
+        if (!debug) {
+            return;
+        }
         if (distribution.isShared() && distribution.getEligibleCount() > 1) {
-            logDebug("XP shared: base=" + xpGained + " total=" + distribution.getTotalXp()
-                    + " eligible=" + distribution.getEligibleCount()
-                    + " killerXp=" + killerXp + " npcLevel=" + npcLevel);
+            fileLogger.debug(LogCategory.XP, "XP shared: base={} total={} eligible={} killerXp={} npcLevel={}",
+                    xpGained, distribution.getTotalXp(), distribution.getEligibleCount(), killerXp, npcLevel);
         } else {
-            logDebug("XP awarded: player=" + killer.getDisplayName() + " xp=" + killerXp
-                    + " npcLevel=" + npcLevel);
+            fileLogger.debug(LogCategory.XP, "XP awarded: player={} xp={} npcLevel={}",
+                    killer.getDisplayName(), killerXp, npcLevel);
         }
     }
 
@@ -174,7 +196,9 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
                                   EntityStatMap statMap, CommandBuffer<EntityStore> commandBuffer) {
         NpcLevelCalculator calculator = plugin.getNpcLevelCalculator();
         if (calculator == null) {
-            logDebug("NpcLevelCalculator not available, defaulting to level 1");
+            if (isDebugEnabled()) {
+                fileLogger.debug(LogCategory.XP, "NpcLevelCalculator not available, defaulting to level 1");
+            }
             return 1;
         }
 
@@ -186,7 +210,9 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
                 entityUuid = uuidComp.getUuid();
             }
         } catch (Exception ex) {
-            logDebug("Failed to get UUIDComponent: " + ex.getMessage());
+            if (isDebugEnabled()) {
+                fileLogger.debug(LogCategory.XP, "Failed to get UUIDComponent: " + ex.getMessage());
+            }
         }
         if (entityUuid == null) {
             entityUuid = UUID.randomUUID();
@@ -202,14 +228,18 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
                     maxHp = healthStat.getMax();
                 }
             } catch (Exception ex) {
-                logDebug("Failed to get max HP: " + ex.getMessage());
+                if (isDebugEnabled()) {
+                    fileLogger.debug(LogCategory.XP, "Failed to get max HP: " + ex.getMessage());
+                }
             }
         }
 
         // Calculate level (no zone ID for now - could be added later)
         int npcLevel = calculator.computeLevel(entityUuid, npcTypeId, maxHp, null);
-        logDebug("NPC level calculated: type=" + npcTypeId + " hp=" + String.format("%.1f", maxHp)
-                + " level=" + npcLevel);
+        if (isDebugEnabled()) {
+            fileLogger.debug(LogCategory.XP, "NPC level calculated: type=" + npcTypeId + " hp=" + String.format("%.1f", maxHp)
+                    + " level=" + npcLevel);
+        }
         return npcLevel;
     }
 
@@ -222,10 +252,14 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
             return !role.isFriendly(targetRef, commandBuffer);
         }
         Attitude attitude = npcPlugin.getAttitudeMap().getAttitude(role, targetRef, commandBuffer);
-        logDebug("Attitude check: attitude=" + attitude + " role=" + role.getRoleName());
+        if (isDebugEnabled()) {
+            fileLogger.debug(LogCategory.XP, "Attitude check: attitude=" + attitude + " role=" + role.getRoleName());
+        }
         if (attitude == null) {
             boolean hostileFallback = !role.isFriendly(targetRef, commandBuffer);
-            logDebug("Attitude fallback: hostile=" + hostileFallback + " role=" + role.getRoleName());
+            if (isDebugEnabled()) {
+                fileLogger.debug(LogCategory.XP, "Attitude fallback: hostile=" + hostileFallback + " role=" + role.getRoleName());
+            }
             return hostileFallback;
         }
         return attitude == Attitude.HOSTILE;
@@ -239,7 +273,9 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
             if (source instanceof Damage.EntitySource) {
                 Ref<EntityStore> ref = ((Damage.EntitySource) source).getRef();
                 if (ref != null && ref.isValid()) {
-                    logDebug("Attacker resolved from death info: ref=" + ref.getIndex());
+                    if (isDebugEnabled()) {
+                        fileLogger.debug(LogCategory.XP, "Attacker resolved from death info: ref=" + ref.getIndex());
+                    }
                     return ref;
                 }
             }
@@ -249,12 +285,16 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
         if (damageData != null) {
             Ref<EntityStore> ref = damageData.getMostDamagingAttacker();
             if (ref != null && ref.isValid()) {
-                logDebug("Attacker resolved from damage data: ref=" + ref.getIndex());
+                if (isDebugEnabled()) {
+                    fileLogger.debug(LogCategory.XP, "Attacker resolved from damage data: ref=" + ref.getIndex());
+                }
                 return ref;
             }
             Ref<EntityStore> any = damageData.getAnyAttacker();
             if (any != null && any.isValid()) {
-                logDebug("Fallback attacker resolved from damage data: ref=" + any.getIndex());
+                if (isDebugEnabled()) {
+                    fileLogger.debug(LogCategory.XP, "Fallback attacker resolved from damage data: ref=" + any.getIndex());
+                }
                 return any;
             }
         }
@@ -265,11 +305,15 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
             if (attribution != null) {
                 Ref<EntityStore> flameTouchAttacker = attribution.getAttackerIfValid();
                 if (flameTouchAttacker != null && flameTouchAttacker.isValid()) {
-                    logDebug("Attacker resolved from Flame Touch attribution: ref=" + flameTouchAttacker.getIndex()
-                            + " remaining=" + String.format("%.1f", attribution.getRemainingSeconds()) + "s");
+                    if (isDebugEnabled()) {
+                        fileLogger.debug(LogCategory.XP, "Attacker resolved from Flame Touch attribution: ref=" + flameTouchAttacker.getIndex()
+                                + " remaining=" + String.format("%.1f", attribution.getRemainingSeconds()) + "s");
+                    }
                     return flameTouchAttacker;
                 } else {
-                    logDebug("Flame Touch attribution expired or invalid");
+                    if (isDebugEnabled()) {
+                        fileLogger.debug(LogCategory.XP, "Flame Touch attribution expired or invalid");
+                    }
                 }
             }
         }
@@ -277,10 +321,8 @@ public final class ExperienceOnKillSystem extends DeathSystems.OnDeathSystem {
         return null;
     }
 
-    private void logDebug(String message) {
-        if (fileLogger != null) {
-            fileLogger.log(message);
-        }
+    private boolean isDebugEnabled() {
+        return fileLogger != null && fileLogger.isEnabled(LogCategory.XP);
     }
 
     private String safeRoleName(NPCEntity npc) {
@@ -1,129 +1,75 @@
 package com.bsnacks.rpgstats.systems;
 
-import com.bsnacks.rpgstats.components.RpgStats;
-import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.components.DerivedStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.services.CombatFeedbackService;
+import com.bsnacks.rpgstats.services.RpgRandom;
 
-import com.hypixel.hytale.component.Archetype;
-import com.hypixel.hytale.component.ArchetypeChunk;
-import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.component.dependency.Dependency;
-import com.hypixel.hytale.component.dependency.Order;
-import com.hypixel.hytale.component.dependency.SystemDependency;
-import com.hypixel.hytale.component.dependency.SystemGroupDependency;
-import com.hypixel.hytale.server.core.entity.entities.Player;
-import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.npc.entities.NPCEntity;
 
-import java.util.Random;
-import java.util.Set;
-
-public final class GlancingBlowSystem extends DamageEventSystem {
+/**
+ * Defensive combat stage: chance to fully negate damage from hostile NPCs.
+ */
+public final class GlancingBlowSystem implements CombatStage {
 
     private static final double BASE_DODGE_CHANCE_PCT = 5.0;
     private static final double DEFAULT_DODGE_CHANCE_PER_LEVEL_PCT = 5.0;
 
-    private final ComponentType<EntityStore, RpgStats> rpgStatsType;
     private final ComponentType<EntityStore, NPCEntity> npcType;
-    private final Set<Dependency<EntityStore>> dependencies;
-    private final RpgStatsConfig config;
-    private final Random random;
+    private final CombatFeedbackService feedback;
 
-    public GlancingBlowSystem(ComponentType<EntityStore, RpgStats> rpgStatsType, RpgStatsConfig config) {
-        this.rpgStatsType = rpgStatsType;
+    public GlancingBlowSystem(CombatFeedbackService feedback) {
         this.npcType = NPCEntity.getComponentType();
-        this.config = config;
-        this.random = new Random();
-        dependencies = Set.of(
-                new SystemGroupDependency<>(Order.AFTER, DamageModule.get().getGatherDamageGroup()),
-                new SystemGroupDependency<>(Order.AFTER, DamageModule.get().getFilterDamageGroup()),
-                new SystemDependency<>(Order.BEFORE, DamageSystems.ApplyDamage.class)
-        );
-    }
-
-    @Override
-    public Set<Dependency<EntityStore>> getDependencies() {
-        return dependencies;
+        this.feedback = feedback;
     }
 
     @Override
-    public Archetype<EntityStore> getQuery() {
-        return Archetype.empty();
-    }
-
-    @Override
-    public void handle(int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
-                       CommandBuffer<EntityStore> commandBuffer, Damage damage) {
-        if (damage == null) {
+    public void apply(CombatContext context) {
+        // Chance is zero when the ability is not learned
+        DerivedStats derived = DerivedStats.of(context.getDefenderStats(), context.getSettings());
+        if (derived.getDodgeChancePct() <= 0f) {
             return;
         }
 
         // Only apply to damage from entities (excludes environmental damage)
-        Damage.Source source = damage.getSource();
-        if (!(source instanceof Damage.EntitySource)) {
-            return;
-        }
-
-        Ref<EntityStore> targetRef = chunk.getReferenceTo(entityIndex);
-        if (targetRef == null || !targetRef.isValid()) {
-            return;
-        }
-
-        Player target = commandBuffer.getComponent(targetRef, Player.getComponentType());
-        if (target == null) {
-            return;
-        }
-
-        RpgStats stats = commandBuffer.getComponent(targetRef, rpgStatsType);
-        if (stats == null) {
-            return;
-        }
-
-        int level = stats.getGlancingBlowLevel();
-        if (level <= 0) {
+        Ref<EntityStore> sourceRef = context.getAttackerRef();
+        if (sourceRef == null) {
             return;
         }
 
         // Check if the damage source is a hostile NPC
-        Ref<EntityStore> sourceRef = ((Damage.EntitySource) source).getRef();
-        if (sourceRef == null || !sourceRef.isValid()) {
-            return;
-        }
-
-        NPCEntity npc = commandBuffer.getComponent(sourceRef, npcType);
+        NPCEntity npc = context.getCommandBuffer().getComponent(sourceRef, npcType);
         if (npc == null) {
             return;
         }
 
-        // Calculate dodge chance: base + (per level × level)
-        double perLevelPct = config == null ? DEFAULT_DODGE_CHANCE_PER_LEVEL_PCT : config.getGlancingBlowChancePerLevelPct();
-        if (perLevelPct < 0.0) {
-            perLevelPct = 0.0;
-        }
-        double dodgeChance = BASE_DODGE_CHANCE_PCT + (perLevelPct * level);
-        if (dodgeChance <= 0.0) {
-            return;
-        }
-        if (dodgeChance > 100.0) {
-            dodgeChance = 100.0;
+        if (rollGlancingBlow(derived, context.getRolls())) {
+            context.getDamage().setAmount(0f);
+            feedback.record(context.getDefenderUuid(), context.getDefenderStats(),
+                    CombatFeedbackService.Kind.GLANCING_BLOW, 0f);
         }
+    }
 
-        // Roll for dodge
-        double roll = random.nextDouble() * 100.0;
-        if (roll < dodgeChance) {
-            damage.setAmount(0f);
-            target.sendMessage(Message.raw("Glancing blow!"));
-        }
+    /**
+     * Rolls for a glancing blow against a hit from a hostile NPC. No roll is made when the ability
+     * is not learned.
+     * @param rolls the damage event the roll belongs to, or null
+     */
+    public static boolean rollGlancingBlow(DerivedStats defender, RpgRandom.RollEvent rolls) {
+        return defender.getDodgeChancePct() > 0f && isGlancingBlow(defender, RpgRandom.rollPercent(rolls));
+    }
+
+    /**
+     * Whether a roll in [0, 100) negates the hit for the defender.
+     */
+    public static boolean isGlancingBlow(DerivedStats defender, double roll) {
+        return roll < defender.getDodgeChancePct();
     }
 
-    public static float getDodgeChance(int level, RpgStatsConfig config) {
+    public static float getDodgeChance(int level, ConfigSnapshot config) {
         int clampedLevel = Math.max(0, level);
         double perLevelPct = config == null ? DEFAULT_DODGE_CHANCE_PER_LEVEL_PCT : config.getGlancingBlowChancePerLevelPct();
         if (perLevelPct < 0.0) {
@@ -0,0 +1,168 @@
+package com.bsnacks.rpgstats.systems;
+
+import com.bsnacks.rpgstats.RpgStatsPlugin;
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.logging.LogCategory;
+import com.bsnacks.rpgstats.ui.RpgStatsHud;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Queued XP HUD refreshes, flushed once per tick.
+ *
+ * Requests are keyed by player UUID and their reasons merged into one bit set, so a kill that
+ * gives XP to a whole party while one member also levels up still refreshes each HUD once.
+ * Requests for players who disconnect before the next tick are dropped.
+ */
+public final class HudRefreshSystem extends DelayedEntitySystem<EntityStore> {
+
+    // One game tick (20 ticks = 1 second).
+    private static final float TICK_INTERVAL_SEC = 0.05f;
+
+    /**
+     * Why a refresh was requested. Reasons that change what the party list shows also refresh it.
+     */
+    public enum Reason {
+        PLAYER_READY(true),
+        XP_GAIN(false),
+        STAT_CHANGE(false),
+        CONFIG_RELOAD(true),
+        OTHER(true);
+
+        private final String id = name().toLowerCase(Locale.ROOT);
+        private final int flag = 1 << ordinal();
+        private final boolean refreshesParty;
+
+        Reason(boolean refreshesParty) {
+            this.refreshesParty = refreshesParty;
+        }
+    }
+
+    private static final Reason[] REASONS = Reason.values();
+    private static final int PARTY_FLAGS = partyFlags();
+
+    private final ComponentType<EntityStore, RpgStats> rpgStatsType;
+    private final RpgStatsPlugin plugin;
+    private final Query<EntityStore> query;
+    // Merged Reason flags per player waiting for the next flush.
+    private final ConcurrentHashMap<UUID, Integer> pending = new ConcurrentHashMap<>();
+
+    public HudRefreshSystem(ComponentType<EntityStore, RpgStats> rpgStatsType, RpgStatsPlugin plugin) {
+        super(TICK_INTERVAL_SEC);
+        this.rpgStatsType = rpgStatsType;
+        this.plugin = plugin;
+        this.query = Archetype.of(Player.getComponentType(), PlayerRef.getComponentType(), rpgStatsType);
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    /**
+     * Queues a refresh for the player. Safe to call from inside a system.
+     */
+    public void schedule(Player player, Reason reason) {
+        if (player == null) {
+            return;
+        }
+        PlayerRef playerRef = player.toHolder().getComponent(PlayerRef.getComponentType());
+        schedule(playerRef == null ? null : playerRef.getUuid(), reason);
+    }
+
+    /**
+     * Queues a refresh for the player with the given UUID, from any thread. It is sent on the
+     * player's own world thread.
+     */
+    public void schedule(UUID uuid, Reason reason) {
+        if (uuid == null) {
+            return;
+        }
+        int flag = (reason == null ? Reason.OTHER : reason).flag;
+        pending.merge(uuid, flag, (current, added) -> current | added);
+    }
+
+    @Override
+    public void tick(float deltaSeconds, int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                     CommandBuffer<EntityStore> commandBuffer) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Ref<EntityStore> ref = chunk.getReferenceTo(entityIndex);
+        if (ref == null || !ref.isValid()) {
+            return;
+        }
+        PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+        UUID uuid = playerRef == null ? null : playerRef.getUuid();
+        if (uuid == null) {
+            return;
+        }
+        Integer flags = pending.remove(uuid);
+        if (flags == null) {
+            return;
+        }
+        Player player = commandBuffer.getComponent(ref, Player.getComponentType());
+        RpgStats stats = commandBuffer.getComponent(ref, rpgStatsType);
+        if (player == null || stats == null) {
+            return;
+        }
+
+        RpgStatsHud.refreshIfActive(player, stats);
+        if ((flags & PARTY_FLAGS) != 0) {
+            RpgStatsHud.refreshPartyIfActive(player, ref, store);
+        }
+        if (plugin != null) {
+            plugin.logDebug(LogCategory.HUD, () -> "HUD refresh for " + player.getDisplayName()
+                    + " reasons=" + describe(flags));
+        }
+    }
+
+    /**
+     * Drops any queued refresh for a player who left.
+     */
+    public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event == null ? null : event.getPlayerRef();
+        UUID uuid = playerRef == null ? null : playerRef.getUuid();
+        if (uuid != null) {
+            pending.remove(uuid);
+        }
+    }
+
+    private static String describe(int flags) {
+        StringBuilder sb = new StringBuilder();
+        for (Reason reason : REASONS) {
+            if ((flags & reason.flag) != 0) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(reason.id);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int partyFlags() {
+        int flags = 0;
+        for (Reason reason : Reason.values()) {
+            if (reason.refreshesParty) {
+                flags |= reason.flag;
+            }
+        }
+        return flags;
+    }
+}
@@ -3,6 +3,7 @@ package com.bsnacks.rpgstats.systems;
 import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
 
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -33,7 +34,7 @@ public final class LightFootSpeedEffect {
         }
         if (defaults == null) {
             if (plugin != null) {
-                plugin.logDebug("Light foot skipped: missing movement defaults for " + player.getDisplayName());
+                plugin.logDebug(LogCategory.EFFECT, () -> "Light foot skipped: missing movement defaults for " + player.getDisplayName());
             }
             return;
         }
@@ -45,7 +46,7 @@ public final class LightFootSpeedEffect {
         }
         if (settings == null) {
             if (plugin != null) {
-                plugin.logDebug("Light foot skipped: missing movement settings for " + player.getDisplayName());
+                plugin.logDebug(LogCategory.EFFECT, () -> "Light foot skipped: missing movement settings for " + player.getDisplayName());
             }
             return;
         }
@@ -3,15 +3,17 @@ package com.bsnacks.rpgstats.systems;
 import com.bsnacks.rpgstats.RpgStatsPlugin;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.logging.LogCategory;
+import com.bsnacks.rpgstats.services.RpgRandom;
 
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
-import java.util.Random;
 
 /**
  * Lucky Shot ability utility class.
@@ -38,7 +40,6 @@ public final class LuckyShotSystem {
     private final ComponentType<EntityStore, RpgStats> rpgStatsType;
     private final RpgStatsConfig config;
     private final RpgStatsPlugin plugin;
-    private final Random random;
 
     public LuckyShotSystem(ComponentType<EntityStore, RpgStats> rpgStatsType,
                            RpgStatsConfig config,
@@ -46,7 +47,6 @@ public final class LuckyShotSystem {
         this.rpgStatsType = rpgStatsType;
         this.config = config;
         this.plugin = plugin;
-        this.random = new Random();
 
         if (plugin != null) {
             plugin.logInfo("[LuckyShot] System initialized - awaiting proper event hook for projectile/ammo events");
@@ -63,22 +63,31 @@ public final class LuckyShotSystem {
      * @return true if Lucky Shot triggered (ammo should NOT be consumed), false otherwise
      */
     public boolean tryLuckyShot(Ref<EntityStore> ref, Store<EntityStore> store, Player player) {
+        boolean debug = plugin != null && plugin.isDebugEnabled(LogCategory.COMBAT);
         if (ref == null || !ref.isValid() || store == null || player == null) {
-            logDebug("tryLuckyShot: invalid parameters");
+            if (debug) {
+                plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: invalid parameters");
+            }
             return false;
         }
 
         RpgStats stats = store.getComponent(ref, rpgStatsType);
         if (stats == null) {
-            logDebug("tryLuckyShot: player has no RPG stats");
+            if (debug) {
+                plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: player has no RPG stats");
+            }
             return false;
         }
 
         int level = stats.getLuckyShotLevel();
-        logDebug("tryLuckyShot: player=" + player.getDisplayName() + " level=" + level);
+        if (debug) {
+            plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: player=" + player.getDisplayName() + " level=" + level);
+        }
 
         if (level <= 0) {
-            logDebug("tryLuckyShot: Lucky Shot not learned");
+            if (debug) {
+                plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: Lucky Shot not learned");
+            }
             return false;
         }
 
@@ -86,26 +95,35 @@ public final class LuckyShotSystem {
         double chancePerLevel = config == null ? DEFAULT_CHANCE_PER_LEVEL_PCT : config.getLuckyShotChancePerLevelPct();
         double totalChance = Math.min(100.0, Math.max(0.0, chancePerLevel * level));
 
-        logDebug("tryLuckyShot: chance=" + totalChance + "% (level " + level + " x " + chancePerLevel + "%)");
+        if (debug) {
+            plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: chance=" + totalChance + "% (level " + level + " x " + chancePerLevel + "%)");
+        }
 
         // Roll for Lucky Shot
-        double roll = random.nextDouble() * 100.0;
-        logDebug("tryLuckyShot: roll=" + roll + " vs " + totalChance);
+        RpgRandom.RollEvent rolls = null;
+        if (RpgRandom.isDeterministic()) {
+            rolls = new RpgRandom.RollEvent();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            RpgRandom.beginEvent(rolls, CombatPipelineSystem.worldName(store),
+                    playerRef == null ? null : playerRef.getUuid(), null, "lucky_shot");
+        }
+        double roll = RpgRandom.rollPercent(rolls);
+        if (debug) {
+            plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: roll=" + roll + " vs " + totalChance);
+        }
 
         if (roll < totalChance) {
-            logDebug("tryLuckyShot: TRIGGERED for " + player.getDisplayName());
+            if (debug) {
+                plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: TRIGGERED for " + player.getDisplayName());
+            }
             player.sendMessage(Message.raw("Lucky shot! Ammo conserved."));
             return true;
         }
 
-        logDebug("tryLuckyShot: did not trigger");
-        return false;
-    }
-
-    private void logDebug(String message) {
-        if (plugin != null) {
-            plugin.logDebug("[LuckyShot] " + message);
+        if (debug) {
+            plugin.logDebug(LogCategory.COMBAT, "[LuckyShot] tryLuckyShot: did not trigger");
         }
+        return false;
     }
 
     /**
@@ -0,0 +1,404 @@
+package com.bsnacks.rpgstats.systems;
+
+import com.bsnacks.rpgstats.components.PartyMemberComponent;
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.party.Party;
+import com.bsnacks.rpgstats.party.PartyService;
+import com.bsnacks.rpgstats.ui.RpgStatsHud;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entitystats.EntityStatMap;
+import com.hypixel.hytale.server.core.modules.entitystats.EntityStatValue;
+import com.hypixel.hytale.server.core.modules.entitystats.asset.DefaultEntityStatTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Change-driven party HUD updates.
+ *
+ * Health and level changes the plugin makes (combat damage, lifesteal, level-ups, admin edits)
+ * are published through {@link #markChanged(UUID)}, which marks every member of that player's
+ * party dirty. Everything else, such as party joins, outside healing and members moving across the
+ * party share radius, is picked up by a slow poll: each player carrying a
+ * {@link PartyMemberComponent} re-reads its level, whole health percent, position and roster at
+ * most once per party_hud_refresh_ticks. A roster, level or health difference marks the whole party
+ * dirty; a range crossing marks only the member that sees it (the other member notices the same
+ * crossing on its own poll). Only dirty members get their party HUD rebuilt, at most once per
+ * party_hud_refresh_ticks, so a busy fight is throttled while the first change after a quiet spell
+ * shows up on the next check.
+ *
+ * Members who drop out of the roster are no longer polled, so their party list is hidden through
+ * the XP HUD queue. Turning the party HUD off hides every list on its member's next check.
+ */
+public final class PartyHudRefreshSystem extends DelayedEntitySystem<EntityStore> {
+
+    // How soon a published change is picked up; polls and refreshes are throttled separately.
+    private static final float CHECK_INTERVAL_SEC = 0.1f;
+    private static final long NANOS_PER_TICK = 50_000_000L;
+    private static final int CHANGED_PARTY = 1;
+    private static final int CHANGED_RANGE = 2;
+
+    private final ComponentType<EntityStore, RpgStats> rpgStatsType;
+    private final RpgStatsConfig config;
+    private final PartyService partyService;
+    private final HudRefreshSystem hudRefreshSystem;
+    private final Query<EntityStore> query;
+    private final ConcurrentHashMap<UUID, MemberState> members = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyMembers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param hudRefreshSystem queues the refresh that hides the list of members who left a party
+     */
+    public PartyHudRefreshSystem(ComponentType<EntityStore, RpgStats> rpgStatsType,
+                                 ComponentType<EntityStore, PartyMemberComponent> partyMemberType,
+                                 RpgStatsConfig config, PartyService partyService, HudRefreshSystem hudRefreshSystem) {
+        super(CHECK_INTERVAL_SEC);
+        this.rpgStatsType = rpgStatsType;
+        this.config = config;
+        this.partyService = partyService;
+        this.hudRefreshSystem = hudRefreshSystem;
+        this.query = Archetype.of(Player.getComponentType(), PlayerRef.getComponentType(), rpgStatsType,
+                partyMemberType);
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void tick(float deltaSeconds, int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                     CommandBuffer<EntityStore> commandBuffer) {
+        if (partyService == null) {
+            return;
+        }
+        ConfigSnapshot settings = config == null ? null : config.snapshot();
+        boolean enabled = isPartyHudEnabled(settings);
+        if (!enabled && members.isEmpty()) {
+            return;
+        }
+        Ref<EntityStore> ref = chunk.getReferenceTo(entityIndex);
+        if (ref == null || !ref.isValid()) {
+            return;
+        }
+        PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+        UUID uuid = playerRef == null ? null : playerRef.getUuid();
+        if (uuid == null) {
+            return;
+        }
+
+        if (!enabled) {
+            // Party HUD turned off by a reload: one last refresh hides the list this member may still show.
+            if (members.remove(uuid) != null) {
+                dirtyMembers.remove(uuid);
+                refresh(commandBuffer, ref, store);
+            }
+            return;
+        }
+
+        MemberState state = members.get(uuid);
+        long now = System.nanoTime();
+        long intervalNanos = (long) Math.max(1, settings == null ? 1 : settings.getPartyHudRefreshTicks()) * NANOS_PER_TICK;
+        boolean refreshDue = dirtyMembers.contains(uuid)
+                && (state == null || state.lastRefreshNanos == 0L || now - state.lastRefreshNanos >= intervalNanos);
+        if (state != null && !refreshDue && now - state.lastPollNanos < intervalNanos) {
+            return;
+        }
+
+        // A new member, a refresh about to happen or a poll that is due: re-read what the HUD shows.
+        Party party = partyService.getPartyFor(uuid);
+        if (party == null) {
+            if (state != null) {
+                state.lastPollNanos = now;
+                if (state.party != null) {
+                    // Left or lost the party: one more refresh hides the list.
+                    state.leave(uuid);
+                    dirtyMembers.add(uuid);
+                }
+            }
+        } else {
+            if (state == null) {
+                state = new MemberState();
+                members.put(uuid, state);
+            }
+            state.lastPollNanos = now;
+            int changes = state.publish(uuid, party, readLevel(commandBuffer, ref), commandBuffer, ref, store,
+                    rangeSquared(settings));
+            if ((changes & CHANGED_PARTY) != 0) {
+                markPartyDirty(party);
+            } else if ((changes & CHANGED_RANGE) != 0) {
+                dirtyMembers.add(uuid);
+            }
+        }
+
+        if (state == null || !dirtyMembers.contains(uuid)) {
+            return;
+        }
+        if (state.lastRefreshNanos != 0L && now - state.lastRefreshNanos < intervalNanos) {
+            return;
+        }
+        dirtyMembers.remove(uuid);
+        state.lastRefreshNanos = now;
+        refresh(commandBuffer, ref, store);
+    }
+
+    /**
+     * Marks the player's party dirty after a health, level or party change, so every member's list
+     * shows it on their next check instead of the next poll. Does nothing for players not tracked
+     * yet; their first check polls anyway. Safe from any thread.
+     */
+    public void markChanged(UUID uuid) {
+        MemberState state = uuid == null ? null : members.get(uuid);
+        if (state == null) {
+            return;
+        }
+        Party party = state.party;
+        if (party != null) {
+            markPartyDirty(party);
+        } else {
+            // Not in a party at the last poll: the next check re-reads it, showing or hiding the list.
+            dirtyMembers.add(uuid);
+        }
+    }
+
+    /**
+     * Drops the player's state and marks the rest of their party dirty so the member disappears
+     * from their HUDs. Runs on the event thread; only reads the state's volatile party.
+     */
+    public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event == null ? null : event.getPlayerRef();
+        UUID uuid = playerRef == null ? null : playerRef.getUuid();
+        if (uuid == null) {
+            return;
+        }
+        MemberState state = members.remove(uuid);
+        Party party = state == null ? null : state.party;
+        if (party == null && partyService != null) {
+            party = partyService.getPartyFor(uuid);
+        }
+        if (party != null) {
+            markPartyDirty(party);
+        }
+        dirtyMembers.remove(uuid);
+    }
+
+    private void refresh(CommandBuffer<EntityStore> commandBuffer, Ref<EntityStore> ref, Store<EntityStore> store) {
+        Player player = commandBuffer.getComponent(ref, Player.getComponentType());
+        if (player != null) {
+            RpgStatsHud.refreshPartyIfActive(player, ref, store);
+        }
+    }
+
+    private void markPartyDirty(Party party) {
+        for (UUID memberUuid : party.getMembers()) {
+            if (memberUuid != null) {
+                dirtyMembers.add(memberUuid);
+            }
+        }
+    }
+
+    /**
+     * Queues a hide for a former member, who may no longer be polled here.
+     */
+    private void onMemberLeft(UUID memberUuid) {
+        MemberState state = members.get(memberUuid);
+        if (state != null && state.party != null && partyService.getPartyFor(memberUuid) != null) {
+            // Moved to another party; its own check refreshes the list.
+            return;
+        }
+        members.remove(memberUuid);
+        dirtyMembers.remove(memberUuid);
+        if (hudRefreshSystem != null) {
+            hudRefreshSystem.schedule(memberUuid, HudRefreshSystem.Reason.OTHER);
+        }
+    }
+
+    private static boolean isPartyHudEnabled(ConfigSnapshot settings) {
+        return settings == null || (settings.isHudEnabled() && settings.isPartyHudEnabled() && settings.isPartyEnabled());
+    }
+
+    /**
+     * The squared party share radius, or a negative value when range is not limited.
+     */
+    private static double rangeSquared(ConfigSnapshot settings) {
+        int radiusBlocks = settings == null ? 0 : settings.getPartyXpShareRadiusBlocks();
+        return radiusBlocks > 0 ? (double) radiusBlocks * radiusBlocks : -1.0;
+    }
+
+    /**
+     * Where a member was at its last check. Immutable, so other members' world threads can read it.
+     */
+    private static final class Position {
+        private final Store<EntityStore> store;
+        private final double x;
+        private final double y;
+        private final double z;
+
+        private Position(Store<EntityStore> store, double x, double y, double z) {
+            this.store = store;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    /**
+     * Last values a member published. Written only on that member's world thread; party and
+     * position are also read by other threads and are volatile.
+     */
+    private final class MemberState {
+        private volatile Party party;
+        private volatile Position position;
+        private UUID[] roster = new UUID[0];
+        private int level = -1;
+        private int healthPercent = -1;
+        // Bit i is set when roster[i] is outside the share radius as seen from this member.
+        private long outOfRange;
+        private long lastPollNanos;
+        private long lastRefreshNanos;
+
+        /**
+         * Reads the member's current values and returns which of the changes the party HUD shows
+         * happened: CHANGED_PARTY for anything every member sees, CHANGED_RANGE for this member's
+         * view of who is in range.
+         */
+        private int publish(UUID self, Party currentParty, int currentLevel, CommandBuffer<EntityStore> commandBuffer,
+                            Ref<EntityStore> ref, Store<EntityStore> store, double radiusSq) {
+            int changes = 0;
+            if (currentParty != party || !sameRoster(currentParty)) {
+                UUID[] previous = roster;
+                roster = currentParty.getMembers().toArray(new UUID[0]);
+                party = currentParty;
+                notifyLeft(previous, self, currentParty);
+                changes |= CHANGED_PARTY;
+            }
+            int currentHealth = readHealthPercent(commandBuffer, ref);
+            if (currentLevel != level || currentHealth != healthPercent) {
+                level = currentLevel;
+                healthPercent = currentHealth;
+                changes |= CHANGED_PARTY;
+            }
+            Position current = readPosition(commandBuffer, ref, store, position);
+            position = current;
+            long currentOutOfRange = outOfRangeMask(self, current, radiusSq);
+            if (currentOutOfRange != outOfRange) {
+                outOfRange = currentOutOfRange;
+                changes |= CHANGED_RANGE;
+            }
+            return changes;
+        }
+
+        private void leave(UUID self) {
+            notifyLeft(roster, self, null);
+            party = null;
+            roster = new UUID[0];
+        }
+
+        private boolean sameRoster(Party currentParty) {
+            Collection<UUID> current = currentParty.getMembers();
+            if (current.size() != roster.length) {
+                return false;
+            }
+            int i = 0;
+            for (UUID memberUuid : current) {
+                if (!Objects.equals(memberUuid, roster[i++])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void notifyLeft(UUID[] previous, UUID self, Party current) {
+            for (UUID memberUuid : previous) {
+                if (memberUuid != null && !memberUuid.equals(self)
+                        && (current == null || !current.getMembers().contains(memberUuid))) {
+                    onMemberLeft(memberUuid);
+                }
+            }
+        }
+
+        private long outOfRangeMask(UUID self, Position selfPosition, double radiusSq) {
+            if (radiusSq <= 0.0 || selfPosition == null) {
+                return 0L;
+            }
+            long mask = 0L;
+            for (int i = 0; i < roster.length && i < Long.SIZE; i++) {
+                UUID memberUuid = roster[i];
+                if (memberUuid == null || memberUuid.equals(self)) {
+                    continue;
+                }
+                MemberState other = members.get(memberUuid);
+                Position otherPosition = other == null ? null : other.position;
+                if (otherPosition == null || otherPosition.store != selfPosition.store
+                        || distanceSquared(selfPosition, otherPosition) > radiusSq) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+    }
+
+    private int readLevel(CommandBuffer<EntityStore> commandBuffer, Ref<EntityStore> ref) {
+        RpgStats stats = commandBuffer.getComponent(ref, rpgStatsType);
+        return stats == null ? -1 : stats.getLevel();
+    }
+
+    private static int readHealthPercent(CommandBuffer<EntityStore> commandBuffer, Ref<EntityStore> ref) {
+        EntityStatMap statMap = commandBuffer.getComponent(ref, EntityStatMap.getComponentType());
+        if (statMap == null) {
+            return -1;
+        }
+        EntityStatValue healthStat = statMap.get(DefaultEntityStatTypes.getHealth());
+        if (healthStat == null || healthStat.getMax() <= 0.0f) {
+            return -1;
+        }
+        float percent = Math.max(0.0f, Math.min(1.0f, healthStat.get() / healthStat.getMax()));
+        return Math.round(percent * 100.0f);
+    }
+
+    /**
+     * The member's position, or the previous one when it has not moved, so a standing member
+     * allocates nothing.
+     */
+    private static Position readPosition(CommandBuffer<EntityStore> commandBuffer, Ref<EntityStore> ref,
+                                         Store<EntityStore> store, Position previous) {
+        TransformComponent transform = commandBuffer.getComponent(ref, TransformComponent.getComponentType());
+        Vector3d position = transform == null ? null : transform.getPosition();
+        if (position == null) {
+            return null;
+        }
+        double x = position.getX();
+        double y = position.getY();
+        double z = position.getZ();
+        if (previous != null && previous.store == store && previous.x == x && previous.y == y && previous.z == z) {
+            return previous;
+        }
+        return new Position(store, x, y, z);
+    }
+
+    private static double distanceSquared(Position a, Position b) {
+        double dx = a.x - b.x;
+        double dy = a.y - b.y;
+        double dz = a.z - b.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
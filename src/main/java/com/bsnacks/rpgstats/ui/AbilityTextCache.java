@@ -0,0 +1,296 @@
+package com.bsnacks.rpgstats.ui;
+
+import com.bsnacks.rpgstats.components.AbilityId;
+import com.bsnacks.rpgstats.components.RpgStats;
+import com.bsnacks.rpgstats.config.ConfigSnapshot;
+import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.systems.ArmorProficiencySystem;
+import com.bsnacks.rpgstats.systems.CriticalStrikeSystem;
+import com.bsnacks.rpgstats.systems.GlancingBlowSystem;
+import com.bsnacks.rpgstats.systems.GourmandSystem;
+import com.bsnacks.rpgstats.systems.LifestealSystem;
+import com.bsnacks.rpgstats.systems.LightFootSpeedEffect;
+import com.bsnacks.rpgstats.systems.LuckyMinerSystem;
+import com.bsnacks.rpgstats.systems.ThornsSystem;
+import com.bsnacks.rpgstats.systems.ToolProficiencySystem;
+
+import java.util.Locale;
+
+/**
+ * Preformatted ability text for the stats page: descriptions, "Level 2/3 (+10%)" labels and
+ * upgrade messages.
+ *
+ * The text depends only on the config and the ability level, so it is built once per published
+ * {@link ConfigSnapshot} and shared by every player's page. The first page refresh after a reload
+ * sees a new snapshot and rebuilds the table.
+ */
+public final class AbilityTextCache {
+
+    private static final double BASE_REGEN_PER_SEC = 1.0;
+    private static final AbilityId[] ABILITIES = AbilityId.values();
+
+    private static volatile AbilityTextCache current;
+
+    private final RpgStatsConfig config;
+    // The snapshot the text was built from; compared by identity.
+    private final ConfigSnapshot settings;
+    private final String[] descriptions;
+    // Indexed by [ability ordinal][level], levels 0..max ability level.
+    private final String[][] levelTexts;
+    private final String[][] upgradeTexts;
+
+    private AbilityTextCache(RpgStatsConfig config, ConfigSnapshot settings) {
+        this.config = config;
+        this.settings = settings;
+        this.descriptions = new String[ABILITIES.length];
+        this.levelTexts = new String[ABILITIES.length][];
+        this.upgradeTexts = new String[ABILITIES.length][];
+        for (AbilityId ability : ABILITIES) {
+            int index = ability.ordinal();
+            int maxLevel = settings == null ? RpgStats.getMaxAbilityLevel()
+                    : settings.getTunables().getMaxAbilityLevel();
+            descriptions[index] = describeAbility(settings, ability);
+            levelTexts[index] = new String[maxLevel + 1];
+            upgradeTexts[index] = new String[maxLevel + 1];
+            for (int level = 0; level <= maxLevel; level++) {
+                levelTexts[index][level] = formatLevelText(config, settings, ability, level, maxLevel);
+                upgradeTexts[index][level] = describeUpgrade(config, settings, ability, level);
+            }
+        }
+    }
+
+    /**
+     * Returns the table for the config's current snapshot, building it if the config was reloaded.
+     */
+    public static AbilityTextCache get(RpgStatsConfig config) {
+        ConfigSnapshot settings = config == null ? null : config.snapshot();
+        AbilityTextCache cached = current;
+        if (cached != null && cached.settings == settings && cached.config == config) {
+            return cached;
+        }
+        // Two threads may both rebuild after a reload; either table is correct.
+        AbilityTextCache rebuilt = new AbilityTextCache(config, settings);
+        current = rebuilt;
+        return rebuilt;
+    }
+
+    public String getDescription(AbilityId ability) {
+        return descriptions[ability.ordinal()];
+    }
+
+    /**
+     * Level label shown on the ability row, e.g. "Level 2/3 (+10%)".
+     */
+    public String getLevelText(AbilityId ability, int level) {
+        String[] texts = levelTexts[ability.ordinal()];
+        if (level >= 0 && level < texts.length) {
+            return texts[level];
+        }
+        return formatLevelText(config, settings, ability, level, RpgStats.getMaxAbilityLevel());
+    }
+
+    /**
+     * Bonus shown in the chat message after an upgrade, e.g. "+10% speed".
+     */
+    public String getUpgradeText(AbilityId ability, int level) {
+        String[] texts = upgradeTexts[ability.ordinal()];
+        if (level >= 0 && level < texts.length) {
+            return texts[level];
+        }
+        return describeUpgrade(config, settings, ability, level);
+    }
+
+    private static String formatLevelText(RpgStatsConfig config, ConfigSnapshot settings, AbilityId ability,
+                                          int level, int maxLevel) {
+        return "Level " + level + "/" + maxLevel + " (" + describeLevelBonus(config, settings, ability, level) + ")";
+    }
+
+    /**
+     * Current bonus shown next to the ability level, e.g. "+10%". Values come from the snapshot;
+     * the live config is only passed to formulas of systems that still read it directly.
+     */
+    private static String describeLevelBonus(RpgStatsConfig config, ConfigSnapshot settings, AbilityId ability,
+                                             int level) {
+        switch (ability) {
+            case LIGHT_FOOT:
+                return "+" + Math.round(LightFootSpeedEffect.getSpeedBonus(level, config) * 100.0f) + "%";
+            case ARMOR_PROFICIENCY:
+                return "+" + Math.round(ArmorProficiencySystem.getResistanceBonus(level, settings) * 100.0f) + "%";
+            case GLANCING_BLOW:
+                return Math.round(GlancingBlowSystem.getDodgeChance(level, settings)) + "%";
+            case HEALTH_REGEN: {
+                double perLevel = settings == null ? 1.0 : settings.getHealthRegenPerLevelPerSec();
+                return formatRate(BASE_REGEN_PER_SEC + perLevel * level) + "/s";
+            }
+            case STAMINA_REGEN: {
+                double perLevel = settings == null ? 1.0 : settings.getStaminaRegenPerLevelPerSec();
+                return formatRate(BASE_REGEN_PER_SEC + perLevel * level) + "/s";
+            }
+            case STRONG_LUNGS: {
+                double perLevel = settings == null ? 50.0 : settings.getStrongLungsOxygenPerLevelPct();
+                return "+" + formatPercent(perLevel * level) + "%";
+            }
+            case LUCKY_SHOT: {
+                double perLevel = settings == null ? 10.0 : settings.getLuckyShotChancePerLevelPct();
+                return formatPercent(perLevel * level) + "%";
+            }
+            case CRITICAL_STRIKE:
+                return formatPercent(CriticalStrikeSystem.getCriticalChance(level, settings)) + "%";
+            case LIFESTEAL:
+                return formatPercent(LifestealSystem.getLifestealPercent(level, settings)) + "%";
+            case THORNS:
+                return formatPercent(ThornsSystem.getThornsReflectPercent(level, settings)) + "%";
+            case TOOL_PROFICIENCY:
+                return formatPercent(ToolProficiencySystem.getPreservationChance(level, config)) + "%";
+            case LUCKY_MINER:
+                return formatPercent(LuckyMinerSystem.getBonusOreChance(level, config)) + "%";
+            case GOURMAND:
+                return "+" + formatPercent(GourmandSystem.getFoodBonusPercent(level, config)) + "%";
+            case FLAME_TOUCH: {
+                double perLevel = settings == null ? 15.0 : settings.getFlameTouchBonusDamagePerLevelPct();
+                return "+" + formatPercent((float) (perLevel * level)) + "%";
+            }
+            default:
+                return "";
+        }
+    }
+
+    private static String describeUpgrade(RpgStatsConfig config, ConfigSnapshot settings, AbilityId ability,
+                                          int level) {
+        String bonus = describeLevelBonus(config, settings, ability, level);
+        switch (ability) {
+            case LIGHT_FOOT:
+                return bonus + " speed";
+            case ARMOR_PROFICIENCY:
+                return bonus + " armor";
+            case GLANCING_BLOW:
+                return bonus + " dodge";
+            case STRONG_LUNGS:
+                return bonus + " oxygen";
+            case LUCKY_SHOT:
+                return bonus + " chance";
+            case CRITICAL_STRIKE: {
+                double multiplier = settings == null ? 1.5 : settings.getCriticalStrikeDamageMultiplier();
+                return bonus + " chance, " + String.format("%.1fx", multiplier) + " damage";
+            }
+            case LIFESTEAL:
+                return bonus + " of damage healed";
+            case THORNS:
+                return bonus + " damage reflected";
+            case TOOL_PROFICIENCY:
+                return bonus + " durability preservation chance";
+            case LUCKY_MINER:
+                return bonus + " bonus ore chance";
+            case GOURMAND:
+                return bonus + " food bonuses";
+            case FLAME_TOUCH:
+                return bonus + " fire damage";
+            default:
+                return bonus;
+        }
+    }
+
+    private static String describeAbility(ConfigSnapshot config, AbilityId ability) {
+        switch (ability) {
+            case LIGHT_FOOT: {
+                double perLevel = config == null ? 5.0 : config.getLightFootSpeedPerLevelPct();
+                return "Move " + formatPercent(perLevel) + "%, "
+                        + formatPercent(perLevel * 2.0) + "%, and " + formatPercent(perLevel * 3.0)
+                        + "% faster at levels 1-3.";
+            }
+            case ARMOR_PROFICIENCY: {
+                double perLevel = config == null ? 5.0 : config.getArmorProficiencyResistancePerLevelPct();
+                return "While wearing armor, reduce Physical and Projectile damage by "
+                        + formatPercent(perLevel) + "%, " + formatPercent(perLevel * 2.0) + "%, and "
+                        + formatPercent(perLevel * 3.0) + "%.";
+            }
+            case GLANCING_BLOW: {
+                double perLevel = config == null ? 5.0 : config.getGlancingBlowChancePerLevelPct();
+                return "Chance to dodge hostile NPC damage: "
+                        + formatPercent(5.0 + perLevel) + "%, "
+                        + formatPercent(5.0 + perLevel * 2.0) + "%, and "
+                        + formatPercent(5.0 + perLevel * 3.0) + "%.";
+            }
+            case HEALTH_REGEN: {
+                double perLevel = config == null ? 1.0 : config.getHealthRegenPerLevelPerSec();
+                return "Regenerate "
+                        + formatRate(BASE_REGEN_PER_SEC + perLevel) + ", "
+                        + formatRate(BASE_REGEN_PER_SEC + perLevel * 2.0) + ", and "
+                        + formatRate(BASE_REGEN_PER_SEC + perLevel * 3.0) + " health per second at levels 1-3.";
+            }
+            case STAMINA_REGEN: {
+                double perLevel = config == null ? 1.0 : config.getStaminaRegenPerLevelPerSec();
+                return "Regenerate "
+                        + formatRate(BASE_REGEN_PER_SEC + perLevel) + ", "
+                        + formatRate(BASE_REGEN_PER_SEC + perLevel * 2.0) + ", and "
+                        + formatRate(BASE_REGEN_PER_SEC + perLevel * 3.0) + " stamina per second at levels 1-3.";
+            }
+            case STRONG_LUNGS: {
+                double perLevel = config == null ? 50.0 : config.getStrongLungsOxygenPerLevelPct();
+                return "Increase max oxygen by " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case LUCKY_SHOT: {
+                double perLevel = config == null ? 10.0 : config.getLuckyShotChancePerLevelPct();
+                return "Chance to not consume ammo with bow/crossbow: " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case CRITICAL_STRIKE: {
+                double multiplier = config == null ? 1.5 : config.getCriticalStrikeDamageMultiplier();
+                double baseChance = config == null ? 5.0 : config.getCriticalStrikeBaseChancePct();
+                double perLevel = config == null ? 5.0 : config.getCriticalStrikeChancePerLevelPct();
+                return "Chance to deal " + String.format("%.1fx", multiplier)
+                        + " damage: " + formatPercent(baseChance + perLevel) + "%, "
+                        + formatPercent(baseChance + perLevel * 2.0) + "%, and "
+                        + formatPercent(baseChance + perLevel * 3.0) + "% at levels 1-3.";
+            }
+            case LIFESTEAL: {
+                double perLevel = config == null ? 3.0 : config.getLifestealPerLevelPct();
+                return "Heal for percentage of damage dealt: " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case THORNS: {
+                double perLevel = config == null ? 25.0 : config.getThornsReflectPerLevelPct();
+                return "Reflect damage back to attackers: " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case TOOL_PROFICIENCY: {
+                double perLevel = config == null ? 15.0 : config.getToolProficiencyChancePerLevelPct();
+                return "Chance to not consume tool durability: " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case LUCKY_MINER: {
+                double perLevel = config == null ? 10.0 : config.getLuckyMinerChancePerLevelPct();
+                return "Chance for bonus ore when mining: " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case GOURMAND: {
+                double perLevel = config == null ? 10.0 : config.getGourmandFoodBonusPerLevelPct();
+                return "Increase consumable stat gains by " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            case FLAME_TOUCH: {
+                double perLevel = config == null ? 15.0 : config.getFlameTouchBonusDamagePerLevelPct();
+                return "Adds bonus fire damage on hit: " + formatLevelPercents(perLevel) + " at levels 1-3.";
+            }
+            default:
+                return "";
+        }
+    }
+
+    // "5%, 10%, and 15%" for a per-level percentage.
+    private static String formatLevelPercents(double perLevel) {
+        return formatPercent(perLevel) + "%, "
+                + formatPercent(perLevel * 2.0) + "%, and "
+                + formatPercent(perLevel * 3.0) + "%";
+    }
+
+    private static String formatPercent(double value) {
+        double rounded = Math.round(value);
+        if (Math.abs(value - rounded) < 0.01) {
+            return String.valueOf((int) rounded);
+        }
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String formatRate(double value) {
+        double rounded = Math.round(value);
+        if (Math.abs(value - rounded) < 0.01) {
+            return String.valueOf((int) rounded);
+        }
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
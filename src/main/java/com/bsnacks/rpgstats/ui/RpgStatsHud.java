@@ -23,6 +23,7 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 public final class RpgStatsHud extends CustomUIHud {
@@ -33,11 +34,24 @@ public final class RpgStatsHud extends CustomUIHud {
     private static final String PARTY_LIST = "#PartyHudList";
     private static final int DEFAULT_PARTY_HUD_OFFSET_X = 20;
     private static final int DEFAULT_PARTY_HUD_OFFSET_Y = 20;
+    // XP bar resolution; smaller progress changes are not worth a packet.
+    private static final int PROGRESS_STEPS = 200;
     private final ComponentType<EntityStore, RpgStats> rpgStatsType;
     private final RpgStatsConfig config;
     private final PartyService partyService;
     private final PlayerRef playerRef;
 
+    // Last values sent to the client; refreshes only send fields that differ. Reset whenever the HUD is rebuilt.
+    private int sentLevel = -1;
+    private long sentXpInto = -1L;
+    private long sentXpTotal = -1L;
+    private boolean sentMaxed;
+    private int sentProgressStep = -1;
+    private Boolean sentPartyVisible;
+    private int sentPartyOffsetX = Integer.MIN_VALUE;
+    private int sentPartyOffsetY = Integer.MIN_VALUE;
+    private List<PartyRow> sentPartyRows = List.of();
+
     public RpgStatsHud(PlayerRef playerRef, ComponentType<EntityStore, RpgStats> rpgStatsType,
                        RpgStatsConfig config, PartyService partyService) {
         super(playerRef);
@@ -50,25 +64,27 @@ public final class RpgStatsHud extends CustomUIHud {
     @Override
     protected void build(UICommandBuilder uiCommandBuilder) {
         uiCommandBuilder.append(HUD_PATH);
+        // The client starts from the bare layout again, so the next refresh must send everything.
+        resetSentState();
     }
 
     public void refresh(Ref<EntityStore> ref, Store<EntityStore> store) {
         if (ref == null || !ref.isValid() || store == null) {
             return;
         }
-        UICommandBuilder builder = new UICommandBuilder();
-        applyState(ref, store, builder);
-        applyPartyState(ref, store, builder);
-        update(false, builder);
+        HudDiff diff = new HudDiff();
+        applyState(ref, store, diff);
+        applyPartyState(ref, store, diff);
+        sendIfChanged(diff);
     }
 
-    private void applyState(Ref<EntityStore> ref, Store<EntityStore> store, UICommandBuilder uiCommandBuilder) {
+    private void applyState(Ref<EntityStore> ref, Store<EntityStore> store, HudDiff diff) {
         RpgStats stats = store.ensureAndGetComponent(ref, rpgStatsType);
         stats.migrateIfNeeded();
-        applyState(stats, uiCommandBuilder);
+        applyState(stats, diff);
     }
 
-    private static void applyState(RpgStats stats, UICommandBuilder uiCommandBuilder) {
+    private void applyState(RpgStats stats, HudDiff diff) {
         if (stats == null) {
             return;
         }
@@ -81,85 +97,179 @@ public final class RpgStatsHud extends CustomUIHud {
         if (xpToNext == 0L) {
             progress = 1.0f;
         }
+        boolean maxed = xpToNext == 0L;
+        int progressStep = Math.round(Math.max(0.0f, Math.min(1.0f, progress)) * PROGRESS_STEPS);
+
+        if (level != sentLevel) {
+            diff.set("#XpHudLevel.Text", levelText(level));
+            sentLevel = level;
+        }
+        if (xpInto != sentXpInto || xpTotal != sentXpTotal || maxed != sentMaxed) {
+            diff.set("#XpHudText.Text", xpText(xpInto, xpToNext));
+            sentXpInto = xpInto;
+            sentXpTotal = xpTotal;
+            sentMaxed = maxed;
+        }
+        if (progressStep != sentProgressStep) {
+            diff.set("#XpHudBar.Value", (float) progressStep / PROGRESS_STEPS);
+            sentProgressStep = progressStep;
+        }
+    }
+
+    public static String levelText(int level) {
+        return "LV " + level;
+    }
 
-        uiCommandBuilder.set("#XpHudLevel.Text", "LV " + level);
-        uiCommandBuilder.set("#XpHudText.Text", xpToNext == 0L
-                ? "XP MAX"
-                : "XP " + xpInto + "/" + xpTotal);
-        uiCommandBuilder.set("#XpHudBar.Value", progress);
+    /**
+     * The XP line under the level, e.g. "XP 40/120", or "XP MAX" at the max level.
+     */
+    public static String xpText(long xpInto, long xpToNext) {
+        return xpToNext == 0L ? "XP MAX" : "XP " + xpInto + "/" + (xpInto + xpToNext);
     }
 
     public void refreshParty(Ref<EntityStore> ref, Store<EntityStore> store) {
         if (ref == null || !ref.isValid() || store == null) {
             return;
         }
-        UICommandBuilder builder = new UICommandBuilder();
-        applyPartyState(ref, store, builder);
-        update(false, builder);
+        HudDiff diff = new HudDiff();
+        applyPartyState(ref, store, diff);
+        sendIfChanged(diff);
     }
 
-    private void applyPartyState(Ref<EntityStore> ref, Store<EntityStore> store, UICommandBuilder uiCommandBuilder) {
-        uiCommandBuilder.set(PARTY_CONTAINER + ".Visible", false);
-        uiCommandBuilder.clear(PARTY_LIST);
-        if (config != null && (!config.isHudEnabled() || !config.isPartyHudEnabled() || !config.isPartyEnabled())) {
+    private void sendIfChanged(HudDiff diff) {
+        if (diff.builder != null) {
+            update(false, diff.builder);
+        }
+    }
+
+    private void resetSentState() {
+        sentLevel = -1;
+        sentXpInto = -1L;
+        sentXpTotal = -1L;
+        sentMaxed = false;
+        sentProgressStep = -1;
+        sentPartyVisible = null;
+        sentPartyOffsetX = Integer.MIN_VALUE;
+        sentPartyOffsetY = Integer.MIN_VALUE;
+        sentPartyRows = List.of();
+    }
+
+    private void applyPartyState(Ref<EntityStore> ref, Store<EntityStore> store, HudDiff diff) {
+        List<PartyRow> rows = collectPartyRows(store);
+        if (rows.isEmpty()) {
+            if (!Boolean.FALSE.equals(sentPartyVisible)) {
+                diff.set(PARTY_CONTAINER + ".Visible", false);
+                diff.clear(PARTY_LIST);
+                sentPartyVisible = Boolean.FALSE;
+                sentPartyRows = List.of();
+            }
             return;
         }
+
+        applyPartyHudPosition(diff);
+        if (!Boolean.TRUE.equals(sentPartyVisible)) {
+            diff.set(PARTY_CONTAINER + ".Visible", true);
+            sentPartyVisible = Boolean.TRUE;
+        }
+
+        // Rows are positional, so a join, leave or reorder rebuilds the list; otherwise only changed fields are sent.
+        boolean rebuild = !sameMembers(sentPartyRows, rows);
+        if (rebuild) {
+            diff.clear(PARTY_LIST);
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            PartyRow row = rows.get(i);
+            PartyRow sent = rebuild ? null : sentPartyRows.get(i);
+            String selector = PARTY_LIST + "[" + i + "]";
+            if (rebuild) {
+                diff.append(PARTY_LIST, PARTY_ENTRY_PATH);
+            }
+            if (sent == null || !sent.name.equals(row.name)) {
+                diff.set(selector + " #PartyHudMemberName.Text", row.name);
+            }
+            if (sent == null || sent.level != row.level) {
+                diff.set(selector + " #PartyHudMemberLevel.Text", row.level < 0 ? "LV ?" : "LV " + row.level);
+            }
+            if (sent == null || sent.healthPercent != row.healthPercent) {
+                if (row.healthPercent >= 0) {
+                    diff.set(selector + " #PartyHudMemberHealthBar.Value", row.healthPercent / 100.0f);
+                    diff.set(selector + " #PartyHudMemberHealthPct.Text", "HP " + row.healthPercent + "%");
+                } else {
+                    diff.set(selector + " #PartyHudMemberHealthBar.Value", 0.0f);
+                    diff.set(selector + " #PartyHudMemberHealthPct.Text", "HP ?%");
+                }
+            }
+            if (sent == null || sent.outOfRange != row.outOfRange) {
+                diff.set(selector + " #PartyHudMemberRange.Visible", row.outOfRange);
+            }
+        }
+        sentPartyRows = rows;
+    }
+
+    private List<PartyRow> collectPartyRows(Store<EntityStore> store) {
+        if (config != null && (!config.isHudEnabled() || !config.isPartyHudEnabled() || !config.isPartyEnabled())) {
+            return List.of();
+        }
         if (partyService == null || playerRef == null) {
-            return;
+            return List.of();
         }
         UUID selfUuid = playerRef.getUuid();
         if (selfUuid == null) {
-            return;
+            return List.of();
         }
         Party party = partyService.getPartyFor(selfUuid);
         if (party == null) {
-            return;
+            return List.of();
         }
         List<PlayerRef> onlineMembers = getOnlinePartyMembers(party);
         if (onlineMembers.isEmpty()) {
-            return;
+            return List.of();
         }
 
-        applyPartyHudPosition(uiCommandBuilder);
-        uiCommandBuilder.set(PARTY_CONTAINER + ".Visible", true);
-
         int radiusBlocks = config == null ? 0 : config.getPartyXpShareRadiusBlocks();
         double radiusSq = radiusBlocks > 0 ? (double) radiusBlocks * radiusBlocks : -1.0;
         Vector3d selfPos = readPosition(playerRef, store);
 
-        for (int i = 0; i < onlineMembers.size(); i++) {
-            PlayerRef memberRef = onlineMembers.get(i);
-            uiCommandBuilder.append(PARTY_LIST, PARTY_ENTRY_PATH);
-            String selector = PARTY_LIST + "[" + i + "]";
+        List<PartyRow> rows = new ArrayList<>(onlineMembers.size());
+        for (PlayerRef memberRef : onlineMembers) {
             String name = memberRef.getUsername();
             if (name == null || name.isBlank()) {
                 name = "Player";
             }
-            uiCommandBuilder.set(selector + " #PartyHudMemberName.Text", name);
-
             Integer level = readLevel(memberRef, store);
-            uiCommandBuilder.set(selector + " #PartyHudMemberLevel.Text", level == null ? "LV ?" : "LV " + level);
-
             HealthSnapshot health = readHealth(memberRef, store);
-            if (health.valid) {
-                int percent = Math.max(0, Math.min(100, Math.round(health.percent * 100.0f)));
-                uiCommandBuilder.set(selector + " #PartyHudMemberHealthBar.Value", health.percent);
-                uiCommandBuilder.set(selector + " #PartyHudMemberHealthPct.Text", "HP " + percent + "%");
-            } else {
-                uiCommandBuilder.set(selector + " #PartyHudMemberHealthBar.Value", 0.0f);
-                uiCommandBuilder.set(selector + " #PartyHudMemberHealthPct.Text", "HP ?%");
-            }
-
+            int healthPercent = health.valid
+                    ? Math.max(0, Math.min(100, Math.round(health.percent * 100.0f)))
+                    : -1;
             boolean outOfRange = isOutOfRange(selfPos, memberRef, store, radiusSq);
-            uiCommandBuilder.set(selector + " #PartyHudMemberRange.Visible", outOfRange);
+            rows.add(new PartyRow(memberRef.getUuid(), name, level == null ? -1 : level, healthPercent, outOfRange));
         }
+        return rows;
     }
 
-    private void applyPartyHudPosition(UICommandBuilder uiCommandBuilder) {
+    private static boolean sameMembers(List<PartyRow> sent, List<PartyRow> current) {
+        if (sent.size() != current.size()) {
+            return false;
+        }
+        for (int i = 0; i < sent.size(); i++) {
+            if (!Objects.equals(sent.get(i).uuid, current.get(i).uuid)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyPartyHudPosition(HudDiff diff) {
         int offsetX = config == null ? DEFAULT_PARTY_HUD_OFFSET_X : config.getPartyHudOffsetX();
         int offsetY = config == null ? DEFAULT_PARTY_HUD_OFFSET_Y : config.getPartyHudOffsetY();
-        uiCommandBuilder.set(PARTY_CONTAINER + ".Anchor.Left", offsetX);
-        uiCommandBuilder.set(PARTY_CONTAINER + ".Anchor.Top", offsetY);
+        if (offsetX != sentPartyOffsetX) {
+            diff.set(PARTY_CONTAINER + ".Anchor.Left", offsetX);
+            sentPartyOffsetX = offsetX;
+        }
+        if (offsetY != sentPartyOffsetY) {
+            diff.set(PARTY_CONTAINER + ".Anchor.Top", offsetY);
+            sentPartyOffsetY = offsetY;
+        }
     }
 
     private List<PlayerRef> getOnlinePartyMembers(Party party) {
@@ -273,9 +383,9 @@ public final class RpgStatsHud extends CustomUIHud {
         if (stats == null) {
             return;
         }
-        UICommandBuilder builder = new UICommandBuilder();
-        applyState(stats, builder);
-        update(false, builder);
+        HudDiff diff = new HudDiff();
+        applyState(stats, diff);
+        sendIfChanged(diff);
     }
 
     public static void refreshIfActive(Ref<EntityStore> ref, Store<EntityStore> store) {
@@ -341,6 +451,62 @@ public final class RpgStatsHud extends CustomUIHud {
         }
     }
 
+    /**
+     * Collects only the commands that differ from what the client already shows.
+     * The builder is created on first use, so an unchanged refresh allocates nothing to send.
+     */
+    private static final class HudDiff {
+        private UICommandBuilder builder;
+
+        private UICommandBuilder builder() {
+            if (builder == null) {
+                builder = new UICommandBuilder();
+            }
+            return builder;
+        }
+
+        private void set(String selector, String value) {
+            builder().set(selector, value);
+        }
+
+        private void set(String selector, float value) {
+            builder().set(selector, value);
+        }
+
+        private void set(String selector, int value) {
+            builder().set(selector, value);
+        }
+
+        private void set(String selector, boolean value) {
+            builder().set(selector, value);
+        }
+
+        private void append(String selector, String path) {
+            builder().append(selector, path);
+        }
+
+        private void clear(String selector) {
+            builder().clear(selector);
+        }
+    }
+
+    private static final class PartyRow {
+        private final UUID uuid;
+        private final String name;
+        private final int level;
+        // Whole percent, or -1 when the member's health cannot be read from this world.
+        private final int healthPercent;
+        private final boolean outOfRange;
+
+        private PartyRow(UUID uuid, String name, int level, int healthPercent, boolean outOfRange) {
+            this.uuid = uuid;
+            this.name = name;
+            this.level = level;
+            this.healthPercent = healthPercent;
+            this.outOfRange = outOfRange;
+        }
+    }
+
     private static final class HealthSnapshot {
         private final float current;
         private final float max;
@@ -1,23 +1,18 @@
 package com.bsnacks.rpgstats.ui;
 
 import com.bsnacks.rpgstats.RpgStatsPlugin;
+import com.bsnacks.rpgstats.components.AbilityId;
 import com.bsnacks.rpgstats.components.RpgStats;
 import com.bsnacks.rpgstats.config.RpgStatsConfig;
+import com.bsnacks.rpgstats.permissions.PermissionChecks;
 import com.bsnacks.rpgstats.permissions.RpgStatsPermissions;
 import com.bsnacks.rpgstats.systems.ConstitutionHealthEffect;
 import com.bsnacks.rpgstats.systems.EnduranceStaminaEffect;
+import com.bsnacks.rpgstats.systems.HudRefreshSystem;
 import com.bsnacks.rpgstats.systems.IntellectManaEffect;
 import com.bsnacks.rpgstats.systems.LightFootSpeedEffect;
-import com.bsnacks.rpgstats.systems.ArmorProficiencySystem;
-import com.bsnacks.rpgstats.systems.GlancingBlowSystem;
 import com.bsnacks.rpgstats.systems.StrongLungsOxygenEffect;
 import com.bsnacks.rpgstats.systems.LuckyShotSystem;
-import com.bsnacks.rpgstats.systems.CriticalStrikeSystem;
-import com.bsnacks.rpgstats.systems.LifestealSystem;
-import com.bsnacks.rpgstats.systems.GourmandSystem;
-import com.bsnacks.rpgstats.systems.ThornsSystem;
-import com.bsnacks.rpgstats.systems.ToolProficiencySystem;
-import com.bsnacks.rpgstats.systems.LuckyMinerSystem;
 import com.bsnacks.rpgstats.party.Party;
 import com.bsnacks.rpgstats.party.PartyInvite;
 import com.bsnacks.rpgstats.party.PartyService;
@@ -70,22 +65,6 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
     private static final String ACTION_PARTY_INVITE = "PartyInvite";
     private static final String ACTION_PARTY_ACCEPT = "PartyAccept";
     private static final String ACTION_PARTY_DECLINE = "PartyDecline";
-    private static final String ABILITY_LIGHT_FOOT = "light_foot";
-    private static final String ABILITY_ARMOR_PROFICIENCY = "armor_proficiency";
-    private static final String ABILITY_GLANCING_BLOW = "glancing_blow";
-    private static final String ABILITY_HEALTH_REGEN = "health_regen";
-    private static final String ABILITY_STAMINA_REGEN = "stamina_regen";
-    private static final String ABILITY_STRONG_LUNGS = "strong_lungs";
-    private static final String ABILITY_LUCKY_SHOT = "lucky_shot";
-    private static final String ABILITY_CRITICAL_STRIKE = "critical_strike";
-    private static final String ABILITY_LIFESTEAL = "lifesteal";
-    private static final String ABILITY_THORNS = "thorns";
-    private static final String ABILITY_TOOL_PROFICIENCY = "tool_proficiency";
-    private static final String ABILITY_LUCKY_MINER = "lucky_miner";
-    private static final String ABILITY_GOURMAND = "gourmand";
-    private static final String ABILITY_FLAME_TOUCH = "flame_touch";
-    private static final int DEFAULT_STAT_CAP = 25;
-    private static final double BASE_REGEN_PER_SEC = 1.0;
     private static final int PARTY_SLOT_COUNT = 8;
 
     private static final Value<String> TAB_STYLE_ACTIVE = Value.ref("Common.ui", "DefaultTextButtonStyle");
@@ -95,6 +74,11 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
     private final RpgStatsPlugin plugin;
     private final PartyService partyService;
     private String activeTab = TAB_STATS;
+    // In-page refreshes render only the open tab and mark the others stale. Switching tabs always
+    // renders the new tab, since XP, level-ups, admin commands and reloads change stats while the
+    // page stays open. The Party tab is always re-rendered because it shows other players.
+    private boolean statsTabStale = true;
+    private boolean abilitiesTabStale = true;
     private final Map<Integer, UUID> partySlotTargets = new HashMap<>();
 
     public StatsPage(PlayerRef playerRef, ComponentType<EntityStore, RpgStats> rpgStatsType,
@@ -112,6 +96,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
         uiCommandBuilder.append(PAGE_PATH);
         bindEvents(uiEventBuilder);
         Player player = store.getComponent(ref, Player.getComponentType());
+        markTabsStale();
         applyState(ref, store, player, uiCommandBuilder);
     }
 
@@ -192,20 +177,9 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
         bindStatButton(uiEventBuilder, "#AddInt", "int");
         bindStatButton(uiEventBuilder, "#AddEnd", "end");
         bindStatButton(uiEventBuilder, "#AddCha", "cha");
-        bindAbilityButton(uiEventBuilder, "#LightFootUpgrade", ABILITY_LIGHT_FOOT);
-        bindAbilityButton(uiEventBuilder, "#ArmorProficiencyUpgrade", ABILITY_ARMOR_PROFICIENCY);
-        bindAbilityButton(uiEventBuilder, "#GlancingBlowUpgrade", ABILITY_GLANCING_BLOW);
-        bindAbilityButton(uiEventBuilder, "#HealthRegenUpgrade", ABILITY_HEALTH_REGEN);
-        bindAbilityButton(uiEventBuilder, "#StaminaRegenUpgrade", ABILITY_STAMINA_REGEN);
-        bindAbilityButton(uiEventBuilder, "#StrongLungsUpgrade", ABILITY_STRONG_LUNGS);
-        bindAbilityButton(uiEventBuilder, "#LuckyShotUpgrade", ABILITY_LUCKY_SHOT);
-        bindAbilityButton(uiEventBuilder, "#CriticalStrikeUpgrade", ABILITY_CRITICAL_STRIKE);
-        bindAbilityButton(uiEventBuilder, "#LifestealUpgrade", ABILITY_LIFESTEAL);
-        bindAbilityButton(uiEventBuilder, "#ThornsUpgrade", ABILITY_THORNS);
-        bindAbilityButton(uiEventBuilder, "#ToolProficiencyUpgrade", ABILITY_TOOL_PROFICIENCY);
-        bindAbilityButton(uiEventBuilder, "#LuckyMinerUpgrade", ABILITY_LUCKY_MINER);
-        bindAbilityButton(uiEventBuilder, "#GourmandUpgrade", ABILITY_GOURMAND);
-        bindAbilityButton(uiEventBuilder, "#FlameTouchUpgrade", ABILITY_FLAME_TOUCH);
+        for (AbilityId ability : AbilityId.values()) {
+            bindAbilityButton(uiEventBuilder, "#" + ability.getKey() + "Upgrade", ability.getId());
+        }
         uiEventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#ResetStatsButton",
                 new EventData()
                         .append(StatsPageEventData.KEY_TYPE, ACTION_RESET_STATS));
@@ -259,7 +233,14 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
         activeTab = tab;
-        refreshUI(ref, store, player);
+        // Stats may have changed outside the page since the tab was last shown.
+        RpgStats stats = store.ensureAndGetComponent(ref, rpgStatsType);
+        stats.migrateIfNeeded();
+        UICommandBuilder builder = new UICommandBuilder();
+        updateTabVisibility(builder);
+        markTabsStale();
+        applyActiveTab(ref, store, player, stats, builder);
+        sendUpdate(builder);
     }
 
     private void handlePartyCreate(Ref<EntityStore> ref, Store<EntityStore> store, Player player) {
@@ -287,6 +268,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
         player.sendMessage(Message.raw("Party created. You are the leader."));
         if (plugin != null) {
             plugin.logInfo("Party created via UI: leader=" + player.getDisplayName());
+            plugin.markPartyHudChanged(selfUuid);
         }
         refreshUI(ref, store, player);
     }
@@ -306,6 +288,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
         boolean wasLeader = party.isLeader(selfUuid);
+        List<UUID> formerMembers = new ArrayList<>(party.getMembers());
         PartyService.PartyResult result = wasLeader
                 ? partyService.disband(selfUuid)
                 : partyService.leave(selfUuid);
@@ -329,6 +312,10 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             }
         }
         if (plugin != null) {
+            // Former members are no longer polled by the party HUD system, so hide or update their lists here.
+            for (UUID memberUuid : formerMembers) {
+                plugin.scheduleHudRefresh(memberUuid, HudRefreshSystem.Reason.OTHER);
+            }
             plugin.logInfo("Party leave via UI: player=" + player.getDisplayName());
         }
         refreshUI(ref, store, player);
@@ -428,6 +415,9 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             refreshUI(ref, store, player);
             return;
         }
+        if (plugin != null) {
+            plugin.markPartyHudChanged(selfUuid);
+        }
         PlayerRef inviterRef = Universe.get().getPlayer(inviterUuid);
         if (inviterRef != null && inviterRef.isValid()) {
             inviterRef.sendMessage(Message.raw(player.getDisplayName() + " joined your party."));
@@ -478,7 +468,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
 
-        if (!player.hasPermission(RpgStatsPermissions.STATS_ADD)) {
+        if (!PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_ADD)) {
             player.sendMessage(Message.raw("You do not have permission to spend stat points."));
             refreshUI(ref, store, player);
             return;
@@ -531,7 +521,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
 
-        if (!player.hasPermission(RpgStatsPermissions.STATS_ADD)) {
+        if (!PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_ADD)) {
             player.sendMessage(Message.raw("You do not have permission to spend ability points."));
             refreshUI(ref, store, player);
             return;
@@ -539,462 +529,44 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
 
         RpgStats stats = store.ensureAndGetComponent(ref, rpgStatsType);
         stats.migrateIfNeeded();
-        if (ABILITY_LIGHT_FOOT.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getLightFootLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getLightFootMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Light Foot is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Light Foot."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeLightFoot()) {
-                player.sendMessage(Message.raw("Light Foot is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-
-            LightFootSpeedEffect.apply(ref, store, player, stats, config, plugin);
-            int level = stats.getLightFootLevel();
-            int percent = Math.round(LightFootSpeedEffect.getSpeedBonus(level, config) * 100.0f);
-            player.sendMessage(Message.raw("Light Foot upgraded to level " + level + " (+" + percent + "% speed)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Light Foot to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_ARMOR_PROFICIENCY.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getArmorProficiencyLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getArmorProficiencyMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Armor Proficiency is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Armor Proficiency."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeArmorProficiency()) {
-                player.sendMessage(Message.raw("Armor Proficiency is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-
-            int level = stats.getArmorProficiencyLevel();
-            int percent = Math.round(ArmorProficiencySystem.getResistanceBonus(level, config) * 100.0f);
-            player.sendMessage(Message.raw("Armor Proficiency upgraded to level " + level + " (+" + percent + "% armor)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Armor Proficiency to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_GLANCING_BLOW.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getGlancingBlowLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getGlancingBlowMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Glancing Blow is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Glancing Blow."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeGlancingBlow()) {
-                player.sendMessage(Message.raw("Glancing Blow is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-
-            int level = stats.getGlancingBlowLevel();
-            int percent = Math.round(GlancingBlowSystem.getDodgeChance(level, config));
-            player.sendMessage(Message.raw("Glancing Blow upgraded to level " + level + " (" + percent + "% dodge)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Glancing Blow to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_HEALTH_REGEN.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getHealthRegenLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getHealthRegenMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Health Regeneration is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Health Regeneration."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeHealthRegen()) {
-                player.sendMessage(Message.raw("Health Regeneration is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getHealthRegenLevel();
-            double perLevel = config == null ? 1.0 : config.getHealthRegenPerLevelPerSec();
-            double totalPerSec = BASE_REGEN_PER_SEC + perLevel * level;
-            player.sendMessage(Message.raw("Health Regeneration upgraded to level " + level
-                    + " (" + formatRate(totalPerSec) + "/s)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Health Regeneration to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_STAMINA_REGEN.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getStaminaRegenLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getStaminaRegenMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Stamina Regeneration is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Stamina Regeneration."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeStaminaRegen()) {
-                player.sendMessage(Message.raw("Stamina Regeneration is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getStaminaRegenLevel();
-            double perLevel = config == null ? 1.0 : config.getStaminaRegenPerLevelPerSec();
-            double totalPerSec = BASE_REGEN_PER_SEC + perLevel * level;
-            player.sendMessage(Message.raw("Stamina Regeneration upgraded to level " + level
-                    + " (" + formatRate(totalPerSec) + "/s)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Stamina Regeneration to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_STRONG_LUNGS.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getStrongLungsLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getStrongLungsMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Strong Lungs is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Strong Lungs."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeStrongLungs()) {
-                player.sendMessage(Message.raw("Strong Lungs is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getStrongLungsLevel();
-            double perLevel = config == null ? 50.0 : config.getStrongLungsOxygenPerLevelPct();
-            double totalPct = perLevel * level;
-            player.sendMessage(Message.raw("Strong Lungs upgraded to level " + level
-                    + " (+" + formatPercent(totalPct) + "% oxygen)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Strong Lungs to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_LUCKY_SHOT.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getLuckyShotLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getLuckyShotMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Lucky Shot is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Lucky Shot."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeLuckyShot()) {
-                player.sendMessage(Message.raw("Lucky Shot is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getLuckyShotLevel();
-            double perLevel = config == null ? 10.0 : config.getLuckyShotChancePerLevelPct();
-            double totalPct = perLevel * level;
-            player.sendMessage(Message.raw("Lucky Shot upgraded to level " + level
-                    + " (" + formatPercent(totalPct) + "% chance)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Lucky Shot to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_CRITICAL_STRIKE.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getCriticalStrikeLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getCriticalStrikeMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Critical Strike is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Critical Strike."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeCriticalStrike()) {
-                player.sendMessage(Message.raw("Critical Strike is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getCriticalStrikeLevel();
-            float totalChance = CriticalStrikeSystem.getCriticalChance(level, config);
-            double multiplier = config == null ? 1.5 : config.getCriticalStrikeDamageMultiplier();
-            player.sendMessage(Message.raw("Critical Strike upgraded to level " + level
-                    + " (" + formatPercent(totalChance) + "% chance, " + String.format("%.1fx", multiplier) + " damage)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Critical Strike to " + level + ": " + player.getDisplayName());
-            }
+        AbilityId ability = AbilityId.fromId(abilityId);
+        if (ability == null) {
+            player.sendMessage(Message.raw("Unknown ability '" + abilityId + "'."));
             refreshUI(ref, store, player);
             return;
         }
 
-        if (ABILITY_LIFESTEAL.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getLifestealLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getLifestealMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Lifesteal is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Lifesteal."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeLifesteal()) {
-                player.sendMessage(Message.raw("Lifesteal is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getLifestealLevel();
-            float lifestealPct = LifestealSystem.getLifestealPercent(level, config);
-            player.sendMessage(Message.raw("Lifesteal upgraded to level " + level
-                    + " (" + formatPercent(lifestealPct) + "% of damage healed)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Lifesteal to " + level + ": " + player.getDisplayName());
-            }
+        String name = ability.getDisplayName();
+        int currentLevel = stats.getAbilityLevel(ability);
+        int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getMaxAbilityLevel());
+        int available = stats.getAvailableAbilityPoints();
+        if (cost == 0) {
+            player.sendMessage(Message.raw(name + " is already at max level."));
             refreshUI(ref, store, player);
             return;
         }
-
-        if (ABILITY_THORNS.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getThornsLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getThornsMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Thorns is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Thorns."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeThorns()) {
-                player.sendMessage(Message.raw("Thorns is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getThornsLevel();
-            float thornsPct = ThornsSystem.getThornsReflectPercent(level, config);
-            player.sendMessage(Message.raw("Thorns upgraded to level " + level
-                    + " (" + formatPercent(thornsPct) + "% damage reflected)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Thorns to " + level + ": " + player.getDisplayName());
-            }
+        if (available < cost) {
+            player.sendMessage(Message.raw("You need " + cost + " ability point"
+                    + (cost == 1 ? "" : "s") + " to upgrade " + name + "."));
             refreshUI(ref, store, player);
             return;
         }
-
-        if (ABILITY_TOOL_PROFICIENCY.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getToolProficiencyLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getToolProficiencyMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Tool Proficiency is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Tool Proficiency."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeToolProficiency()) {
-                player.sendMessage(Message.raw("Tool Proficiency is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getToolProficiencyLevel();
-            float toolProficiencyPct = ToolProficiencySystem.getPreservationChance(level, config);
-            player.sendMessage(Message.raw("Tool Proficiency upgraded to level " + level
-                    + " (" + formatPercent(toolProficiencyPct) + "% durability preservation chance)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Tool Proficiency to " + level + ": " + player.getDisplayName());
-            }
+        if (!stats.upgrade(ability)) {
+            player.sendMessage(Message.raw(name + " is already at max level."));
             refreshUI(ref, store, player);
             return;
         }
 
-        if (ABILITY_LUCKY_MINER.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getLuckyMinerLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getLuckyMinerMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Lucky Miner is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Lucky Miner."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeLuckyMiner()) {
-                player.sendMessage(Message.raw("Lucky Miner is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getLuckyMinerLevel();
-            float luckyMinerPct = LuckyMinerSystem.getBonusOreChance(level, config);
-            player.sendMessage(Message.raw("Lucky Miner upgraded to level " + level
-                    + " (" + formatPercent(luckyMinerPct) + "% bonus ore chance)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Lucky Miner to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
-        }
-
-        if (ABILITY_GOURMAND.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getGourmandLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getGourmandMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Gourmand is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Gourmand."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeGourmand()) {
-                player.sendMessage(Message.raw("Gourmand is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getGourmandLevel();
-            float bonusPct = GourmandSystem.getFoodBonusPercent(level, config);
-            player.sendMessage(Message.raw("Gourmand upgraded to level " + level
-                    + " (+" + formatPercent(bonusPct) + "% food bonuses)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Gourmand to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
+        if (ability == AbilityId.LIGHT_FOOT) {
+            LightFootSpeedEffect.apply(ref, store, player, stats, config, plugin);
         }
-
-        if (ABILITY_FLAME_TOUCH.equalsIgnoreCase(abilityId)) {
-            int currentLevel = stats.getFlameTouchLevel();
-            int cost = RpgStats.getAbilityUpgradeCost(currentLevel, RpgStats.getFlameTouchMaxLevel());
-            int available = stats.getAvailableAbilityPoints();
-            if (cost == 0) {
-                player.sendMessage(Message.raw("Flame Touch is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (available < cost) {
-                player.sendMessage(Message.raw("You need " + cost + " ability point"
-                        + (cost == 1 ? "" : "s") + " to upgrade Flame Touch."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            if (!stats.upgradeFlameTouch()) {
-                player.sendMessage(Message.raw("Flame Touch is already at max level."));
-                refreshUI(ref, store, player);
-                return;
-            }
-            int level = stats.getFlameTouchLevel();
-            double bonusPct = config == null ? 15.0 : config.getFlameTouchBonusDamagePerLevelPct();
-            float totalBonus = (float) (bonusPct * level);
-            player.sendMessage(Message.raw("Flame Touch upgraded to level " + level
-                    + " (+" + formatPercent(totalBonus) + "% fire damage)."
-                    + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
-            if (plugin != null) {
-                plugin.logInfo("Player upgraded Flame Touch to " + level + ": " + player.getDisplayName());
-            }
-            refreshUI(ref, store, player);
-            return;
+        int level = stats.getAbilityLevel(ability);
+        player.sendMessage(Message.raw(name + " upgraded to level " + level
+                + " (" + AbilityTextCache.get(config).getUpgradeText(ability, level) + ")."
+                + " Remaining ability points: " + stats.getAvailableAbilityPoints() + "."));
+        if (plugin != null) {
+            plugin.logInfo("Player upgraded " + name + " to " + level + ": " + player.getDisplayName());
         }
-
-        player.sendMessage(Message.raw("Unknown ability '" + abilityId + "'."));
         refreshUI(ref, store, player);
     }
 
@@ -1003,7 +575,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
 
-        if (!player.hasPermission(RpgStatsPermissions.STATS_RESET)) {
+        if (!PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_RESET)) {
             player.sendMessage(Message.raw("You do not have permission to reset stats."));
             refreshUI(ref, store, player);
             return;
@@ -1029,7 +601,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
 
-        if (!player.hasPermission(RpgStatsPermissions.STATS_RESET)) {
+        if (!PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_RESET)) {
             player.sendMessage(Message.raw("You do not have permission to refund attribute points."));
             refreshUI(ref, store, player);
             return;
@@ -1064,7 +636,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
             return;
         }
 
-        if (!player.hasPermission(RpgStatsPermissions.STATS_RESET)) {
+        if (!PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_RESET)) {
             player.sendMessage(Message.raw("You do not have permission to refund ability points."));
             refreshUI(ref, store, player);
             return;
@@ -1094,6 +666,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
     }
 
     private void refreshUI(Ref<EntityStore> ref, Store<EntityStore> store, Player player) {
+        markTabsStale();
         UICommandBuilder builder = new UICommandBuilder();
         applyState(ref, store, player, builder);
         sendUpdate(builder);
@@ -1104,18 +677,39 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
         RpgStats stats = store.ensureAndGetComponent(ref, rpgStatsType);
         stats.migrateIfNeeded();
 
-        uiCommandBuilder.set("#StrValue.Text", String.valueOf(stats.getStr()));
-        uiCommandBuilder.set("#DexValue.Text", String.valueOf(stats.getDex()));
-        uiCommandBuilder.set("#ConValue.Text", String.valueOf(stats.getCon()));
-        uiCommandBuilder.set("#IntValue.Text", String.valueOf(stats.getIntl()));
-        uiCommandBuilder.set("#EndValue.Text", String.valueOf(stats.getEnd()));
-        uiCommandBuilder.set("#ChaValue.Text", String.valueOf(stats.getCha()));
+        updateTabVisibility(uiCommandBuilder);
+        applyActiveTab(ref, store, player, stats, uiCommandBuilder);
+    }
 
+    private void markTabsStale() {
+        statsTabStale = true;
+        abilitiesTabStale = true;
+    }
+
+    private void applyActiveTab(Ref<EntityStore> ref, Store<EntityStore> store, Player player, RpgStats stats,
+                                UICommandBuilder uiCommandBuilder) {
+        if (TAB_STATS.equalsIgnoreCase(activeTab)) {
+            if (statsTabStale) {
+                updateStatValues(uiCommandBuilder, stats);
+                updateAddButtons(uiCommandBuilder, stats, player);
+                statsTabStale = false;
+            }
+        } else if (TAB_ABILITIES.equalsIgnoreCase(activeTab)) {
+            if (abilitiesTabStale) {
+                uiCommandBuilder.set("#AbilityPointsValue.Text", String.valueOf(stats.getAvailableAbilityPoints()));
+                updateAbilityButtons(uiCommandBuilder, stats, player);
+                abilitiesTabStale = false;
+            }
+        } else if (TAB_PARTY.equalsIgnoreCase(activeTab)) {
+            updatePartyContent(ref, store, player, uiCommandBuilder);
+        }
+    }
+
+    private void updateStatValues(UICommandBuilder uiCommandBuilder, RpgStats stats) {
         int level = stats.getLevel();
         int points = stats.getAvailableStatPoints();
         uiCommandBuilder.set("#LevelValue.Text", String.valueOf(level));
         uiCommandBuilder.set("#PointsValue.Text", String.valueOf(points));
-        uiCommandBuilder.set("#AbilityPointsValue.Text", String.valueOf(stats.getAvailableAbilityPoints()));
 
         long xpInto = stats.getXpIntoLevel();
         long xpToNext = stats.getXpToNextLevel();
@@ -1130,10 +724,12 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
                 ? "XP MAX"
                 : "XP " + xpInto + "/" + xpTotal);
 
-        updateTabVisibility(uiCommandBuilder);
-        updateAddButtons(uiCommandBuilder, stats, player);
-        updateAbilityButtons(uiCommandBuilder, stats, player);
-        updatePartyContent(ref, store, player, uiCommandBuilder);
+        uiCommandBuilder.set("#StrValue.Text", String.valueOf(stats.getStr()));
+        uiCommandBuilder.set("#DexValue.Text", String.valueOf(stats.getDex()));
+        uiCommandBuilder.set("#ConValue.Text", String.valueOf(stats.getCon()));
+        uiCommandBuilder.set("#IntValue.Text", String.valueOf(stats.getIntl()));
+        uiCommandBuilder.set("#EndValue.Text", String.valueOf(stats.getEnd()));
+        uiCommandBuilder.set("#ChaValue.Text", String.valueOf(stats.getCha()));
     }
 
     private void updateTabVisibility(UICommandBuilder uiCommandBuilder) {
@@ -1152,7 +748,7 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
     }
 
     private void updateAddButtons(UICommandBuilder uiCommandBuilder, RpgStats stats, Player player) {
-        boolean canSpend = player != null && player.hasPermission(RpgStatsPermissions.STATS_ADD);
+        boolean canSpend = player != null && PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_ADD);
         int points = stats.getAvailableStatPoints();
 
         setAddButtonState(uiCommandBuilder, "#AddStr", canSpend && points > 0 && stats.getStr() < getStatCap("str"));
@@ -1164,205 +760,21 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
     }
 
     private void updateAbilityButtons(UICommandBuilder uiCommandBuilder, RpgStats stats, Player player) {
-        boolean canSpend = player != null && player.hasPermission(RpgStatsPermissions.STATS_ADD);
+        boolean canSpend = player != null && PermissionChecks.hasPermission(player, RpgStatsPermissions.STATS_ADD);
         int points = stats.getAvailableAbilityPoints();
-        int level = stats.getLightFootLevel();
-        int percent = Math.round(LightFootSpeedEffect.getSpeedBonus(level, config) * 100.0f);
-        uiCommandBuilder.set("#LightFootLevel.Text", "Level " + level + "/" + RpgStats.getLightFootMaxLevel()
-                + " (+" + percent + "%)");
-        double lightFootPerLevel = config == null ? 5.0 : config.getLightFootSpeedPerLevelPct();
-        uiCommandBuilder.set("#LightFootDescription.Text", "Move " + formatPercent(lightFootPerLevel) + "%, "
-                + formatPercent(lightFootPerLevel * 2.0) + "%, and " + formatPercent(lightFootPerLevel * 3.0)
-                + "% faster at levels 1-3.");
-
-        int lightFootCost = RpgStats.getAbilityUpgradeCost(level, RpgStats.getLightFootMaxLevel());
-        boolean canUpgrade = canSpend && lightFootCost > 0 && points >= lightFootCost;
-        uiCommandBuilder.set("#LightFootUpgrade.HitTestVisible", canUpgrade);
-        uiCommandBuilder.set("#LightFootUpgrade.Text", lightFootCost == 0 ? "Maxed" : String.valueOf(lightFootCost));
-
-        int armorProficiencyLevel = stats.getArmorProficiencyLevel();
-        int armorProficiencyPercent = Math.round(ArmorProficiencySystem.getResistanceBonus(armorProficiencyLevel, config) * 100.0f);
-        uiCommandBuilder.set("#ArmorProficiencyLevel.Text", "Level " + armorProficiencyLevel + "/" + RpgStats.getArmorProficiencyMaxLevel()
-                + " (+" + armorProficiencyPercent + "%)");
-        double armorProficiencyPerLevel = config == null ? 5.0 : config.getArmorProficiencyResistancePerLevelPct();
-        uiCommandBuilder.set("#ArmorProficiencyDescription.Text", "While wearing armor, reduce Physical and Projectile damage by "
-                + formatPercent(armorProficiencyPerLevel) + "%, " + formatPercent(armorProficiencyPerLevel * 2.0) + "%, and "
-                + formatPercent(armorProficiencyPerLevel * 3.0) + "%.");
-
-        int armorProficiencyCost = RpgStats.getAbilityUpgradeCost(armorProficiencyLevel, RpgStats.getArmorProficiencyMaxLevel());
-        boolean canUpgradeArmorProficiency = canSpend && armorProficiencyCost > 0 && points >= armorProficiencyCost;
-        uiCommandBuilder.set("#ArmorProficiencyUpgrade.HitTestVisible", canUpgradeArmorProficiency);
-        uiCommandBuilder.set("#ArmorProficiencyUpgrade.Text", armorProficiencyCost == 0 ? "Maxed" : String.valueOf(armorProficiencyCost));
-
-        int glancingBlowLevel = stats.getGlancingBlowLevel();
-        int glancingBlowPercent = Math.round(GlancingBlowSystem.getDodgeChance(glancingBlowLevel, config));
-        uiCommandBuilder.set("#GlancingBlowLevel.Text", "Level " + glancingBlowLevel + "/" + RpgStats.getGlancingBlowMaxLevel()
-                + " (" + glancingBlowPercent + "%)");
-        double glancingBlowPerLevel = config == null ? 5.0 : config.getGlancingBlowChancePerLevelPct();
-        uiCommandBuilder.set("#GlancingBlowDescription.Text", "Chance to dodge hostile NPC damage: "
-                + formatPercent(5.0 + glancingBlowPerLevel) + "%, "
-                + formatPercent(5.0 + glancingBlowPerLevel * 2.0) + "%, and "
-                + formatPercent(5.0 + glancingBlowPerLevel * 3.0) + "%.");
-        int glancingBlowCost = RpgStats.getAbilityUpgradeCost(glancingBlowLevel, RpgStats.getGlancingBlowMaxLevel());
-        boolean canUpgradeGlancingBlow = canSpend && glancingBlowCost > 0 && points >= glancingBlowCost;
-        uiCommandBuilder.set("#GlancingBlowUpgrade.HitTestVisible", canUpgradeGlancingBlow);
-        uiCommandBuilder.set("#GlancingBlowUpgrade.Text", glancingBlowCost == 0 ? "Maxed" : String.valueOf(glancingBlowCost));
-
-        int healthRegenLevel = stats.getHealthRegenLevel();
-        double healthRegenPerLevel = config == null ? 1.0 : config.getHealthRegenPerLevelPerSec();
-        double healthTotal = BASE_REGEN_PER_SEC + healthRegenPerLevel * healthRegenLevel;
-        uiCommandBuilder.set("#HealthRegenLevel.Text", "Level " + healthRegenLevel + "/" + RpgStats.getHealthRegenMaxLevel()
-                + " (" + formatRate(healthTotal) + "/s)");
-        uiCommandBuilder.set("#HealthRegenDescription.Text", "Regenerate "
-                + formatRate(BASE_REGEN_PER_SEC + healthRegenPerLevel) + ", "
-                + formatRate(BASE_REGEN_PER_SEC + healthRegenPerLevel * 2.0) + ", and "
-                + formatRate(BASE_REGEN_PER_SEC + healthRegenPerLevel * 3.0) + " health per second at levels 1-3.");
-        int healthRegenCost = RpgStats.getAbilityUpgradeCost(healthRegenLevel, RpgStats.getHealthRegenMaxLevel());
-        boolean canUpgradeHealthRegen = canSpend && healthRegenCost > 0 && points >= healthRegenCost;
-        uiCommandBuilder.set("#HealthRegenUpgrade.HitTestVisible", canUpgradeHealthRegen);
-        uiCommandBuilder.set("#HealthRegenUpgrade.Text", healthRegenCost == 0 ? "Maxed" : String.valueOf(healthRegenCost));
-
-        int staminaRegenLevel = stats.getStaminaRegenLevel();
-        double staminaRegenPerLevel = config == null ? 1.0 : config.getStaminaRegenPerLevelPerSec();
-        double staminaTotal = BASE_REGEN_PER_SEC + staminaRegenPerLevel * staminaRegenLevel;
-        uiCommandBuilder.set("#StaminaRegenLevel.Text", "Level " + staminaRegenLevel + "/" + RpgStats.getStaminaRegenMaxLevel()
-                + " (" + formatRate(staminaTotal) + "/s)");
-        uiCommandBuilder.set("#StaminaRegenDescription.Text", "Regenerate "
-                + formatRate(BASE_REGEN_PER_SEC + staminaRegenPerLevel) + ", "
-                + formatRate(BASE_REGEN_PER_SEC + staminaRegenPerLevel * 2.0) + ", and "
-                + formatRate(BASE_REGEN_PER_SEC + staminaRegenPerLevel * 3.0) + " stamina per second at levels 1-3.");
-        int staminaRegenCost = RpgStats.getAbilityUpgradeCost(staminaRegenLevel, RpgStats.getStaminaRegenMaxLevel());
-        boolean canUpgradeStaminaRegen = canSpend && staminaRegenCost > 0 && points >= staminaRegenCost;
-        uiCommandBuilder.set("#StaminaRegenUpgrade.HitTestVisible", canUpgradeStaminaRegen);
-        uiCommandBuilder.set("#StaminaRegenUpgrade.Text", staminaRegenCost == 0 ? "Maxed" : String.valueOf(staminaRegenCost));
-
-        int strongLungsLevel = stats.getStrongLungsLevel();
-        double strongLungsPerLevel = config == null ? 50.0 : config.getStrongLungsOxygenPerLevelPct();
-        double strongLungsTotalPct = strongLungsPerLevel * strongLungsLevel;
-        uiCommandBuilder.set("#StrongLungsLevel.Text", "Level " + strongLungsLevel + "/" + RpgStats.getStrongLungsMaxLevel()
-                + " (+" + formatPercent(strongLungsTotalPct) + "%)");
-        uiCommandBuilder.set("#StrongLungsDescription.Text", "Increase max oxygen by "
-                + formatPercent(strongLungsPerLevel) + "%, "
-                + formatPercent(strongLungsPerLevel * 2.0) + "%, and "
-                + formatPercent(strongLungsPerLevel * 3.0) + "% at levels 1-3.");
-        int strongLungsCost = RpgStats.getAbilityUpgradeCost(strongLungsLevel, RpgStats.getStrongLungsMaxLevel());
-        boolean canUpgradeStrongLungs = canSpend && strongLungsCost > 0 && points >= strongLungsCost;
-        uiCommandBuilder.set("#StrongLungsUpgrade.HitTestVisible", canUpgradeStrongLungs);
-        uiCommandBuilder.set("#StrongLungsUpgrade.Text", strongLungsCost == 0 ? "Maxed" : String.valueOf(strongLungsCost));
-
-        int luckyShotLevel = stats.getLuckyShotLevel();
-        double luckyShotPerLevel = config == null ? 10.0 : config.getLuckyShotChancePerLevelPct();
-        double luckyShotTotalPct = luckyShotPerLevel * luckyShotLevel;
-        uiCommandBuilder.set("#LuckyShotLevel.Text", "Level " + luckyShotLevel + "/" + RpgStats.getLuckyShotMaxLevel()
-                + " (" + formatPercent(luckyShotTotalPct) + "%)");
-        uiCommandBuilder.set("#LuckyShotDescription.Text", "Chance to not consume ammo with bow/crossbow: "
-                + formatPercent(luckyShotPerLevel) + "%, "
-                + formatPercent(luckyShotPerLevel * 2.0) + "%, and "
-                + formatPercent(luckyShotPerLevel * 3.0) + "% at levels 1-3.");
-        int luckyShotCost = RpgStats.getAbilityUpgradeCost(luckyShotLevel, RpgStats.getLuckyShotMaxLevel());
-        boolean canUpgradeLuckyShot = canSpend && luckyShotCost > 0 && points >= luckyShotCost;
-        uiCommandBuilder.set("#LuckyShotUpgrade.HitTestVisible", canUpgradeLuckyShot);
-        uiCommandBuilder.set("#LuckyShotUpgrade.Text", luckyShotCost == 0 ? "Maxed" : String.valueOf(luckyShotCost));
-
-        int criticalStrikeLevel = stats.getCriticalStrikeLevel();
-        float criticalStrikeTotalChance = CriticalStrikeSystem.getCriticalChance(criticalStrikeLevel, config);
-        double criticalStrikeDamageMultiplier = config == null ? 1.5 : config.getCriticalStrikeDamageMultiplier();
-        uiCommandBuilder.set("#CriticalStrikeLevel.Text", "Level " + criticalStrikeLevel + "/" + RpgStats.getCriticalStrikeMaxLevel()
-                + " (" + formatPercent(criticalStrikeTotalChance) + "%)");
-        double criticalStrikeBaseChance = config == null ? 5.0 : config.getCriticalStrikeBaseChancePct();
-        double criticalStrikePerLevel = config == null ? 5.0 : config.getCriticalStrikeChancePerLevelPct();
-        uiCommandBuilder.set("#CriticalStrikeDescription.Text", "Chance to deal " + String.format("%.1fx", criticalStrikeDamageMultiplier)
-                + " damage: " + formatPercent(criticalStrikeBaseChance + criticalStrikePerLevel) + "%, "
-                + formatPercent(criticalStrikeBaseChance + criticalStrikePerLevel * 2.0) + "%, and "
-                + formatPercent(criticalStrikeBaseChance + criticalStrikePerLevel * 3.0) + "% at levels 1-3.");
-        int criticalStrikeCost = RpgStats.getAbilityUpgradeCost(criticalStrikeLevel, RpgStats.getCriticalStrikeMaxLevel());
-        boolean canUpgradeCriticalStrike = canSpend && criticalStrikeCost > 0 && points >= criticalStrikeCost;
-        uiCommandBuilder.set("#CriticalStrikeUpgrade.HitTestVisible", canUpgradeCriticalStrike);
-        uiCommandBuilder.set("#CriticalStrikeUpgrade.Text", criticalStrikeCost == 0 ? "Maxed" : String.valueOf(criticalStrikeCost));
-
-        int lifestealLevel = stats.getLifestealLevel();
-        float lifestealPct = LifestealSystem.getLifestealPercent(lifestealLevel, config);
-        double lifestealPerLevel = config == null ? 3.0 : config.getLifestealPerLevelPct();
-        uiCommandBuilder.set("#LifestealLevel.Text", "Level " + lifestealLevel + "/" + RpgStats.getLifestealMaxLevel()
-                + " (" + formatPercent(lifestealPct) + "%)");
-        uiCommandBuilder.set("#LifestealDescription.Text", "Heal for percentage of damage dealt: "
-                + formatPercent(lifestealPerLevel) + "%, "
-                + formatPercent(lifestealPerLevel * 2.0) + "%, and "
-                + formatPercent(lifestealPerLevel * 3.0) + "% at levels 1-3.");
-        int lifestealCost = RpgStats.getAbilityUpgradeCost(lifestealLevel, RpgStats.getLifestealMaxLevel());
-        boolean canUpgradeLifesteal = canSpend && lifestealCost > 0 && points >= lifestealCost;
-        uiCommandBuilder.set("#LifestealUpgrade.HitTestVisible", canUpgradeLifesteal);
-        uiCommandBuilder.set("#LifestealUpgrade.Text", lifestealCost == 0 ? "Maxed" : String.valueOf(lifestealCost));
-
-        int thornsLevel = stats.getThornsLevel();
-        float thornsPct = ThornsSystem.getThornsReflectPercent(thornsLevel, config);
-        double thornsPerLevel = config == null ? 25.0 : config.getThornsReflectPerLevelPct();
-        uiCommandBuilder.set("#ThornsLevel.Text", "Level " + thornsLevel + "/" + RpgStats.getThornsMaxLevel()
-                + " (" + formatPercent(thornsPct) + "%)");
-        uiCommandBuilder.set("#ThornsDescription.Text", "Reflect damage back to attackers: "
-                + formatPercent(thornsPerLevel) + "%, "
-                + formatPercent(thornsPerLevel * 2.0) + "%, and "
-                + formatPercent(thornsPerLevel * 3.0) + "% at levels 1-3.");
-        int thornsCost = RpgStats.getAbilityUpgradeCost(thornsLevel, RpgStats.getThornsMaxLevel());
-        boolean canUpgradeThorns = canSpend && thornsCost > 0 && points >= thornsCost;
-        uiCommandBuilder.set("#ThornsUpgrade.HitTestVisible", canUpgradeThorns);
-        uiCommandBuilder.set("#ThornsUpgrade.Text", thornsCost == 0 ? "Maxed" : String.valueOf(thornsCost));
-
-        int toolProficiencyLevel = stats.getToolProficiencyLevel();
-        float toolProficiencyPct = ToolProficiencySystem.getPreservationChance(toolProficiencyLevel, config);
-        double toolProficiencyPerLevel = config == null ? 15.0 : config.getToolProficiencyChancePerLevelPct();
-        uiCommandBuilder.set("#ToolProficiencyLevel.Text", "Level " + toolProficiencyLevel + "/" + RpgStats.getToolProficiencyMaxLevel()
-                + " (" + formatPercent(toolProficiencyPct) + "%)");
-        uiCommandBuilder.set("#ToolProficiencyDescription.Text", "Chance to not consume tool durability: "
-                + formatPercent(toolProficiencyPerLevel) + "%, "
-                + formatPercent(toolProficiencyPerLevel * 2.0) + "%, and "
-                + formatPercent(toolProficiencyPerLevel * 3.0) + "% at levels 1-3.");
-        int toolProficiencyCost = RpgStats.getAbilityUpgradeCost(toolProficiencyLevel, RpgStats.getToolProficiencyMaxLevel());
-        boolean canUpgradeToolProficiency = canSpend && toolProficiencyCost > 0 && points >= toolProficiencyCost;
-        uiCommandBuilder.set("#ToolProficiencyUpgrade.HitTestVisible", canUpgradeToolProficiency);
-        uiCommandBuilder.set("#ToolProficiencyUpgrade.Text", toolProficiencyCost == 0 ? "Maxed" : String.valueOf(toolProficiencyCost));
-
-        int luckyMinerLevel = stats.getLuckyMinerLevel();
-        float luckyMinerPct = LuckyMinerSystem.getBonusOreChance(luckyMinerLevel, config);
-        double luckyMinerPerLevel = config == null ? 10.0 : config.getLuckyMinerChancePerLevelPct();
-        uiCommandBuilder.set("#LuckyMinerLevel.Text", "Level " + luckyMinerLevel + "/" + RpgStats.getLuckyMinerMaxLevel()
-                + " (" + formatPercent(luckyMinerPct) + "%)");
-        uiCommandBuilder.set("#LuckyMinerDescription.Text", "Chance for bonus ore when mining: "
-                + formatPercent(luckyMinerPerLevel) + "%, "
-                + formatPercent(luckyMinerPerLevel * 2.0) + "%, and "
-                + formatPercent(luckyMinerPerLevel * 3.0) + "% at levels 1-3.");
-        int luckyMinerCost = RpgStats.getAbilityUpgradeCost(luckyMinerLevel, RpgStats.getLuckyMinerMaxLevel());
-        boolean canUpgradeLuckyMiner = canSpend && luckyMinerCost > 0 && points >= luckyMinerCost;
-        uiCommandBuilder.set("#LuckyMinerUpgrade.HitTestVisible", canUpgradeLuckyMiner);
-        uiCommandBuilder.set("#LuckyMinerUpgrade.Text", luckyMinerCost == 0 ? "Maxed" : String.valueOf(luckyMinerCost));
-
-        int gourmandLevel = stats.getGourmandLevel();
-        float gourmandPct = GourmandSystem.getFoodBonusPercent(gourmandLevel, config);
-        double gourmandPerLevel = config == null ? 10.0 : config.getGourmandFoodBonusPerLevelPct();
-        uiCommandBuilder.set("#GourmandLevel.Text", "Level " + gourmandLevel + "/" + RpgStats.getGourmandMaxLevel()
-                + " (+" + formatPercent(gourmandPct) + "%)");
-        uiCommandBuilder.set("#GourmandDescription.Text", "Increase consumable stat gains by "
-                + formatPercent(gourmandPerLevel) + "%, "
-                + formatPercent(gourmandPerLevel * 2.0) + "%, and "
-                + formatPercent(gourmandPerLevel * 3.0) + "% at levels 1-3.");
-        int gourmandCost = RpgStats.getAbilityUpgradeCost(gourmandLevel, RpgStats.getGourmandMaxLevel());
-        boolean canUpgradeGourmand = canSpend && gourmandCost > 0 && points >= gourmandCost;
-        uiCommandBuilder.set("#GourmandUpgrade.HitTestVisible", canUpgradeGourmand);
-        uiCommandBuilder.set("#GourmandUpgrade.Text", gourmandCost == 0 ? "Maxed" : String.valueOf(gourmandCost));
-
-        int flameTouchLevel = stats.getFlameTouchLevel();
-        double flameTouchPerLevel = config == null ? 15.0 : config.getFlameTouchBonusDamagePerLevelPct();
-        float flameTouchPct = (float) (flameTouchPerLevel * flameTouchLevel);
-        uiCommandBuilder.set("#FlameTouchLevel.Text", "Level " + flameTouchLevel + "/" + RpgStats.getFlameTouchMaxLevel()
-                + " (+" + formatPercent(flameTouchPct) + "%)");
-        uiCommandBuilder.set("#FlameTouchDescription.Text", "Adds bonus fire damage on hit: "
-                + formatPercent(flameTouchPerLevel) + "%, "
-                + formatPercent(flameTouchPerLevel * 2.0) + "%, and "
-                + formatPercent(flameTouchPerLevel * 3.0) + "% at levels 1-3.");
-        int flameTouchCost = RpgStats.getAbilityUpgradeCost(flameTouchLevel, RpgStats.getFlameTouchMaxLevel());
-        boolean canUpgradeFlameTouch = canSpend && flameTouchCost > 0 && points >= flameTouchCost;
-        uiCommandBuilder.set("#FlameTouchUpgrade.HitTestVisible", canUpgradeFlameTouch);
-        uiCommandBuilder.set("#FlameTouchUpgrade.Text", flameTouchCost == 0 ? "Maxed" : String.valueOf(flameTouchCost));
+        AbilityTextCache text = AbilityTextCache.get(config);
+        int maxLevel = RpgStats.getMaxAbilityLevel();
+        for (AbilityId ability : AbilityId.values()) {
+            int level = stats.getAbilityLevel(ability);
+            String key = "#" + ability.getKey();
+            uiCommandBuilder.set(key + "Level.Text", text.getLevelText(ability, level));
+            uiCommandBuilder.set(key + "Description.Text", text.getDescription(ability));
+
+            int cost = RpgStats.getAbilityUpgradeCost(level, maxLevel);
+            boolean canUpgrade = canSpend && cost > 0 && points >= cost;
+            uiCommandBuilder.set(key + "Upgrade.HitTestVisible", canUpgrade);
+            uiCommandBuilder.set(key + "Upgrade.Text", cost == 0 ? "Maxed" : String.valueOf(cost));
+        }
     }
 
     private void updatePartyContent(Ref<EntityStore> ref, Store<EntityStore> store, Player player,
@@ -1604,22 +1016,6 @@ public final class StatsPage extends InteractiveCustomUIPage<StatsPage.StatsPage
         }
     }
 
-    private String formatPercent(double value) {
-        double rounded = Math.round(value);
-        if (Math.abs(value - rounded) < 0.01) {
-            return String.valueOf((int) rounded);
-        }
-        return String.format(Locale.ROOT, "%.1f", value);
-    }
-
-    private String formatRate(double value) {
-        double rounded = Math.round(value);
-        if (Math.abs(value - rounded) < 0.01) {
-            return String.valueOf((int) rounded);
-        }
-        return String.format(Locale.ROOT, "%.1f", value);
-    }
-
     public static void refreshIfOpen(Ref<EntityStore> ref, Store<EntityStore> store) {
         if (ref == null || !ref.isValid() || store == null) {
             return;
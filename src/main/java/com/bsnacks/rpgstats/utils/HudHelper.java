@@ -1,5 +1,7 @@
 package com.bsnacks.rpgstats.utils;
 
+import com.bsnacks.rpgstats.ui.RpgStatsHud;
+
 import com.hypixel.hytale.common.plugin.PluginIdentifier;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
@@ -7,7 +9,9 @@ import com.hypixel.hytale.server.core.plugin.PluginBase;
 import com.hypixel.hytale.server.core.plugin.PluginManager;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,62 +22,111 @@ public final class HudHelper {
     private static final Logger LOGGER = Logger.getLogger(HudHelper.class.getName());
     private static final PluginIdentifier MULTIPLE_HUD_ID = new PluginIdentifier("Buuz135", "MultipleHUD");
     public static final String RPGSTATS_HUD_ID = "rpgstats_hud";
-    private static Boolean multipleHudAvailable = null;
+    // MultipleHUD may finish loading after us; while it is missing, look again at most this often.
+    private static final long REDETECT_INTERVAL_NANOS = 30_000_000_000L;
 
     // Track our own HUD instances per player
     private static final Map<UUID, CustomUIHud> playerHuds = new ConcurrentHashMap<>();
     private static final java.util.Set<UUID> hiddenHudPlayers = ConcurrentHashMap.newKeySet();
 
-    // Cached reflection objects for MultipleHUD
-    private static Object multipleHudInstance = null;
-    private static Method setCustomHudMethod = null;
-    private static Method hideCustomHudMethod = null;
+    // MultipleHUD calls bound once to its instance; null until detected.
+    private static volatile MultipleHudBridge multipleHud = null;
+    private static volatile long nextDetectNanos = System.nanoTime();
+    private static volatile boolean loggedMissing = false;
 
     private HudHelper() {
     }
 
-    private static boolean checkMultipleHudAvailable() {
-        if (multipleHudAvailable == null) {
-            try {
-                PluginBase multipleHudPlugin = PluginManager.get().getPlugin(MULTIPLE_HUD_ID);
-                if (multipleHudPlugin != null) {
-                    // Try to get the MultipleHUD instance via reflection
-                    Class<?> multipleHudClass = Class.forName("com.buuz135.mhud.MultipleHUD");
-                    Method getInstanceMethod = multipleHudClass.getMethod("getInstance");
-                    multipleHudInstance = getInstanceMethod.invoke(null);
-
-                    // Cache the methods we need
-                    setCustomHudMethod = multipleHudClass.getMethod("setCustomHud",
-                            Player.class, PlayerRef.class, String.class, CustomUIHud.class);
-                    hideCustomHudMethod = multipleHudClass.getMethod("hideCustomHud",
-                            Player.class, PlayerRef.class, String.class);
-
-                    multipleHudAvailable = true;
-                    LOGGER.info("[RPGStats] MultipleHUD detected - using multiple HUD support");
-                } else {
-                    multipleHudAvailable = false;
-                    LOGGER.info("[RPGStats] MultipleHUD not found - using standard HUD mode");
-                }
-            } catch (Exception ex) {
-                multipleHudAvailable = false;
-                LOGGER.warning("[RPGStats] Error checking for MultipleHUD: " + ex.getMessage() + " - using standard HUD mode");
+    /**
+     * MultipleHUD's setCustomHud/hideCustomHud, bound to its singleton as method handles so each
+     * call is a direct invocation instead of a reflective one.
+     */
+    private static final class MultipleHudBridge {
+        private static final MethodType SET_TYPE =
+                MethodType.methodType(void.class, Player.class, PlayerRef.class, String.class, CustomUIHud.class);
+        private static final MethodType HIDE_TYPE =
+                MethodType.methodType(void.class, Player.class, PlayerRef.class, String.class);
+
+        private final MethodHandle setCustomHud;
+        private final MethodHandle hideCustomHud;
+
+        private MultipleHudBridge(MethodHandle setCustomHud, MethodHandle hideCustomHud) {
+            this.setCustomHud = setCustomHud;
+            this.hideCustomHud = hideCustomHud;
+        }
+
+        private static MultipleHudBridge bind() throws Throwable {
+            Class<?> multipleHudClass = Class.forName("com.buuz135.mhud.MultipleHUD");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Object instance = lookup.unreflect(multipleHudClass.getMethod("getInstance")).invoke();
+            MethodHandle set = lookup.unreflect(multipleHudClass.getMethod("setCustomHud",
+                    Player.class, PlayerRef.class, String.class, CustomUIHud.class));
+            MethodHandle hide = lookup.unreflect(multipleHudClass.getMethod("hideCustomHud",
+                    Player.class, PlayerRef.class, String.class));
+            // Drop any return value so the call sites can use invokeExact.
+            return new MultipleHudBridge(set.bindTo(instance).asType(SET_TYPE), hide.bindTo(instance).asType(HIDE_TYPE));
+        }
+
+        private void set(Player player, PlayerRef playerRef, CustomUIHud customHud) throws Throwable {
+            setCustomHud.invokeExact(player, playerRef, RPGSTATS_HUD_ID, customHud);
+        }
+
+        private void hide(Player player, PlayerRef playerRef) throws Throwable {
+            hideCustomHud.invokeExact(player, playerRef, RPGSTATS_HUD_ID);
+        }
+    }
+
+    private static MultipleHudBridge getMultipleHud() {
+        MultipleHudBridge bridge = multipleHud;
+        if (bridge != null || System.nanoTime() - nextDetectNanos < 0L) {
+            return bridge;
+        }
+        return detectMultipleHud();
+    }
+
+    private static synchronized MultipleHudBridge detectMultipleHud() {
+        if (multipleHud != null || System.nanoTime() - nextDetectNanos < 0L) {
+            return multipleHud;
+        }
+        try {
+            PluginBase multipleHudPlugin = PluginManager.get().getPlugin(MULTIPLE_HUD_ID);
+            if (multipleHudPlugin != null) {
+                multipleHud = MultipleHudBridge.bind();
+                LOGGER.info("[RPGStats] MultipleHUD detected - using multiple HUD support");
+                return multipleHud;
             }
+            if (!loggedMissing) {
+                loggedMissing = true;
+                LOGGER.info("[RPGStats] MultipleHUD not found - using standard HUD mode");
+            }
+        } catch (Throwable ex) {
+            LOGGER.warning("[RPGStats] Error checking for MultipleHUD: " + ex.getMessage() + " - using standard HUD mode");
         }
-        return multipleHudAvailable;
+        nextDetectNanos = System.nanoTime() + REDETECT_INTERVAL_NANOS;
+        return null;
+    }
+
+    /**
+     * Skips the wait before the next MultipleHUD lookup, e.g. after plugins finish loading. Only has an effect
+     * while MultipleHUD has not been found; a bridge that is already bound is kept.
+     */
+    public static synchronized void redetectMultipleHud() {
+        nextDetectNanos = System.nanoTime();
     }
 
     public static boolean isMultipleHudAvailable() {
-        return checkMultipleHudAvailable();
+        return getMultipleHud() != null;
     }
 
     public static void setCustomHud(Player player, PlayerRef playerRef, CustomUIHud customHud) {
         UUID playerUuid = playerRef.getUuid();
         playerHuds.put(playerUuid, customHud);
 
-        if (checkMultipleHudAvailable()) {
+        MultipleHudBridge bridge = getMultipleHud();
+        if (bridge != null) {
             try {
-                setCustomHudMethod.invoke(multipleHudInstance, player, playerRef, RPGSTATS_HUD_ID, customHud);
-            } catch (Exception ex) {
+                bridge.set(player, playerRef, customHud);
+            } catch (Throwable ex) {
                 LOGGER.warning("[RPGStats] Failed to set HUD via MultipleHUD: " + ex.getMessage());
                 player.getHudManager().setCustomHud(playerRef, customHud);
             }
@@ -86,15 +139,16 @@ public final class HudHelper {
         UUID playerUuid = playerRef.getUuid();
         playerHuds.remove(playerUuid);
 
-        if (checkMultipleHudAvailable()) {
+        MultipleHudBridge bridge = getMultipleHud();
+        if (bridge != null) {
             try {
-                hideCustomHudMethod.invoke(multipleHudInstance, player, playerRef, RPGSTATS_HUD_ID);
-            } catch (Exception ex) {
+                bridge.hide(player, playerRef);
+            } catch (Throwable ex) {
                 LOGGER.warning("[RPGStats] Failed to hide HUD via MultipleHUD: " + ex.getMessage());
             }
         } else {
             var existingHud = player.getHudManager().getCustomHud();
-            if (existingHud != null && existingHud.getClass().getName().contains("RpgStatsHud")) {
+            if (existingHud instanceof RpgStatsHud) {
                 player.getHudManager().setCustomHud(playerRef, null);
             }
         }
@@ -125,13 +179,13 @@ public final class HudHelper {
      * Without MultipleHUD: Returns the HUD only if it's an RpgStatsHud instance.
      */
     public static CustomUIHud getCustomHud(Player player, PlayerRef playerRef) {
-        if (checkMultipleHudAvailable()) {
+        if (getMultipleHud() != null) {
             // With MultipleHUD, our HUD coexists with others - return our tracked instance
             return playerHuds.get(playerRef.getUuid());
         } else {
             // Without MultipleHUD, only return if our HUD is the active one
             var currentHud = player.getHudManager().getCustomHud();
-            if (currentHud != null && currentHud.getClass().getName().contains("RpgStatsHud")) {
+            if (currentHud instanceof RpgStatsHud) {
                 return currentHud;
             }
             return null;